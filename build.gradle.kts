@@ -6,6 +6,7 @@ import io.github.zap.build.gradle.convention.zgpr
 plugins {
     // id("io.github.zap.build.gradle.convention.shadow-mc-plugin") version "0.0.0-SNAPSHOT"
     id("io.github.zap.build.gradle.convention.shadow-mc-plugin") version "1.1.0-SNAPSHOT-1633613339"
+    id("me.champeau.jmh") version "0.6.6"
 }
 
 repositories {
@@ -24,4 +25,9 @@ dependencies {
     relocate("com.ibm.icu:icu4j:69.1")
 }
 
+// Benchmarks live under src/jmh and reuse the test classpath for mocked players, run them with `gradle jmh`
+jmh {
+    includeTests.set(true)
+}
+
 publishToZGpr()
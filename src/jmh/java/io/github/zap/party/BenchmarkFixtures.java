@@ -0,0 +1,72 @@
+package io.github.zap.party;
+
+import io.github.zap.party.invitation.TimedInvitationManager;
+import io.github.zap.party.list.BasicPartyLister;
+import io.github.zap.party.member.PartyMember;
+import io.github.zap.party.namer.OfflinePlayerNamer;
+import io.github.zap.party.namer.SingleTextColorOfflinePlayerNamer;
+import io.github.zap.party.settings.PartySettings;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Shared mocks for benchmarks. Every mock is stub-only so that invocations are not recorded over long runs, and the
+ * server is never stubbed per player since mockito scans every stubbing on each invocation.
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+
+    }
+
+    /**
+     * Creates a mocked {@link Server}
+     * @return The server
+     */
+    public static @NotNull Server mockServer() {
+        return Mockito.mock(Server.class, Mockito.withSettings().stubOnly());
+    }
+
+    /**
+     * Creates a mocked online {@link Player}
+     * @param server The server the player is on
+     * @param uuid The {@link UUID} of the player
+     * @return The player
+     */
+    public static @NotNull Player mockPlayer(@NotNull Server server, @NotNull UUID uuid) {
+        Player player = Mockito.mock(Player.class, Mockito.withSettings().stubOnly());
+        Mockito.when(player.getUniqueId()).thenReturn(uuid);
+        Mockito.when(player.getServer()).thenReturn(server);
+        Mockito.when(player.getPlayer()).thenReturn(player);
+        Mockito.when(player.isOnline()).thenReturn(true);
+        Mockito.when(player.getName()).thenReturn(uuid.toString().substring(0, 16));
+        Mockito.when(player.displayName()).thenReturn(Component.text(uuid.toString().substring(0, 16)));
+
+        return player;
+    }
+
+    /**
+     * Creates a party with default settings
+     * @param server The server the party is on
+     * @param owner The owner of the party
+     * @return The new party
+     */
+    public static @NotNull Party createParty(@NotNull Server server, @NotNull Player owner) {
+        Plugin plugin = Mockito.mock(Plugin.class, Mockito.withSettings().stubOnly());
+        Mockito.when(plugin.getServer()).thenReturn(server);
+
+        OfflinePlayerNamer playerNamer = new SingleTextColorOfflinePlayerNamer();
+        return new Party(new Random(), new PartyMember(owner), new PartySettings(), PartyMember::new,
+                new TimedInvitationManager(plugin, playerNamer), new ArrayList<>(),
+                new BasicPartyLister(plugin, playerNamer, playerNamer, playerNamer), playerNamer);
+    }
+
+}
@@ -0,0 +1,85 @@
+package io.github.zap.party;
+
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.audience.MessageType;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Party#broadcastMessage(Component)} for growing parties where every third member is offline and two
+ * audiences are spying. Members are stub-only mocks, so part of the cost is mockito dispatching each message.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartyBroadcastBenchmark {
+
+    private final static Component MESSAGE = Component.text("Hello, World!");
+
+    @Param({"2", "10", "50", "200"})
+    public int partySize;
+
+    private Party party;
+
+    @Setup(Level.Trial)
+    public void setup(@NotNull Blackhole blackhole) {
+        Server server = BenchmarkFixtures.mockServer();
+        this.party = BenchmarkFixtures.createParty(server, BenchmarkFixtures.mockPlayer(server, UUID.randomUUID()));
+
+        for (int i = 1; i < this.partySize; i++) {
+            Player player = BenchmarkFixtures.mockPlayer(server, UUID.randomUUID());
+            this.party.addMember(player);
+
+            if (i % 3 == 0) {
+                this.party.updateMemberPresence(player.getUniqueId(), null);
+            }
+        }
+
+        this.party.addSpyAudience(new BlackholeAudience(blackhole));
+        this.party.addSpyAudience(new BlackholeAudience(blackhole));
+    }
+
+    @Benchmark
+    public void broadcast() {
+        this.party.broadcastMessage(MESSAGE);
+    }
+
+    // not a record, spies are deduplicated by equality
+    private static class BlackholeAudience implements Audience {
+
+        private final Blackhole blackhole;
+
+        private BlackholeAudience(@NotNull Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void sendMessage(@NotNull Identity source, @NotNull Component message, @NotNull MessageType type) {
+            this.blackhole.consume(message);
+        }
+
+    }
+
+}
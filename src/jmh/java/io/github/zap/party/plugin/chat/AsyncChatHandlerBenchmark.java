@@ -0,0 +1,98 @@
+package io.github.zap.party.plugin.chat;
+
+import io.github.zap.party.BenchmarkFixtures;
+import io.github.zap.party.Party;
+import io.github.zap.party.tracker.PartyTracker;
+import io.papermc.paper.chat.ChatRenderer;
+import io.papermc.paper.event.player.AsyncChatEvent;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of {@link BasicAsyncChatHandler} for a party chat message from a party of four on servers
+ * with more and more online players. Every event gets a fresh viewer set of all online players like Paper creates, so
+ * {@link #copyViewers()} is the baseline to subtract.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsyncChatHandlerBenchmark {
+
+    private final static int PARTY_SIZE = 4;
+
+    private final static Component MESSAGE = Component.text("Hello, World!");
+
+    @Param({"100", "500", "1000"})
+    public int onlinePlayers;
+
+    private AsyncChatHandler asyncChatHandler;
+
+    private Set<Audience> allViewers;
+
+    private Player chatter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Server server = BenchmarkFixtures.mockServer();
+        Plugin plugin = Mockito.mock(Plugin.class, Mockito.withSettings().stubOnly());
+        PartyTracker partyTracker = new PartyTracker();
+        this.allViewers = new HashSet<>();
+
+        this.chatter = BenchmarkFixtures.mockPlayer(server, UUID.randomUUID());
+        Party party = BenchmarkFixtures.createParty(server, this.chatter);
+        partyTracker.trackParty(party);
+        party.getMember(this.chatter).orElseThrow().setInPartyChat(true);
+        this.allViewers.add(this.chatter);
+
+        for (int i = 1; i < this.onlinePlayers; i++) {
+            Player player = BenchmarkFixtures.mockPlayer(server, UUID.randomUUID());
+            if (i < PARTY_SIZE) {
+                party.addMember(player);
+            }
+
+            this.allViewers.add(player);
+        }
+
+        this.asyncChatHandler = new BasicAsyncChatHandler(plugin, partyTracker, Component.text("Party > "),
+                Component.text("Spy > "));
+    }
+
+    @Benchmark
+    public Set<Audience> copyViewers() {
+        return new HashSet<>(this.allViewers);
+    }
+
+    @Benchmark
+    public AsyncChatEvent partyChat() {
+        AsyncChatEvent event = new AsyncChatEvent(true, this.chatter, new HashSet<>(this.allViewers),
+                ChatRenderer.defaultRenderer(), MESSAGE, MESSAGE);
+        this.asyncChatHandler.onAsyncChat(event);
+
+        return event;
+    }
+
+}
@@ -0,0 +1,159 @@
+package io.github.zap.party.scheduler;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Compares the {@link HashedTimingWheel} with a task per invitation, both with a steady number of outstanding
+ * invitations that renew themselves when they expire.
+ * CraftBukkit's scheduler is not on the benchmark classpath, so {@link PerTaskScheduler} models it: every task gets an
+ * id in a concurrent map and an entry in a priority queue that cancelled tasks are only removed from once they are due.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickSchedulerBenchmark {
+
+    private final static long EXPIRATION_TIME = 1200L;
+
+    private final static Runnable NOTHING = () -> {};
+
+    @Param({"100", "1000", "10000"})
+    public int outstandingInvitations;
+
+    private HashedTimingWheel timingWheel;
+
+    private PerTaskScheduler perTaskScheduler;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        this.timingWheel = new HashedTimingWheel(Logger.getLogger("Minecraft"), 512);
+        this.perTaskScheduler = new PerTaskScheduler();
+
+        Random random = new Random(69);
+        for (int i = 0; i < this.outstandingInvitations; i++) {
+            long delay = 1 + random.nextInt((int) EXPIRATION_TIME);
+            this.timingWheel.schedule(new Renewing(this.timingWheel), delay);
+            this.perTaskScheduler.schedule(new Renewing(this.perTaskScheduler), delay);
+        }
+    }
+
+    @Benchmark
+    public void timingWheelScheduleThenCancel() {
+        this.timingWheel.schedule(NOTHING, EXPIRATION_TIME).cancel();
+    }
+
+    @Benchmark
+    public void perTaskScheduleThenCancel() {
+        this.perTaskScheduler.schedule(NOTHING, EXPIRATION_TIME).cancel();
+    }
+
+    @Benchmark
+    public void timingWheelTick() {
+        this.timingWheel.tick();
+    }
+
+    @Benchmark
+    public void perTaskTick() {
+        this.perTaskScheduler.tick();
+    }
+
+    private record Renewing(@NotNull TickScheduler tickScheduler) implements Runnable {
+
+        @Override
+        public void run() {
+            this.tickScheduler.schedule(this, EXPIRATION_TIME);
+        }
+
+    }
+
+    private static class PerTaskScheduler implements TickScheduler {
+
+        private final Map<Integer, Task> runners = new ConcurrentHashMap<>();
+
+        private final PriorityQueue<Task> pending = new PriorityQueue<>(
+                (first, second) -> Long.compare(first.nextRun, second.nextRun));
+
+        private long currentTick = 0L;
+
+        private int ids = 0;
+
+        @Override
+        public synchronized @NotNull TickTimeout schedule(@NotNull Runnable task, long delay) {
+            Task scheduled = new Task(this.ids++, task, this.currentTick + Math.max(1L, delay));
+            this.runners.put(scheduled.id, scheduled);
+            this.pending.add(scheduled);
+
+            return () -> {
+                Task removed = this.runners.remove(scheduled.id);
+                if (removed != null) {
+                    removed.cancelled = true;
+                }
+            };
+        }
+
+        private void tick() {
+            long tick;
+            synchronized (this) {
+                tick = ++this.currentTick;
+            }
+
+            while (true) {
+                Task task;
+                synchronized (this) {
+                    task = this.pending.peek();
+                    if (task == null || task.nextRun > tick) {
+                        return;
+                    }
+                    this.pending.remove();
+                }
+
+                if (!task.cancelled) {
+                    this.runners.remove(task.id);
+                    task.runnable.run();
+                }
+            }
+        }
+
+        private static class Task {
+
+            private final int id;
+
+            private final Runnable runnable;
+
+            private final long nextRun;
+
+            private volatile boolean cancelled = false;
+
+            private Task(int id, @NotNull Runnable runnable, long nextRun) {
+                this.id = id;
+                this.runnable = runnable;
+                this.nextRun = nextRun;
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,122 @@
+package io.github.zap.party.tracker;
+
+import io.github.zap.party.BenchmarkFixtures;
+import io.github.zap.party.Party;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PartyTracker} lookup latency from chat-like reader threads, both on a quiescent tracker and while
+ * a writer thread constantly joins and leaves a party. The lookup latency of both groups should stay the same.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PartyTrackerBenchmark {
+
+    private final static int PARTY_SIZE = 4;
+
+    private final static int CHURN_PLAYERS = 64;
+
+    @Param({"1000", "10000", "100000"})
+    public int trackedPlayers;
+
+    private PartyTracker partyTracker;
+
+    private UUID[] lookups;
+
+    private Party churnParty;
+
+    private Player[] churnPlayers;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int index;
+
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Server server = BenchmarkFixtures.mockServer();
+        this.partyTracker = new PartyTracker();
+        this.lookups = new UUID[this.trackedPlayers];
+
+        for (int i = 0; i < this.trackedPlayers; i += PARTY_SIZE) {
+            this.lookups[i] = UUID.randomUUID();
+            Party party = BenchmarkFixtures.createParty(server, BenchmarkFixtures.mockPlayer(server, this.lookups[i]));
+            this.partyTracker.trackParty(party);
+
+            for (int j = i + 1; j < Math.min(i + PARTY_SIZE, this.trackedPlayers); j++) {
+                this.lookups[j] = UUID.randomUUID();
+                party.addMember(BenchmarkFixtures.mockPlayer(server, this.lookups[j]));
+            }
+        }
+
+        this.churnParty = BenchmarkFixtures.createParty(server, BenchmarkFixtures.mockPlayer(server,
+                UUID.randomUUID()));
+        this.partyTracker.trackParty(this.churnParty);
+        this.churnPlayers = new Player[CHURN_PLAYERS];
+        for (int i = 0; i < CHURN_PLAYERS; i++) {
+            this.churnPlayers[i] = BenchmarkFixtures.mockPlayer(server, UUID.randomUUID());
+        }
+    }
+
+    private Optional<Party> lookup(Cursor cursor) {
+        int index = cursor.index;
+        cursor.index = (index + 1 == this.lookups.length) ? 0 : index + 1;
+
+        return this.partyTracker.getPartyForPlayer(this.lookups[index]);
+    }
+
+    @Benchmark
+    @Group("quiescent")
+    @GroupThreads(3)
+    public Optional<Party> quiescentLookup(Cursor cursor) {
+        return this.lookup(cursor);
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(3)
+    public Optional<Party> churnLookup(Cursor cursor) {
+        return this.lookup(cursor);
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(1)
+    public void churnJoinLeave(Cursor cursor) {
+        Player player = this.churnPlayers[cursor.index];
+        cursor.index = (cursor.index + 1) % CHURN_PLAYERS;
+
+        if (this.churnParty.hasMember(player)) {
+            this.churnParty.removeMember(player, false);
+        }
+        else {
+            this.churnParty.addMember(player);
+        }
+    }
+
+}
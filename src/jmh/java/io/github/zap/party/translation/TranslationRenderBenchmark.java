@@ -0,0 +1,92 @@
+package io.github.zap.party.translation;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.renderer.TranslatableComponentRenderer;
+import net.kyori.adventure.translation.TranslationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering the default translations of the keys sent most often through {@link MessageFormat}, like the
+ * server does, against {@link CompiledTranslationRenderer}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TranslationRenderBenchmark {
+
+    private final static Locale LOCALE = Locale.forLanguageTag("en-US");
+
+    @Param({"io.github.zap.party.chat.message.format", "io.github.zap.party.member.joined",
+            "io.github.zap.party.member.left.remaining", "io.github.zap.party.member.left.leaver"})
+    public String key;
+
+    private Component component;
+
+    private TranslatableComponentRenderer<Locale> messageFormatRenderer;
+
+    private CompiledTranslationRenderer compiledRenderer;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Properties translations = new Properties();
+        try (InputStream stream = this.getClass().getResourceAsStream("/translations/en-US.lang")) {
+            if (stream == null) {
+                throw new IOException("Could not find the default translations!");
+            }
+
+            translations.load(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        }
+
+        TranslationRegistry registry = TranslationRegistry.create(Key.key("zapparty", "benchmark"));
+        registry.defaultLocale(LOCALE);
+        CompiledTranslations compiledTranslations = new CompiledTranslations(LOCALE);
+        for (String key : translations.stringPropertyNames()) {
+            String pattern = translations.getProperty(key);
+            registry.register(key, LOCALE, new MessageFormat(pattern, LOCALE));
+            compiledTranslations.register(key, LOCALE, pattern);
+        }
+
+        this.messageFormatRenderer = TranslatableComponentRenderer.usingTranslationSource(registry);
+        this.compiledRenderer = new CompiledTranslationRenderer(compiledTranslations, registry);
+
+        // chat messages are a prefix and the message, membership changes are the member's name
+        this.component = Component.translatable(this.key, NamedTextColor.YELLOW,
+                Component.text("Party > ", NamedTextColor.BLUE), Component.text("BigDip123: Hello, World!"));
+    }
+
+    @Benchmark
+    public Component messageFormat() {
+        return this.messageFormatRenderer.render(this.component, LOCALE);
+    }
+
+    @Benchmark
+    public Component compiled() {
+        return this.compiledRenderer.render(this.component, LOCALE);
+    }
+
+}
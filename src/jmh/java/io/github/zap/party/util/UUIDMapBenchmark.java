@@ -0,0 +1,120 @@
+package io.github.zap.party.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link UUIDMap} and {@link StripedUUIDMap} lookups against {@link HashMap} and {@link ConcurrentHashMap}
+ * at tracker-like sizes. Lookups use equal but distinct {@link UUID} instances, like players coming from events do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UUIDMapBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int trackedPlayers;
+
+    private UUID[] lookups;
+
+    private UUID[] misses;
+
+    private Map<UUID, Object> hashMap;
+
+    private Map<UUID, Object> concurrentHashMap;
+
+    private UUIDMap<Object> uuidMap;
+
+    private StripedUUIDMap<Object> stripedUUIDMap;
+
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(69);
+        Object value = new Object();
+
+        this.lookups = new UUID[this.trackedPlayers];
+        this.misses = new UUID[this.trackedPlayers];
+        this.hashMap = new HashMap<>();
+        this.concurrentHashMap = new ConcurrentHashMap<>();
+        this.uuidMap = new UUIDMap<>();
+        this.stripedUUIDMap = new StripedUUIDMap<>();
+
+        for (int i = 0; i < this.trackedPlayers; i++) {
+            UUID uuid = UUID.randomUUID();
+            this.hashMap.put(uuid, value);
+            this.concurrentHashMap.put(uuid, value);
+            this.uuidMap.put(uuid, value);
+            this.stripedUUIDMap.put(uuid, value);
+
+            this.lookups[i] = new UUID(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            this.misses[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+
+        // shuffle so that lookups do not follow insertion order
+        for (int i = this.lookups.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            UUID swap = this.lookups[i];
+            this.lookups[i] = this.lookups[j];
+            this.lookups[j] = swap;
+        }
+    }
+
+    private int nextIndex() {
+        int index = this.index;
+        this.index = (index + 1 == this.lookups.length) ? 0 : index + 1;
+        return index;
+    }
+
+    @Benchmark
+    public Object hashMapHit() {
+        return this.hashMap.get(this.lookups[this.nextIndex()]);
+    }
+
+    @Benchmark
+    public Object concurrentHashMapHit() {
+        return this.concurrentHashMap.get(this.lookups[this.nextIndex()]);
+    }
+
+    @Benchmark
+    public Object uuidMapHit() {
+        return this.uuidMap.get(this.lookups[this.nextIndex()]);
+    }
+
+    @Benchmark
+    public Object stripedUUIDMapHit() {
+        return this.stripedUUIDMap.get(this.lookups[this.nextIndex()]);
+    }
+
+    @Benchmark
+    public Object hashMapMiss() {
+        return this.hashMap.get(this.misses[this.nextIndex()]);
+    }
+
+    @Benchmark
+    public Object uuidMapMiss() {
+        return this.uuidMap.get(this.misses[this.nextIndex()]);
+    }
+
+}
@@ -1,6 +1,5 @@
 package io.github.zap.party;
 
-import com.ibm.icu.text.PluralRules;
 import io.github.zap.party.audience.PlayerAudience;
 import io.github.zap.party.invitation.InvitationManager;
 import io.github.zap.party.list.PartyLister;
@@ -8,23 +7,30 @@ import io.github.zap.party.member.PartyMember;
 import io.github.zap.party.member.PartyMemberBuilder;
 import io.github.zap.party.namer.OfflinePlayerNamer;
 import io.github.zap.party.settings.PartySettings;
+import io.github.zap.party.spy.SpyRegistry;
+import io.github.zap.party.spy.SpyTopic;
+import io.github.zap.party.util.PluralRulesUtil;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
 /**
@@ -32,14 +38,16 @@ import java.util.function.Consumer;
  */
 public class Party {
 
-    private final UUID uuid = UUID.randomUUID();
+    private final UUID uuid;
 
-    private final Map<UUID, PartyMember> members = new HashMap<>();
+    private volatile PartyMemberSnapshot members;
 
     private final List<Consumer<PartyMember>> partyJoinHandlers = new ArrayList<>();
 
     private final List<Consumer<PartyMember>> partyLeaveHandlers = new ArrayList<>();
 
+    private final List<Consumer<PartyChange>> partyChangeHandlers = new ArrayList<>();
+
     private final Random random;
 
     private final PartySettings partySettings;
@@ -48,39 +56,96 @@ public class Party {
 
     private final InvitationManager invitationManager;
 
-    private final List<Audience> spyAudiences;
+    private final CopyOnWriteArrayList<Audience> spyAudiences;
+
+    // online players followed by spies, rebuilt whenever either changes so broadcasts never resolve presence
+    private volatile Audience[] recipients;
+
+    private volatile List<Audience> recipientView;
+
+    private volatile Set<Audience> spySet;
+
+    // bumped by every rebuild of the recipients, which follows every membership and presence change
+    private volatile long membershipVersion;
 
     private final PartyLister partyLister;
 
     private final OfflinePlayerNamer playerNamer;
 
-    private PartyMember owner;
+    private final SpyRegistry spyRegistry;
+
+    private volatile PartyMember owner;
 
     /**
-     * Creates a party.
+     * Creates a party with a known identifier, such as one restored from storage.
+     * @param id The unique identifier of the party
      * @param random A {@link Random} instance used for random selections in parties
      * @param owner The owner of the party
      * @param partySettings The settings for the party
      * @param partyMemberBuilder A builder for new party members
      * @param invitationManager The invitation manager for this party
-     * @param spyAudiences A {@link List} of {@link Audience}s that will spy on any party events
+     * @param spyAudiences A {@link List} of {@link Audience}s that will initially spy on any party events
      * @param partyLister A lister for party list components
      * @param playerNamer A namer for {@link Component} names of players
+     * @param spyRegistry Spy subscriptions shared by every party
      */
-    public Party(@NotNull Random random, @NotNull PartyMember owner, @NotNull PartySettings partySettings,
-                 @NotNull PartyMemberBuilder partyMemberBuilder, @NotNull InvitationManager invitationManager,
-                 @NotNull List<Audience> spyAudiences, @NotNull PartyLister partyLister,
-                 @NotNull OfflinePlayerNamer playerNamer) {
+    public Party(@NotNull UUID id, @NotNull Random random, @NotNull PartyMember owner,
+                 @NotNull PartySettings partySettings, @NotNull PartyMemberBuilder partyMemberBuilder,
+                 @NotNull InvitationManager invitationManager, @NotNull List<Audience> spyAudiences,
+                 @NotNull PartyLister partyLister, @NotNull OfflinePlayerNamer playerNamer,
+                 @NotNull SpyRegistry spyRegistry) {
+        this.uuid = id;
         this.random = random;
         this.owner = owner;
         this.partySettings = partySettings;
         this.partyMemberBuilder = partyMemberBuilder;
         this.invitationManager = invitationManager;
-        this.spyAudiences = spyAudiences;
+        this.spyAudiences = new CopyOnWriteArrayList<>(spyAudiences);
         this.partyLister = partyLister;
         this.playerNamer = playerNamer;
+        this.spyRegistry = spyRegistry;
+
+        this.members = PartyMemberSnapshot.EMPTY.with(owner.getPlayerUUID(), owner);
+        this.rebuildRecipients();
+    }
 
-        this.members.put(owner.getOfflinePlayer().getUniqueId(), owner);
+    /**
+     * Creates a party.
+     * @param random A {@link Random} instance used for random selections in parties
+     * @param owner The owner of the party
+     * @param partySettings The settings for the party
+     * @param partyMemberBuilder A builder for new party members
+     * @param invitationManager The invitation manager for this party
+     * @param spyAudiences A {@link List} of {@link Audience}s that will initially spy on any party events
+     * @param partyLister A lister for party list components
+     * @param playerNamer A namer for {@link Component} names of players
+     * @param spyRegistry Spy subscriptions shared by every party
+     */
+    public Party(@NotNull Random random, @NotNull PartyMember owner, @NotNull PartySettings partySettings,
+                 @NotNull PartyMemberBuilder partyMemberBuilder, @NotNull InvitationManager invitationManager,
+                 @NotNull List<Audience> spyAudiences, @NotNull PartyLister partyLister,
+                 @NotNull OfflinePlayerNamer playerNamer, @NotNull SpyRegistry spyRegistry) {
+        this(UUID.randomUUID(), random, owner, partySettings, partyMemberBuilder, invitationManager, spyAudiences,
+                partyLister, playerNamer, spyRegistry);
+    }
+
+    /**
+     * Creates a party without any spy subscriptions shared with other parties.
+     * @param random A {@link Random} instance used for random selections in parties
+     * @param owner The owner of the party
+     * @param partySettings The settings for the party
+     * @param partyMemberBuilder A builder for new party members
+     * @param invitationManager The invitation manager for this party
+     * @param spyAudiences A {@link List} of {@link Audience}s that will initially spy on any party events
+     * @param partyLister A lister for party list components
+     * @param playerNamer A namer for {@link Component} names of players
+     */
+    public Party(@NotNull Random random, @NotNull PartyMember owner, @NotNull PartySettings partySettings,
+                 @NotNull PartyMemberBuilder partyMemberBuilder, @NotNull InvitationManager invitationManager,
+                 @NotNull List<Audience> spyAudiences, @NotNull PartyLister partyLister,
+                 @NotNull OfflinePlayerNamer playerNamer) {
+        this(random, owner, partySettings, partyMemberBuilder, invitationManager, spyAudiences, partyLister,
+                playerNamer, new SpyRegistry());
     }
 
     /**
@@ -99,6 +164,25 @@ public class Party {
         this.partyLeaveHandlers.add(leaveHandler);
     }
 
+    /**
+     * Registers a handler to be called after every change to the party's members, owner or settings
+     * @param changeHandler The handler to add
+     */
+    public void registerChangeHandler(@NotNull Consumer<PartyChange> changeHandler) {
+        this.partyChangeHandlers.add(changeHandler);
+    }
+
+    private void notifyChange(@NotNull PartyChange.Type type, @Nullable PartyMember member) {
+        if (this.partyChangeHandlers.isEmpty()) {
+            return;
+        }
+
+        PartyChange change = new PartyChange(this, type, member);
+        for (Consumer<PartyChange> handler : this.partyChangeHandlers) {
+            handler.accept(change);
+        }
+    }
+
     /**
      * Adds a member to the party
      * @param player The new player
@@ -107,17 +191,19 @@ public class Party {
     public @NotNull Optional<PartyMember> addMember(@NotNull Player player) {
         UUID memberUUID = player.getUniqueId();
 
-        if (this.members.containsKey(memberUUID)) {
+        if (this.members.get(memberUUID) != null) {
             return Optional.empty();
         }
 
         PartyMember partyMember = this.partyMemberBuilder.createPartyMember(player);
-        this.members.put(memberUUID, partyMember);
+        this.members = this.members.with(memberUUID, partyMember);
         this.invitationManager.removeInvitation(player);
         this.spyAudiences.remove(new PlayerAudience(player));
+        this.rebuildRecipients();
 
         this.broadcastMessage(Component.translatable("io.github.zap.party.member.joined", NamedTextColor.YELLOW,
                 player.displayName().colorIfAbsent(NamedTextColor.WHITE)));
+        this.notifyChange(PartyChange.Type.MEMBER_ADDED, partyMember);
 
         for (Consumer<PartyMember> handler : this.partyJoinHandlers) {
             handler.accept(partyMember);
@@ -126,16 +212,34 @@ public class Party {
         return Optional.of(partyMember);
     }
 
+    /**
+     * Adds a member that was restored from storage without announcing it or calling join handlers
+     * @param partyMember The restored member
+     * @return Whether the member is new
+     */
+    public boolean restoreMember(@NotNull PartyMember partyMember) {
+        if (this.members.get(partyMember.getPlayerUUID()) != null) {
+            return false;
+        }
+
+        this.members = this.members.with(partyMember.getPlayerUUID(), partyMember);
+        this.rebuildRecipients();
+        return true;
+    }
+
     /**
      * Removes a member from the party
      * @param player The player to remove
      */
     public void removeMember(@NotNull OfflinePlayer player, boolean forced) {
-        if (!this.members.containsKey(player.getUniqueId())) {
+        PartyMember removed = this.members.get(player.getUniqueId());
+        if (removed == null) {
             return;
         }
 
-        PartyMember removed = this.members.remove(player.getUniqueId());
+        this.members = this.members.without(player.getUniqueId());
+        this.rebuildRecipients();
+        this.notifyChange(PartyChange.Type.MEMBER_REMOVED, removed);
 
         Component name = this.playerNamer.name(player).colorIfAbsent(NamedTextColor.WHITE);
 
@@ -183,6 +287,7 @@ public class Party {
         if (clearHandlers) {
             this.partyJoinHandlers.clear();
             this.partyLeaveHandlers.clear();
+            this.partyChangeHandlers.clear();
         }
     }
 
@@ -195,11 +300,9 @@ public class Party {
         List<OfflinePlayer> offlinePlayers = new ArrayList<>();
 
         boolean clearHandlers = false;
-        Iterator<PartyMember> iterator = this.members.values().iterator();
-        while (iterator.hasNext()) {
-            PartyMember partyMember = iterator.next();
-            OfflinePlayer player = partyMember.getOfflinePlayer();
-            if (!player.isOnline()) {
+        for (PartyMember partyMember : this.members.array()) {
+            if (partyMember.getPlayerIfOnline().isEmpty()) {
+                OfflinePlayer player = partyMember.getOfflinePlayer();
                 if (this.owner.equals(partyMember)) {
                     chooseNewOwner();
 
@@ -216,7 +319,9 @@ public class Party {
                     }
                 }
 
-                iterator.remove();
+                this.members = this.members.without(player.getUniqueId());
+                this.rebuildRecipients();
+                this.notifyChange(PartyChange.Type.MEMBER_REMOVED, partyMember);
                 offlinePlayers.add(player);
 
                 for (Consumer<PartyMember> handler : this.partyLeaveHandlers) {
@@ -225,19 +330,22 @@ public class Party {
             }
         }
 
-        for (PartyMember member : this.members.values()) {
+        // locales that share a plural category share the same notice
+        Component kicked = Component.text(offlinePlayers.size());
+        Map<String, Component> notices = new HashMap<>();
+        for (PartyMember member : this.members.array()) {
             member.getPlayerIfOnline().ifPresent(player -> {
-                PluralRules rules = PluralRules.forLocale(player.locale());
-                String rule = rules.select(offlinePlayers.size());
-
-                player.sendMessage(Component.translatable("io.github.zap.party.kickoffline.kicked." + rule,
-                        NamedTextColor.RED, Component.text(offlinePlayers.size())));
+                String rule = PluralRulesUtil.select(player.locale(), offlinePlayers.size());
+                player.sendMessage(notices.computeIfAbsent(rule, unused ->
+                        Component.translatable("io.github.zap.party.kickoffline.kicked." + rule,
+                                NamedTextColor.RED, kicked)));
             });
         }
 
         if (clearHandlers) {
             this.partyJoinHandlers.clear();
             this.partyLeaveHandlers.clear();
+            this.partyChangeHandlers.clear();
         }
 
         return offlinePlayers;
@@ -248,6 +356,7 @@ public class Party {
      */
     public void mute() {
         this.partySettings.setMuted(!this.partySettings.isMuted());
+        this.notifyChange(PartyChange.Type.SETTINGS_CHANGED, null);
         if (this.partySettings.isMuted()) {
             this.broadcastMessage(Component.translatable("io.github.zap.party.muted", NamedTextColor.YELLOW));
         }
@@ -264,6 +373,7 @@ public class Party {
         PartyMember member = this.members.get(player.getUniqueId());
         if (member != null && member != this.owner) {
             member.setMuted(!member.isMuted());
+            this.notifyChange(PartyChange.Type.MEMBER_CHANGED, member);
 
             Component name = this.playerNamer.name(member.getOfflinePlayer()).colorIfAbsent(NamedTextColor.WHITE);
             if (member.isMuted()) {
@@ -286,7 +396,7 @@ public class Party {
         List<PartyMember> offlineMembers = new ArrayList<>(this.members.size() - 1);
         List<PartyMember> onlineMembers = new ArrayList<>(this.members.size() - 1);
 
-        for (PartyMember partyMember : this.members.values()) {
+        for (PartyMember partyMember : this.members.array()) {
             if (!this.owner.equals(partyMember)) {
                 offlineMembers.add(partyMember);
             }
@@ -304,6 +414,10 @@ public class Party {
         else {
             this.owner = null;
         }
+
+        if (this.owner != null) {
+            this.notifyChange(PartyChange.Type.OWNER_CHANGED, this.owner);
+        }
     }
 
     /**
@@ -312,34 +426,29 @@ public class Party {
      */
     @SuppressWarnings("UnusedReturnValue")
     public @NotNull Collection<OfflinePlayer> disband() {
-        Collection<PartyMember> memberCollection = this.members.values();
-        List<OfflinePlayer> offlinePlayers = new ArrayList<>(memberCollection.size());
+        PartyMember[] memberArray = this.members.array();
+        List<OfflinePlayer> offlinePlayers = new ArrayList<>(memberArray.length);
 
         Component disband = Component.translatable("io.github.zap.party.disbanded", NamedTextColor.RED);
 
         this.owner = null;
+        this.members = PartyMemberSnapshot.EMPTY;
+        this.rebuildRecipients();
 
-        Iterator<PartyMember> iterator = memberCollection.iterator();
-        while (iterator.hasNext()) {
-            PartyMember partyMember = iterator.next();
-            OfflinePlayer offlinePlayer = partyMember.getOfflinePlayer();
-            Player player = offlinePlayer.getPlayer();
-
-            if (player != null) {
-                player.sendMessage(disband);
-            }
-
-            iterator.remove();
-            offlinePlayers.add(offlinePlayer);
+        for (PartyMember partyMember : memberArray) {
+            partyMember.getPlayerIfOnline().ifPresent(player -> player.sendMessage(disband));
+            offlinePlayers.add(partyMember.getOfflinePlayer());
 
             for (Consumer<PartyMember> handler : this.partyLeaveHandlers) {
                 handler.accept(partyMember);
             }
         }
         this.invitationManager.cancelAllOutgoingInvitations();
+        this.notifyChange(PartyChange.Type.DISBANDED, null);
 
         this.partyJoinHandlers.clear();
         this.partyLeaveHandlers.clear();
+        this.partyChangeHandlers.clear();
 
         return offlinePlayers;
     }
@@ -354,10 +463,47 @@ public class Party {
 
     /**
      * Gets the {@link List} of spying {@link Audience}s
-     * @return The {@link List} of spying {@link Audience}s
+     * @return An unmodifiable view of the spying {@link Audience}s
      */
     public @NotNull List<Audience> getSpyAudiences() {
-        return spyAudiences;
+        return Collections.unmodifiableList(this.spyAudiences);
+    }
+
+    /**
+     * Determines if an {@link Audience} is spying on the party in constant time
+     * @param audience The audience to test
+     * @return Whether the audience is spying
+     */
+    public boolean isSpyAudience(@NotNull Audience audience) {
+        return this.spySet.contains(audience);
+    }
+
+    /**
+     * Adds a spying {@link Audience}
+     * @param audience The audience to add
+     * @return Whether the audience was not already spying
+     */
+    public boolean addSpyAudience(@NotNull Audience audience) {
+        if (this.spyAudiences.addIfAbsent(audience)) {
+            this.rebuildRecipients();
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes a spying {@link Audience}
+     * @param audience The audience to remove
+     * @return Whether the audience was spying
+     */
+    public boolean removeSpyAudience(@NotNull Audience audience) {
+        if (this.spyAudiences.remove(audience)) {
+            this.rebuildRecipients();
+            return true;
+        }
+
+        return false;
     }
 
     /**
@@ -397,6 +543,16 @@ public class Party {
                 this.playerNamer.name(player).colorIfAbsent(NamedTextColor.WHITE)));
 
         this.owner = member;
+        this.notifyChange(PartyChange.Type.OWNER_CHANGED, member);
+    }
+
+    /**
+     * Changes the settings of the party
+     * @param change The change to make to the {@link PartySettings}
+     */
+    public void updateSettings(@NotNull Consumer<PartySettings> change) {
+        change.accept(this.partySettings);
+        this.notifyChange(PartyChange.Type.SETTINGS_CHANGED, null);
     }
 
     /**
@@ -409,11 +565,13 @@ public class Party {
     }
 
     /**
-     * Gets all party members
+     * Gets all party members.
+     * The returned collection is an immutable snapshot that is safe to iterate from any thread and will not reflect
+     * later membership changes.
      * @return All of the party members
      */
     public @NotNull Collection<PartyMember> getMembers() {
-        return new ArrayList<>(this.members.values());
+        return this.members.list();
     }
 
     /**
@@ -423,7 +581,7 @@ public class Party {
     public @NotNull List<Player> getOnlinePlayers() {
         List<Player> players = new ArrayList<>();
 
-        for (PartyMember partyMember : this.members.values()) {
+        for (PartyMember partyMember : this.members.array()) {
             Optional<Player> partyMemberOptional = partyMember.getPlayerIfOnline();
             partyMemberOptional.ifPresent(players::add);
         }
@@ -431,13 +589,35 @@ public class Party {
         return players;
     }
 
+    /**
+     * Updates the online presence of a member
+     * @param playerUUID The {@link UUID} of the member's player
+     * @param player The player that just came online, or null if the player went offline
+     */
+    public void updateMemberPresence(@NotNull UUID playerUUID, @Nullable Player player) {
+        PartyMember member = this.members.get(playerUUID);
+        if (member != null && member.getPlayerIfOnline().orElse(null) != player) {
+            member.setOnlinePlayer(player);
+            this.rebuildRecipients();
+        }
+    }
+
     /**
      * Determines if the party has a member
      * @param player The member
      * @return Whether the party has the member
      */
     public boolean hasMember(@NotNull OfflinePlayer player) {
-        return this.members.containsKey(player.getUniqueId());
+        return this.hasMember(player.getUniqueId());
+    }
+
+    /**
+     * Determines if the party has a member
+     * @param playerUUID The {@link UUID} of the member's player
+     * @return Whether the party has the member
+     */
+    public boolean hasMember(@NotNull UUID playerUUID) {
+        return this.members.get(playerUUID) != null;
     }
 
     /**
@@ -445,12 +625,74 @@ public class Party {
      * @param message The component to send
      */
     public void broadcastMessage(@NotNull Component message) {
-        for (PartyMember member : this.members.values()) {
-            member.getPlayerIfOnline().ifPresent(player -> player.sendMessage(message));
-        }
-        for (Audience audience : this.spyAudiences) {
+        for (Audience audience : this.recipients) {
             audience.sendMessage(message);
         }
+
+        if (this.spyRegistry.hasSubscriptions()) {
+            this.spyRegistry.forEachSubscriber(this, SpyTopic.PARTY_EVENTS, audience -> {
+                if (!this.isRecipient(audience)) {
+                    audience.sendMessage(message);
+                }
+            });
+        }
+    }
+
+    /**
+     * Checks if an audience already receives the party's broadcasts as a member or a spy of this party
+     * @param audience The audience to check
+     * @return Whether the audience is a recipient
+     */
+    private boolean isRecipient(@NotNull Audience audience) {
+        return this.spySet.contains(audience)
+                || (audience instanceof Player player && this.members.get(player.getUniqueId()) != null);
+    }
+
+    /**
+     * Gets everyone who receives party broadcasts, which are the online members followed by the spies.
+     * The returned list is an immutable snapshot that is safe to use from any thread.
+     * @return The recipients
+     */
+    public @NotNull List<Audience> getRecipients() {
+        return this.recipientView;
+    }
+
+    /**
+     * Rebuilds the cached broadcast recipients from the current members and spies.
+     * Rebuilds are serialized and always read the latest state, so the last one to run can never publish stale
+     * recipients even if presence and spies change from different threads.
+     */
+    private synchronized void rebuildRecipients() {
+        PartyMember[] memberArray = this.members.array();
+        Object[] spyArray = this.spyAudiences.toArray();
+
+        Audience[] newRecipients = new Audience[memberArray.length + spyArray.length];
+        int i = 0;
+        for (PartyMember member : memberArray) {
+            Player player = member.getPlayerIfOnline().orElse(null);
+            if (player != null) {
+                newRecipients[i++] = player;
+            }
+        }
+        Audience[] newSpies = new Audience[spyArray.length];
+        for (int j = 0; j < spyArray.length; j++) {
+            newRecipients[i++] = newSpies[j] = (Audience) spyArray[j];
+        }
+
+        newRecipients = i == newRecipients.length ? newRecipients : Arrays.copyOf(newRecipients, i);
+        this.recipients = newRecipients;
+        this.recipientView = Collections.unmodifiableList(Arrays.asList(newRecipients));
+        this.spySet = Set.copyOf(Arrays.asList(newSpies));
+        this.membershipVersion++;
+    }
+
+    /**
+     * Gets a number that changes whenever a member joins, leaves, comes online or goes offline, so that views of the
+     * members can be cached until it changes
+     * @return The membership version
+     */
+    public long getMembershipVersion() {
+        return this.membershipVersion;
     }
 
     /**
@@ -465,7 +707,6 @@ public class Party {
      * Gets the unique identifier of this party
      * @return The {@link UUID}
      */
-    @SuppressWarnings("unused")
     public @NotNull UUID getId() {
         return this.uuid;
     }
@@ -0,0 +1,50 @@
+package io.github.zap.party;
+
+import io.github.zap.party.member.PartyMember;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A change that has been made to a {@link Party}. Changes are reported after they are applied, on the thread that
+ * made them.
+ * @param party The party that changed
+ * @param type The type of the change
+ * @param member The member the change is about, or null if it is about the whole party
+ */
+public record PartyChange(@NotNull Party party, @NotNull Type type, @Nullable PartyMember member) {
+
+    /**
+     * Types of {@link PartyChange}s.
+     */
+    public enum Type {
+        /**
+         * The party was created with its owner as the only member
+         */
+        CREATED,
+        /**
+         * A member joined the party
+         */
+        MEMBER_ADDED,
+        /**
+         * A member left or was removed from the party
+         */
+        MEMBER_REMOVED,
+        /**
+         * The party has a new owner
+         */
+        OWNER_CHANGED,
+        /**
+         * A member was muted or unmuted
+         */
+        MEMBER_CHANGED,
+        /**
+         * The {@link io.github.zap.party.settings.PartySettings} of the party changed
+         */
+        SETTINGS_CHANGED,
+        /**
+         * The party was disbanded
+         */
+        DISBANDED
+    }
+
+}
@@ -0,0 +1,108 @@
+package io.github.zap.party;
+
+import io.github.zap.party.member.PartyMember;
+import io.github.zap.party.util.UUIDMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable members of a {@link Party} at one point in time.
+ * A new snapshot is published every time membership changes, so readers never allocate or lock.
+ */
+final class PartyMemberSnapshot {
+
+    static final PartyMemberSnapshot EMPTY = new PartyMemberSnapshot(new PartyMember[0], new UUIDMap<>());
+
+    private final PartyMember[] members;
+
+    private final List<PartyMember> memberList;
+
+    // never modified once the snapshot is published
+    private final UUIDMap<PartyMember> index;
+
+    private PartyMemberSnapshot(@NotNull PartyMember[] members, @NotNull UUIDMap<PartyMember> index) {
+        this.members = members;
+        this.memberList = Collections.unmodifiableList(Arrays.asList(members));
+        this.index = index;
+    }
+
+    /**
+     * Creates a new snapshot with an additional member
+     * @param uuid The {@link UUID} of the member's player
+     * @param member The member to add
+     * @return The new snapshot
+     */
+    @NotNull PartyMemberSnapshot with(@NotNull UUID uuid, @NotNull PartyMember member) {
+        PartyMember[] newMembers = Arrays.copyOf(this.members, this.members.length + 1);
+        newMembers[this.members.length] = member;
+
+        UUIDMap<PartyMember> newIndex = new UUIDMap<>(this.index);
+        newIndex.put(uuid, member);
+
+        return new PartyMemberSnapshot(newMembers, newIndex);
+    }
+
+    /**
+     * Creates a new snapshot without a member
+     * @param uuid The {@link UUID} of the member's player
+     * @return The new snapshot, or this snapshot if the member was not present
+     */
+    @NotNull PartyMemberSnapshot without(@NotNull UUID uuid) {
+        PartyMember removed = this.index.get(uuid);
+        if (removed == null) {
+            return this;
+        }
+
+        PartyMember[] newMembers = new PartyMember[this.members.length - 1];
+        int i = 0;
+        for (PartyMember member : this.members) {
+            if (member != removed) {
+                newMembers[i++] = member;
+            }
+        }
+
+        UUIDMap<PartyMember> newIndex = new UUIDMap<>(this.index);
+        newIndex.remove(uuid);
+
+        return new PartyMemberSnapshot(newMembers, newIndex);
+    }
+
+    /**
+     * Gets a member
+     * @param uuid The {@link UUID} of the member's player
+     * @return The member, or null if they are not in this snapshot
+     */
+    @Nullable PartyMember get(@NotNull UUID uuid) {
+        return this.index.get(uuid);
+    }
+
+    /**
+     * Gets the backing array of members. This must never be modified.
+     * @return The members
+     */
+    @NotNull PartyMember[] array() {
+        return this.members;
+    }
+
+    /**
+     * Gets an unmodifiable list view of the members
+     * @return The members
+     */
+    @NotNull List<PartyMember> list() {
+        return this.memberList;
+    }
+
+    /**
+     * Gets the number of members
+     * @return The number of members
+     */
+    int size() {
+        return this.members.length;
+    }
+
+}
@@ -0,0 +1,157 @@
+package io.github.zap.party.audience;
+
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.audience.MessageType;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.text.Component;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An {@link Audience} for spies that queues messages instead of sending them, so that the thread sending a message
+ * never waits on the spy's I/O. Queued messages are sent in batches whenever the sink is drained, usually by a
+ * background thread. The queue is bounded and follows a {@link SpyOverflowPolicy} once it is full.
+ */
+public class BufferedSpySink implements Audience {
+
+    private final Queue<SpyMessage> messages = new ConcurrentLinkedQueue<>();
+
+    // ConcurrentLinkedQueue#size is linear, so the size is tracked separately and may briefly exceed the capacity
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final AtomicLong overflowed = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicLong sent = new AtomicLong();
+
+    private final Audience delegate;
+
+    private final Logger logger;
+
+    private final int capacity;
+
+    private final int batchSize;
+
+    private final SpyOverflowPolicy overflowPolicy;
+
+    private final int sampleRate;
+
+    /**
+     * Creates a new buffered spy sink.
+     * @param delegate The audience to eventually send messages to
+     * @param logger A logger for messages that failed to send
+     * @param capacity The maximum number of queued messages
+     * @param batchSize The maximum number of messages sent per batch
+     * @param overflowPolicy What to do with new messages once the queue is full
+     * @param sampleRate With {@link SpyOverflowPolicy#SAMPLE}, one in this many overflowing messages is kept
+     */
+    public BufferedSpySink(@NotNull Audience delegate, @NotNull Logger logger, int capacity, int batchSize,
+                           @NotNull SpyOverflowPolicy overflowPolicy, int sampleRate) {
+        if (capacity <= 0 || batchSize <= 0 || sampleRate <= 0) {
+            throw new IllegalArgumentException("The capacity, batch size and sample rate of a spy sink must be " +
+                    "positive!");
+        }
+
+        this.delegate = delegate;
+        this.logger = logger;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void sendMessage(final @NonNull Identity source, final @NonNull Component message,
+                            final @NonNull MessageType type) {
+        if (this.size.incrementAndGet() > this.capacity) {
+            if (this.overflowPolicy == SpyOverflowPolicy.SAMPLE
+                    && this.overflowed.getAndIncrement() % this.sampleRate != 0) {
+                this.size.decrementAndGet();
+                this.dropped.incrementAndGet();
+                return;
+            }
+
+            if (this.messages.poll() != null) {
+                this.size.decrementAndGet();
+                this.dropped.incrementAndGet();
+            }
+        }
+
+        this.messages.offer(new SpyMessage(source, message, type));
+    }
+
+    /**
+     * Sends queued messages to the delegate in batches until the queue is empty.
+     * This must only be called from one thread at a time.
+     * @return The number of messages sent
+     */
+    public int drain() {
+        int drained = 0;
+        int batch;
+        do {
+            batch = this.drainBatch();
+            drained += batch;
+        } while (batch == this.batchSize);
+
+        return drained;
+    }
+
+    private int drainBatch() {
+        int count = 0;
+        SpyMessage message;
+        while (count < this.batchSize && (message = this.messages.poll()) != null) {
+            this.size.decrementAndGet();
+            count++;
+
+            try {
+                this.delegate.sendMessage(message.source(), message.message(), message.type());
+            }
+            catch (RuntimeException e) {
+                this.logger.log(Level.WARNING, "Failed to send a message to a spy!", e);
+            }
+        }
+
+        this.sent.addAndGet(count);
+        return count;
+    }
+
+    /**
+     * Gets the approximate number of queued messages
+     * @return The number of queued messages
+     */
+    public int getQueuedCount() {
+        return Math.max(0, this.size.get());
+    }
+
+    /**
+     * Gets the number of messages dropped because the queue was full
+     * @return The number of dropped messages
+     */
+    public long getDroppedCount() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Gets the number of messages sent to the delegate
+     * @return The number of sent messages
+     */
+    public long getSentCount() {
+        return this.sent.get();
+    }
+
+    /**
+     * A message waiting to be sent to the delegate.
+     */
+    private record SpyMessage(@NotNull Identity source, @NotNull Component message, @NotNull MessageType type) {
+
+    }
+
+}
@@ -4,37 +4,46 @@ import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.audience.MessageType;
 import net.kyori.adventure.identity.Identity;
 import net.kyori.adventure.text.Component;
-import org.bukkit.Server;
 import org.bukkit.entity.Player;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.ref.WeakReference;
 import java.util.UUID;
 
 /**
- * An {@link Audience} that sends messages to a {@link Player} if they are online
- * from an original {@link Player} instance.
+ * An {@link Audience} that sends messages to a {@link Player} for the session of an original {@link Player} instance.
+ * The player is only weakly referenced, so audiences that outlive the session do not keep the player loaded and
+ * simply stop sending messages once it has been collected. Audiences are equal if they are for the same player.
  */
 public class PlayerAudience implements Audience {
 
-    private final Server server;
+    private final WeakReference<Player> player;
 
     private final UUID playerUUID;
 
     public PlayerAudience(@NotNull Player player) {
-        this.server = player.getServer();
+        this.player = new WeakReference<>(player);
         this.playerUUID = player.getUniqueId();
     }
 
     @Override
     public void sendMessage(final @NonNull Identity source, final @NonNull Component message,
                             final @NonNull MessageType type) {
-        Player player = this.server.getPlayer(this.playerUUID);
+        Player player = this.player.get();
         if (player != null) {
             player.sendMessage(source, message, type);
         }
     }
 
+    /**
+     * Gets the {@link UUID} of the player this audience sends messages to
+     * @return The player's {@link UUID}
+     */
+    public @NotNull UUID getPlayerUUID() {
+        return this.playerUUID;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
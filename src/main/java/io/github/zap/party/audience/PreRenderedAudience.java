@@ -7,11 +7,14 @@ import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.renderer.TranslatableComponentRenderer;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Locale;
 
 /**
  * An {@link Audience} that renders {@link Component}s before sending messages.
+ * Only system messages such as party notices go through the {@link RenderCache}, since chat messages carry what
+ * players typed and are practically never repeated.
  */
 public class PreRenderedAudience implements Audience {
 
@@ -21,17 +24,36 @@ public class PreRenderedAudience implements Audience {
 
     private final Locale locale;
 
-    public PreRenderedAudience(@NotNull Audience audience,
-                               @NotNull TranslatableComponentRenderer<Locale> renderer, @NotNull Locale locale) {
+    private final RenderCache renderCache;
+
+    /**
+     * Creates an audience that renders messages before sending them, reusing renders of equal messages.
+     * @param audience The audience to send rendered messages to
+     * @param renderer The renderer to render messages with
+     * @param locale The {@link Locale} to render messages in
+     * @param renderCache A cache of renders which may be shared with other audiences, or null to render every message.
+     *                    Chat messages are never cached.
+     */
+    public PreRenderedAudience(@NotNull Audience audience, @NotNull TranslatableComponentRenderer<Locale> renderer,
+                               @NotNull Locale locale, @Nullable RenderCache renderCache) {
         this.delegate = audience;
         this.renderer = renderer;
         this.locale = locale;
+        this.renderCache = renderCache;
+    }
+
+    public PreRenderedAudience(@NotNull Audience audience,
+                               @NotNull TranslatableComponentRenderer<Locale> renderer, @NotNull Locale locale) {
+        this(audience, renderer, locale, null);
     }
 
     @Override
     public void sendMessage(final @NonNull Identity source, final @NonNull Component message,
                             final @NonNull MessageType type) {
-        this.delegate.sendMessage(source, this.renderer.render(message, locale), type);
+        Component rendered = (this.renderCache != null && type != MessageType.CHAT)
+                ? this.renderCache.render(message, this.renderer, this.locale)
+                : this.renderer.render(message, this.locale);
+        this.delegate.sendMessage(source, rendered, type);
     }
 
     @Override
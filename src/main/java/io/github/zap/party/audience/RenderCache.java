@@ -0,0 +1,98 @@
+package io.github.zap.party.audience;
+
+import io.github.zap.party.util.LruCache;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.renderer.TranslatableComponentRenderer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, least recently used cache of rendered {@link Component}s for {@link PreRenderedAudience}s.
+ * Messages are matched by equality, so equal notices sent by different parties share one render. Only messages that
+ * can repeat belong in the cache, since every miss hashes the whole message and evicts a render that could be reused.
+ * Every audience sharing a cache must render with the same renderer.
+ */
+public class RenderCache {
+
+    private final LruCache<RenderKey, Component> renders;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a new render cache.
+     * @param capacity The maximum number of renders to keep
+     */
+    public RenderCache(int capacity) {
+        this.renders = new LruCache<>(capacity);
+    }
+
+    /**
+     * Gets the cached render of a message or renders and caches it
+     * @param message The message to render
+     * @param renderer The renderer to render the message with if it is not cached
+     * @param locale The {@link Locale} to render the message in
+     * @return The rendered message
+     */
+    public @NotNull Component render(@NotNull Component message,
+                                     @NotNull TranslatableComponentRenderer<Locale> renderer, @NotNull Locale locale) {
+        RenderKey key = new RenderKey(message, locale);
+        Component rendered = this.renders.get(key);
+        if (rendered != null) {
+            this.hits.increment();
+            return rendered;
+        }
+
+        // render outside the lock since renders can be slow, a racing render of the same message is harmless
+        this.misses.increment();
+        rendered = renderer.render(message, locale);
+        this.renders.put(key, rendered);
+
+        return rendered;
+    }
+
+    /**
+     * Gets the number of renders that were served from the cache
+     * @return The number of cache hits
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the number of renders that were not cached
+     * @return The number of cache misses
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Gets the fraction of renders that were served from the cache
+     * @return The hit rate between 0 and 1, or 0 if nothing has been rendered yet
+     */
+    public double getHitRate() {
+        long hits = this.hits.sum();
+        long total = hits + this.misses.sum();
+        return (total == 0) ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Gets the number of cached renders
+     * @return The number of cached renders
+     */
+    public int size() {
+        return this.renders.size();
+    }
+
+    /**
+     * Identifies a message rendered in a {@link Locale}.
+     */
+    private record RenderKey(@NotNull Component message, @NotNull Locale locale) {
+
+    }
+
+}
@@ -0,0 +1,18 @@
+package io.github.zap.party.audience;
+
+/**
+ * What a {@link BufferedSpySink} does with messages once its queue is full.
+ */
+public enum SpyOverflowPolicy {
+
+    /**
+     * The oldest queued message is dropped to make room for every new message
+     */
+    DROP_OLDEST,
+
+    /**
+     * Only a sample of the new messages replace the oldest queued messages, the others are dropped
+     */
+    SAMPLE
+
+}
@@ -0,0 +1,79 @@
+package io.github.zap.party.command;
+
+import io.github.zap.regularcommands.commands.CommandForm;
+import io.github.zap.regularcommands.commands.Context;
+import io.github.zap.regularcommands.commands.RegularCommand;
+import io.github.zap.regularcommands.converter.Parameter;
+import io.github.zap.regularcommands.util.Permissions;
+import io.github.zap.regularcommands.util.Validators;
+import io.github.zap.regularcommands.validator.CommandValidator;
+import io.github.zap.regularcommands.validator.ValidationResult;
+import io.github.zap.party.Party;
+import io.github.zap.party.executor.PartyExecutor;
+import io.github.zap.party.invitation.InvitationIndex;
+import io.github.zap.party.tracker.PartyTracker;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Joins the party of a player's most recent invitation
+ */
+public class AcceptInviteForm extends CommandForm<Party> {
+
+    private final static Parameter[] PARAMETERS = new Parameter[] {
+            new Parameter("accept", Component.text("accept"))
+    };
+
+    private final PartyExecutor partyExecutor;
+
+    private final CommandValidator<Party, ?> validator;
+
+    public AcceptInviteForm(@NotNull RegularCommand regularCommand, @NotNull PartyTracker partyTracker,
+                            @NotNull PartyExecutor partyExecutor, @NotNull InvitationIndex invitationIndex) {
+        super(regularCommand, Component.translatable("io.github.zap.party.command.accept.usage"), Permissions.NONE,
+                PARAMETERS);
+
+        this.partyExecutor = partyExecutor;
+        this.validator = new CommandValidator<>((context, arguments, previousData) -> {
+            if (partyTracker.getPartyForPlayer(previousData).isPresent()) {
+                return ValidationResult.of(false,
+                        Component.translatable("io.github.zap.party.command.join.alreadyinparty",
+                                NamedTextColor.RED), null);
+            }
+
+            // lazily expiring invitations may still be indexed, so skip to the newest one that is still valid
+            List<InvitationIndex.Invitation> invitations = invitationIndex.getInvitations(previousData.getUniqueId());
+            for (int i = invitations.size() - 1; i >= 0; i--) {
+                Party party = invitations.get(i).party();
+                if (party.getInvitationManager().hasInvitation(previousData)) {
+                    return ValidationResult.of(true, null, party);
+                }
+            }
+
+            return ValidationResult.of(false,
+                    Component.translatable("io.github.zap.party.command.invites.none", NamedTextColor.RED), null);
+        }, Validators.PLAYER_EXECUTOR);
+    }
+
+    @Override
+    public CommandValidator<Party, ?> getValidator(Context context, Object[] arguments) {
+        return this.validator;
+    }
+
+    @Override
+    public Component execute(Context context, Object[] arguments, Party data) {
+        Player sender = (Player) context.getSender();
+        this.partyExecutor.execute(data, () -> {
+            // the party may have been disbanded or the player may have quit while this was queued
+            if (data.getOwner().isPresent() && sender.isOnline()) {
+                data.addMember(sender);
+            }
+        });
+        return Component.empty();
+    }
+
+}
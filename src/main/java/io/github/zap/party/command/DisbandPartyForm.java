@@ -9,6 +9,7 @@ import io.github.zap.regularcommands.util.Validators;
 import io.github.zap.regularcommands.validator.CommandValidator;
 import io.github.zap.regularcommands.validator.ValidationResult;
 import io.github.zap.party.Party;
+import io.github.zap.party.executor.PartyExecutor;
 import io.github.zap.party.tracker.PartyTracker;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -25,11 +26,16 @@ public class DisbandPartyForm extends CommandForm<Party> {
             new Parameter("disband", Component.text("disband"), false)
     };
 
+    private final PartyExecutor partyExecutor;
+
     private final CommandValidator<Party, ?> validator;
 
-    public DisbandPartyForm(@NotNull RegularCommand regularCommand, @NotNull PartyTracker partyTracker) {
+    public DisbandPartyForm(@NotNull RegularCommand regularCommand, @NotNull PartyTracker partyTracker,
+                            @NotNull PartyExecutor partyExecutor) {
         super(regularCommand, Component.translatable("io.github.zap.party.command.disband.usage"), Permissions.NONE,
                 PARAMETERS);
+
+        this.partyExecutor = partyExecutor;
         this.validator = new CommandValidator<>((context, arguments, previousData) -> {
             Optional<Party> partyOptional = partyTracker.getPartyForPlayer(previousData);
 
@@ -57,7 +63,7 @@ public class DisbandPartyForm extends CommandForm<Party> {
 
     @Override
     public Component execute(Context context, Object[] arguments, Party data) {
-        data.disband();
+        this.partyExecutor.execute(data, data::disband);
         return Component.empty();
     }
 
@@ -10,62 +10,93 @@ import io.github.zap.regularcommands.validator.CommandValidator;
 import io.github.zap.regularcommands.validator.ValidationResult;
 import io.github.zap.party.Party;
 import io.github.zap.party.creator.PartyCreator;
+import io.github.zap.party.executor.PartyExecutor;
 import io.github.zap.party.tracker.PartyTracker;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
+import org.apache.commons.lang3.StringUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
 /**
- * Invites a player to your party
+ * Invites one or more players to your party
  */
-public class InvitePlayerForm extends CommandForm<Player> {
+public class InvitePlayerForm extends CommandForm<List<Player>> {
 
-    private final static Parameter[] PARAMETERS = new Parameter[] {
-            new Parameter("invite", Component.text("invite")),
-            new Parameter("\\w+", Component.text("[player-name]"), false)
-    };
+    private final static int MAX_INVITEES = 8;
 
-    private final static CommandValidator<Player, ?> VALIDATOR
-            = new CommandValidator<>((context, arguments, previousData) -> {
-        String playerName = (String) arguments[1];
+    private final static Parameter[] PARAMETERS = new Parameter[MAX_INVITEES + 1];
 
-        if (previousData.getName().equalsIgnoreCase(playerName)) {
-            return ValidationResult.of(false,
-                    Component.translatable("io.github.zap.party.command.invite.cannotinviteown",
-                            NamedTextColor.RED), null);
+    static {
+        PARAMETERS[0] = new Parameter("invite", Component.text("invite"));
+        PARAMETERS[1] = new Parameter("\\w+", Component.text("[player-name]"), false);
+        for (int i = 2; i < PARAMETERS.length; i++) {
+            PARAMETERS[i] = new Parameter("\\w+", Component.text("[player-name]"), StringUtils.EMPTY);
         }
+    }
 
-        Player player = Bukkit.getPlayer(playerName);
-        if (player == null) {
-            return ValidationResult.of(false, Component.translatable("io.github.zap.party.command.notonline",
-                    NamedTextColor.RED, Component.text(playerName)), null);
+    private final static CommandValidator<List<Player>, ?> VALIDATOR
+            = new CommandValidator<>((context, arguments, previousData) -> {
+        // validate every name before inviting anyone so that a typo does not leave half of a group invited
+        // names resolve by prefix, so different names can resolve to the same player or to the sender
+        Set<UUID> seenPlayers = new HashSet<>();
+        List<Player> invitees = new ArrayList<>(arguments.length - 1);
+        for (int i = 1; i < arguments.length; i++) {
+            String playerName = (String) arguments[i];
+            if (playerName.isEmpty()) {
+                continue;
+            }
+
+            Player player = Bukkit.getPlayer(playerName);
+            if (player == null) {
+                return ValidationResult.of(false, Component.translatable("io.github.zap.party.command.notonline",
+                        NamedTextColor.RED, Component.text(playerName)), null);
+            }
+
+            if (player.getUniqueId().equals(previousData.getUniqueId())) {
+                return ValidationResult.of(false,
+                        Component.translatable("io.github.zap.party.command.invite.cannotinviteown",
+                                NamedTextColor.RED), null);
+            }
+
+            if (seenPlayers.add(player.getUniqueId())) {
+                invitees.add(player);
+            }
         }
 
-        return ValidationResult.of(true, null, player);
+        return ValidationResult.of(true, null, invitees);
     }, Validators.PLAYER_EXECUTOR);
 
     private final PartyTracker partyTracker;
 
     private final PartyCreator partyCreator;
 
+    private final PartyExecutor partyExecutor;
+
     public InvitePlayerForm(@NotNull RegularCommand regularCommand, @NotNull PartyTracker partyTracker,
-                            @NotNull PartyCreator partyCreator) {
+                            @NotNull PartyCreator partyCreator, @NotNull PartyExecutor partyExecutor) {
         super(regularCommand, Component.translatable("io.github.zap.party.command.invite.usage"), Permissions.NONE,
                 PARAMETERS);
 
         this.partyTracker = partyTracker;
         this.partyCreator = partyCreator;
+        this.partyExecutor = partyExecutor;
     }
 
     @Override
-    public CommandValidator<Player, ?> getValidator(Context context, Object[] arguments) {
+    public CommandValidator<List<Player>, ?> getValidator(Context context, Object[] arguments) {
         return VALIDATOR;
     }
 
     @Override
-    public Component execute(Context context, Object[] arguments, Player data) {
+    public Component execute(Context context, Object[] arguments, List<Player> data) {
         Player sender = (Player) context.getSender();
 
         Party party = this.partyTracker.getPartyForPlayer(sender).orElseGet(() -> {
@@ -76,7 +107,7 @@ public class InvitePlayerForm extends CommandForm<Player> {
         });
 
         if (party.isOwner(sender) || party.getPartySettings().isAllInvite()) {
-            party.getInvitationManager().addInvitation(party, data, sender);
+            this.partyExecutor.execute(party, () -> party.getInvitationManager().addInvitations(party, data, sender));
             return Component.empty();
         }
 
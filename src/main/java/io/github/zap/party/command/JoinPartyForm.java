@@ -9,12 +9,12 @@ import io.github.zap.regularcommands.util.Validators;
 import io.github.zap.regularcommands.validator.CommandValidator;
 import io.github.zap.regularcommands.validator.ValidationResult;
 import io.github.zap.party.Party;
+import io.github.zap.party.executor.PartyExecutor;
 import io.github.zap.party.namer.OfflinePlayerNamer;
+import io.github.zap.party.resolver.OfflinePlayerResolver;
 import io.github.zap.party.tracker.PartyTracker;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
-import org.bukkit.Bukkit;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
@@ -23,19 +23,33 @@ import java.util.Optional;
 /**
  * Joins a player's party if it exists
  */
-public class JoinPartyForm extends CommandForm<Party> {
+public class JoinPartyForm extends CommandForm<Void> {
 
     private final static Parameter[] PARAMETERS = new Parameter[] {
             new Parameter("join", Component.text("join")),
             new Parameter("\\w+", Component.text("[owner-name]"), false)
     };
 
-    private final CommandValidator<Party, ?> validator;
+    private final PartyTracker partyTracker;
+
+    private final PartyExecutor partyExecutor;
+
+    private final OfflinePlayerNamer playerNamer;
+
+    private final OfflinePlayerResolver offlinePlayerResolver;
+
+    private final CommandValidator<Void, ?> validator;
 
     public JoinPartyForm(@NotNull RegularCommand regularCommand, @NotNull PartyTracker partyTracker,
-                         @NotNull OfflinePlayerNamer playerNamer) {
+                         @NotNull PartyExecutor partyExecutor, @NotNull OfflinePlayerNamer playerNamer,
+                         @NotNull OfflinePlayerResolver offlinePlayerResolver) {
         super(regularCommand, Component.translatable("io.github.zap.party.command.join.usage"), Permissions.NONE,
                 PARAMETERS);
+
+        this.partyTracker = partyTracker;
+        this.partyExecutor = partyExecutor;
+        this.playerNamer = playerNamer;
+        this.offlinePlayerResolver = offlinePlayerResolver;
         this.validator = new CommandValidator<>(((context, arguments, previousData) -> {
             if (partyTracker.getPartyForPlayer(previousData).isPresent()) {
                 return ValidationResult.of(false,
@@ -50,42 +64,69 @@ public class JoinPartyForm extends CommandForm<Party> {
                                 NamedTextColor.RED), null);
             }
 
-            OfflinePlayer owner = Bukkit.getOfflinePlayerIfCached(ownerName);
-            if (owner == null) {
-                return ValidationResult.of(false,
-                        Component.translatable("io.github.zap.party.command.notregistered", NamedTextColor.RED,
-                                Component.text(ownerName)), null);
+            return ValidationResult.of(true, null, null);
+        }), Validators.PLAYER_EXECUTOR);
+    }
+
+    @Override
+    public CommandValidator<Void, ?> getValidator(Context context, Object[] arguments) {
+        return this.validator;
+    }
+
+    @Override
+    public Component execute(Context context, Object[] arguments, Void data) {
+        Player sender = (Player) context.getSender();
+        String ownerName = (String) arguments[1];
+
+        this.offlinePlayerResolver.resolve(ownerName, this.playerNamer).whenComplete((resolved, e) -> {
+            // joining after quitting would keep the stale player handle as an online member
+            if (!sender.isOnline()) {
+                return;
             }
 
-            Component ownerComponent = playerNamer.name(owner);
+            if (e != null) {
+                sender.sendMessage(Component.translatable("io.github.zap.party.command.lookupbusy",
+                        NamedTextColor.RED));
+                return;
+            }
+
+            if (resolved.isEmpty()) {
+                sender.sendMessage(Component.translatable("io.github.zap.party.command.notregistered",
+                        NamedTextColor.RED, Component.text(ownerName)));
+                return;
+            }
+
+            // the sender may have joined another party while the owner was looked up
+            if (this.partyTracker.getPartyForPlayer(sender).isPresent()) {
+                sender.sendMessage(Component.translatable("io.github.zap.party.command.join.alreadyinparty",
+                        NamedTextColor.RED));
+                return;
+            }
+
+            Component ownerComponent = resolved.get().name();
 
-            Optional<Party> partyOptional = partyTracker.getPartyForPlayer(owner);
+            Optional<Party> partyOptional = this.partyTracker.getPartyForPlayer(resolved.get().player());
             if (partyOptional.isEmpty()) {
-                return ValidationResult.of(false,
-                        Component.translatable("io.github.zap.party.command.notinparty", NamedTextColor.RED,
-                                ownerComponent), null);
+                sender.sendMessage(Component.translatable("io.github.zap.party.command.notinparty",
+                        NamedTextColor.RED, ownerComponent));
+                return;
             }
 
             Party party = partyOptional.get();
-            if (!(party.getInvitationManager().hasInvitation(previousData)
+            if (!(party.getInvitationManager().hasInvitation(sender)
                     || party.getPartySettings().isAnyoneCanJoin())) {
-                return ValidationResult.of(false,
-                        Component.translatable("io.github.zap.party.command.join.noinvite",
-                                NamedTextColor.RED, ownerComponent), null);
+                sender.sendMessage(Component.translatable("io.github.zap.party.command.join.noinvite",
+                        NamedTextColor.RED, ownerComponent));
+                return;
             }
 
-            return ValidationResult.of(true, null, party);
-        }), Validators.PLAYER_EXECUTOR);
-    }
+            this.partyExecutor.execute(party, () -> {
+                if (sender.isOnline()) {
+                    party.addMember(sender);
+                }
+            });
+        });
 
-    @Override
-    public CommandValidator<Party, ?> getValidator(Context context, Object[] arguments) {
-        return this.validator;
-    }
-
-    @Override
-    public Component execute(Context context, Object[] arguments, Party data) {
-        data.addMember((Player) context.getSender());
         return Component.empty();
     }
 
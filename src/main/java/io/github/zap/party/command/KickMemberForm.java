@@ -9,13 +9,14 @@ import io.github.zap.regularcommands.util.Validators;
 import io.github.zap.regularcommands.validator.CommandValidator;
 import io.github.zap.regularcommands.validator.ValidationResult;
 import io.github.zap.party.Party;
+import io.github.zap.party.executor.PartyExecutor;
 import io.github.zap.party.namer.OfflinePlayerNamer;
+import io.github.zap.party.resolver.OfflinePlayerResolver;
 import io.github.zap.party.tracker.PartyTracker;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
-import org.apache.commons.lang3.tuple.Pair;
-import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Optional;
@@ -23,20 +24,34 @@ import java.util.Optional;
 /**
  * Kicks a member from the party
  */
-public class KickMemberForm extends CommandForm<Pair<Party, OfflinePlayer>> {
+public class KickMemberForm extends CommandForm<Party> {
 
     private final static Parameter[] PARAMETERS = new Parameter[] {
             new Parameter("kick", Component.text("kick")),
             new Parameter("\\w+", Component.text("[player-name]"), false)
     };
 
-    private final CommandValidator<Pair<Party, OfflinePlayer>, ?> validator;
+    private final PartyTracker partyTracker;
+
+    private final PartyExecutor partyExecutor;
+
+    private final OfflinePlayerNamer playerNamer;
+
+    private final OfflinePlayerResolver offlinePlayerResolver;
+
+    private final CommandValidator<Party, ?> validator;
 
     public KickMemberForm(@NotNull RegularCommand regularCommand, @NotNull PartyTracker partyTracker,
-                          @NotNull OfflinePlayerNamer playerNamer) {
+                          @NotNull PartyExecutor partyExecutor, @NotNull OfflinePlayerNamer playerNamer,
+                          @NotNull OfflinePlayerResolver offlinePlayerResolver) {
         super(regularCommand, Component.translatable("io.github.zap.party.command.kick.usage"), Permissions.NONE,
                 PARAMETERS);
 
+        this.partyTracker = partyTracker;
+        this.partyExecutor = partyExecutor;
+        this.playerNamer = playerNamer;
+        this.offlinePlayerResolver = offlinePlayerResolver;
+
         this.validator = new CommandValidator<>((context, arguments, previousData) -> {
             Optional<Party> partyOptional = partyTracker.getPartyForPlayer(previousData);
             if (partyOptional.isEmpty()) {
@@ -60,35 +75,56 @@ public class KickMemberForm extends CommandForm<Pair<Party, OfflinePlayer>> {
                                 NamedTextColor.RED), null);
             }
 
-            OfflinePlayer toKick = Bukkit.getOfflinePlayerIfCached(playerName);
-            if (toKick == null) {
-                return ValidationResult.of(false,
-                        Component.translatable("io.github.zap.party.command.notregistered",
-                                NamedTextColor.RED, Component.text(playerName)), null);
-            }
-
-            Optional<Party> toKickPartyOptional = partyTracker.getPartyForPlayer(toKick);
-            if (toKickPartyOptional.isPresent()) {
-                if (party.equals(toKickPartyOptional.get())) {
-                    return ValidationResult.of(true, null, Pair.of(party, toKick));
-                }
-            }
-
-            Component toKickComponent = playerNamer.name(toKick);
-            return ValidationResult.of(false,
-                    Component.translatable("io.github.zap.party.command.notinyourparty",
-                            NamedTextColor.RED, toKickComponent), null);
+            return ValidationResult.of(true, null, party);
         }, Validators.PLAYER_EXECUTOR);
     }
 
     @Override
-    public CommandValidator<Pair<Party, OfflinePlayer>, ?> getValidator(Context context, Object[] arguments) {
+    public CommandValidator<Party, ?> getValidator(Context context, Object[] arguments) {
         return this.validator;
     }
 
     @Override
-    public Component execute(Context context, Object[] arguments, Pair<Party, OfflinePlayer> data) {
-        data.getLeft().removeMember(data.getRight(), true);
+    public Component execute(Context context, Object[] arguments, Party data) {
+        Player sender = (Player) context.getSender();
+        String playerName = (String) arguments[1];
+
+        // the player to kick is only looked up once the cheap checks passed, and may not be cached
+        this.offlinePlayerResolver.resolve(playerName, this.playerNamer).whenComplete((resolved, e) -> {
+            if (!sender.isOnline()) {
+                return;
+            }
+
+            if (e != null) {
+                sender.sendMessage(Component.translatable("io.github.zap.party.command.lookupbusy",
+                        NamedTextColor.RED));
+                return;
+            }
+
+            if (resolved.isEmpty()) {
+                sender.sendMessage(Component.translatable("io.github.zap.party.command.notregistered",
+                        NamedTextColor.RED, Component.text(playerName)));
+                return;
+            }
+
+            // the party may have changed while the player was looked up
+            if (!data.isOwner(sender)) {
+                sender.sendMessage(Component.translatable("io.github.zap.party.command.sender.notowner",
+                        NamedTextColor.RED));
+                return;
+            }
+
+            OfflinePlayer toKick = resolved.get().player();
+            Optional<Party> toKickPartyOptional = this.partyTracker.getPartyForPlayer(toKick);
+            if (toKickPartyOptional.isPresent() && data.equals(toKickPartyOptional.get())) {
+                this.partyExecutor.execute(data, () -> data.removeMember(toKick, true));
+                return;
+            }
+
+            sender.sendMessage(Component.translatable("io.github.zap.party.command.notinyourparty",
+                    NamedTextColor.RED, resolved.get().name()));
+        });
+
         return Component.empty();
     }
 
@@ -9,6 +9,7 @@ import io.github.zap.regularcommands.util.Validators;
 import io.github.zap.regularcommands.validator.CommandValidator;
 import io.github.zap.regularcommands.validator.ValidationResult;
 import io.github.zap.party.Party;
+import io.github.zap.party.executor.PartyExecutor;
 import io.github.zap.party.tracker.PartyTracker;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -28,12 +29,16 @@ public class LeavePartyForm extends CommandForm<Void> {
 
     private final PartyTracker partyTracker;
 
+    private final PartyExecutor partyExecutor;
+
     private final CommandValidator<Void, ?> validator;
 
-    public LeavePartyForm(@NotNull RegularCommand regularCommand, @NotNull PartyTracker partyTracker) {
+    public LeavePartyForm(@NotNull RegularCommand regularCommand, @NotNull PartyTracker partyTracker,
+                          @NotNull PartyExecutor partyExecutor) {
         super(regularCommand, Component.translatable("io.github.zap.party.command.leave.usage"), Permissions.NONE, PARAMETERS);
 
         this.partyTracker = partyTracker;
+        this.partyExecutor = partyExecutor;
         this.validator = new CommandValidator<>((context, arguments, previousData) -> {
             Optional<Party> party = partyTracker.getPartyForPlayer(previousData);
             if (party.isEmpty()) {
@@ -54,7 +59,8 @@ public class LeavePartyForm extends CommandForm<Void> {
     @Override
     public Component execute(Context context, Object[] arguments, Void data) {
         OfflinePlayer sender = (OfflinePlayer) context.getSender();
-        this.partyTracker.getPartyForPlayer(sender).ifPresent(party -> party.removeMember(sender, false));
+        this.partyTracker.getPartyForPlayer(sender).ifPresent(party ->
+                this.partyExecutor.execute(party, () -> party.removeMember(sender, false)));
         return Component.empty();
     }
 
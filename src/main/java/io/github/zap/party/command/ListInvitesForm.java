@@ -0,0 +1,83 @@
+package io.github.zap.party.command;
+
+import io.github.zap.regularcommands.commands.CommandForm;
+import io.github.zap.regularcommands.commands.Context;
+import io.github.zap.regularcommands.commands.RegularCommand;
+import io.github.zap.regularcommands.converter.Parameter;
+import io.github.zap.regularcommands.util.Permissions;
+import io.github.zap.regularcommands.util.Validators;
+import io.github.zap.regularcommands.validator.CommandValidator;
+import io.github.zap.regularcommands.validator.ValidationResult;
+import io.github.zap.party.invitation.InvitationIndex;
+import io.github.zap.party.namer.OfflinePlayerNamer;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lists all pending invitations of a player
+ */
+public class ListInvitesForm extends CommandForm<List<InvitationIndex.Invitation>> {
+
+    private final static Parameter[] PARAMETERS = new Parameter[] {
+            new Parameter("invites", Component.text("invites"))
+    };
+
+    private final CommandValidator<List<InvitationIndex.Invitation>, ?> validator;
+
+    private final OfflinePlayerNamer playerNamer;
+
+    public ListInvitesForm(@NotNull RegularCommand regularCommand, @NotNull InvitationIndex invitationIndex,
+                           @NotNull OfflinePlayerNamer playerNamer) {
+        super(regularCommand, Component.translatable("io.github.zap.party.command.invites.usage"),
+                Permissions.NONE, PARAMETERS);
+
+        this.validator = new CommandValidator<>((context, arguments, previousData) -> {
+            List<InvitationIndex.Invitation> invitations = new ArrayList<>();
+            for (InvitationIndex.Invitation invitation : invitationIndex.getInvitations(previousData.getUniqueId())) {
+                if (invitation.party().getInvitationManager().hasInvitation(previousData)) {
+                    invitations.add(invitation);
+                }
+            }
+
+            if (invitations.isEmpty()) {
+                return ValidationResult.of(false,
+                        Component.translatable("io.github.zap.party.command.invites.none", NamedTextColor.RED),
+                        null);
+            }
+
+            return ValidationResult.of(true, null, invitations);
+        }, Validators.PLAYER_EXECUTOR);
+        this.playerNamer = playerNamer;
+    }
+
+    @Override
+    public CommandValidator<List<InvitationIndex.Invitation>, ?> getValidator(Context context, Object[] arguments) {
+        return this.validator;
+    }
+
+    @Override
+    public Component execute(Context context, Object[] arguments, List<InvitationIndex.Invitation> data) {
+        List<Component> lines = new ArrayList<>(data.size() + 1);
+        lines.add(Component.translatable("io.github.zap.party.command.invites.header", NamedTextColor.GOLD));
+
+        // newest first, matching what /party accept would join
+        for (int i = data.size() - 1; i >= 0; i--) {
+            InvitationIndex.Invitation invitation = data.get(i);
+            Component owner = invitation.party().getOwner()
+                    .map(partyMember -> this.playerNamer.name(partyMember.getOfflinePlayer()))
+                    .orElseGet(() -> Component.translatable("io.github.zap.party.command.spy.unknownowner"));
+            Component inviter = this.playerNamer.name(invitation.inviterUUID(), Bukkit.getServer());
+
+            lines.add(Component.translatable("io.github.zap.party.command.invites.entry", NamedTextColor.YELLOW,
+                    owner.colorIfAbsent(NamedTextColor.WHITE), inviter.colorIfAbsent(NamedTextColor.WHITE)));
+        }
+
+        return Component.join(Component.newline(), lines);
+    }
+
+}
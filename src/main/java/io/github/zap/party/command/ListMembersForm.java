@@ -15,7 +15,6 @@ import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -24,7 +23,8 @@ import java.util.Optional;
 public class ListMembersForm extends CommandForm<Party> {
 
     private final static Parameter[] PARAMETERS = new Parameter[] {
-            new Parameter("list", Component.text("list"))
+            new Parameter("list", Component.text("list")),
+            new Parameter("\\d{1,9}", Component.text("[page]"), "1")
     };
 
     private final CommandValidator<Party, ?> validator;
@@ -52,10 +52,22 @@ public class ListMembersForm extends CommandForm<Party> {
 
     @Override
     public Component execute(Context context, Object[] arguments, Party data) {
-        Locale locale = ((Player) context.getSender()).locale();
-        for (Component component : data.getPartyLister().getPartyListComponents(data, locale)) {
-            context.getSender().sendMessage(component);
-        }
+        Player sender = (Player) context.getSender();
+        int page = Integer.parseInt((String) arguments[1]);
+        // the list is cached until the invitations change, which lazily expiring invitations only do once expired
+        data.getInvitationManager().expireDueInvitations();
+        data.getPartyLister().getPartyListComponentsAsync(data, sender.locale(), page)
+                .whenComplete((components, e) -> {
+            if (e != null) {
+                sender.sendMessage(Component.translatable("io.github.zap.party.command.lookupbusy",
+                        NamedTextColor.RED));
+                return;
+            }
+
+            for (Component component : components) {
+                sender.sendMessage(component);
+            }
+        });
         return Component.empty();
     }
 
@@ -4,7 +4,11 @@ import io.github.zap.regularcommands.commands.CommandManager;
 import io.github.zap.regularcommands.commands.PageBuilder;
 import io.github.zap.regularcommands.commands.RegularCommand;
 import io.github.zap.party.creator.PartyCreator;
+import io.github.zap.party.executor.PartyExecutor;
+import io.github.zap.party.invitation.InvitationIndex;
 import io.github.zap.party.namer.OfflinePlayerNamer;
+import io.github.zap.party.resolver.OfflinePlayerResolver;
+import io.github.zap.party.spy.SpySessionTracker;
 import io.github.zap.party.tracker.PartyTracker;
 import net.kyori.adventure.text.renderer.TranslatableComponentRenderer;
 import org.jetbrains.annotations.NotNull;
@@ -18,22 +22,29 @@ public class PartyCommand extends RegularCommand {
 
     public PartyCommand(@NotNull CommandManager commandManager, @NotNull PageBuilder pageBuilder,
                         @NotNull PartyTracker partyTracker, @NotNull PartyCreator partyCreator,
-                        @NotNull OfflinePlayerNamer commandPlayerNamer,
+                        @NotNull PartyExecutor partyExecutor, @NotNull InvitationIndex invitationIndex,
+                        @NotNull SpySessionTracker spySessionTracker, @NotNull OfflinePlayerNamer commandPlayerNamer,
+                        @NotNull OfflinePlayerResolver offlinePlayerResolver,
                         @NotNull TranslatableComponentRenderer<Locale> renderer, @NotNull Locale consoleLocale) {
         super(commandManager, "party", pageBuilder);
         addForm(new PartySettingsForm(this, partyTracker));
         addForm(new PartyChatForm(this, partyTracker));
         addForm(new CreatePartyForm(this, partyTracker, partyCreator));
-        addForm(new InvitePlayerForm(this, partyTracker, partyCreator));
-        addForm(new JoinPartyForm(this, partyTracker, commandPlayerNamer));
-        addForm(new LeavePartyForm(this, partyTracker));
+        addForm(new InvitePlayerForm(this, partyTracker, partyCreator, partyExecutor));
+        addForm(new JoinPartyForm(this, partyTracker, partyExecutor, commandPlayerNamer,
+                offlinePlayerResolver));
+        addForm(new AcceptInviteForm(this, partyTracker, partyExecutor, invitationIndex));
+        addForm(new ListInvitesForm(this, invitationIndex, commandPlayerNamer));
+        addForm(new LeavePartyForm(this, partyTracker, partyExecutor));
         addForm(new ListMembersForm(this, partyTracker));
-        addForm(new PartyMuteForm(this, partyTracker, commandPlayerNamer));
-        addForm(new KickMemberForm(this, partyTracker, commandPlayerNamer));
-        addForm(new KickOfflineMembersForm(this, partyTracker));
-        addForm(new SpyPartyForm(this, partyTracker, commandPlayerNamer, renderer, consoleLocale));
-        addForm(new TransferPartyForm(this, partyTracker, commandPlayerNamer));
-        addForm(new DisbandPartyForm(this, partyTracker));
+        addForm(new PartyMuteForm(this, partyTracker, partyExecutor, commandPlayerNamer));
+        addForm(new KickMemberForm(this, partyTracker, partyExecutor, commandPlayerNamer,
+                offlinePlayerResolver));
+        addForm(new KickOfflineMembersForm(this, partyTracker, partyExecutor));
+        addForm(new SpyPartyForm(this, partyTracker, commandPlayerNamer, offlinePlayerResolver,
+                spySessionTracker, renderer, consoleLocale));
+        addForm(new TransferPartyForm(this, partyTracker, partyExecutor, commandPlayerNamer));
+        addForm(new DisbandPartyForm(this, partyTracker, partyExecutor));
     }
 
 }
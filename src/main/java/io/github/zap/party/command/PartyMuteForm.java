@@ -9,6 +9,7 @@ import io.github.zap.regularcommands.util.Validators;
 import io.github.zap.regularcommands.validator.CommandValidator;
 import io.github.zap.regularcommands.validator.ValidationResult;
 import io.github.zap.party.Party;
+import io.github.zap.party.executor.PartyExecutor;
 import io.github.zap.party.namer.OfflinePlayerNamer;
 import io.github.zap.party.tracker.PartyTracker;
 import net.kyori.adventure.text.Component;
@@ -32,14 +33,17 @@ public class PartyMuteForm extends CommandForm<OfflinePlayer> {
 
     private final PartyTracker partyTracker;
 
+    private final PartyExecutor partyExecutor;
+
     private final CommandValidator<OfflinePlayer, ?> validator;
 
     public PartyMuteForm(@NotNull RegularCommand regularCommand, @NotNull PartyTracker partyTracker,
-                         @NotNull OfflinePlayerNamer playerNamer) {
+                         @NotNull PartyExecutor partyExecutor, @NotNull OfflinePlayerNamer playerNamer) {
         super(regularCommand, Component.translatable("io.github.zap.party.command.mute.usage"), Permissions.NONE,
                 PARAMETERS);
 
         this.partyTracker = partyTracker;
+        this.partyExecutor = partyExecutor;
         this.validator = new CommandValidator<>((context, arguments, previousData) -> {
             Optional<Party> partyOptional = partyTracker.getPartyForPlayer(previousData);
             if (partyOptional.isEmpty()) {
@@ -100,9 +104,9 @@ public class PartyMuteForm extends CommandForm<OfflinePlayer> {
         if (partyOptional.isPresent()) {
             Party party = partyOptional.get();
             if (data == null) {
-                party.mute();
+                this.partyExecutor.execute(party, party::mute);
             } else {
-                party.mutePlayer(data);
+                this.partyExecutor.execute(party, () -> party.mutePlayer(data));
             }
         }
 
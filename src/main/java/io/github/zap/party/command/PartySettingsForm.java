@@ -67,14 +67,16 @@ public class PartySettingsForm extends CommandForm<Pair<Party, Object[]>> {
 
         switch (settingName) {
             case "allinvite":
-                party.getPartySettings().setAnyoneCanJoin(Boolean.parseBoolean((String)parameters[1]));
+                party.updateSettings(settings ->
+                        settings.setAllInvite(Boolean.parseBoolean((String) parameters[1])));
                 Component isAllInvite = (party.getPartySettings().isAllInvite())
                         ? Component.translatable("io.github.zap.party.command.settings.on")
                         : Component.translatable("io.github.zap.party.command.settings.off");
                 return Component.translatable("io.github.zap.party.command.settings.set", NamedTextColor.GOLD,
                         Component.text("allinvite"), isAllInvite);
             case "anyonecanjoin":
-                party.getPartySettings().setAnyoneCanJoin(Boolean.parseBoolean((String)parameters[1]));
+                party.updateSettings(settings ->
+                        settings.setAnyoneCanJoin(Boolean.parseBoolean((String) parameters[1])));
                 Component isAnyoneCanJoin = (party.getPartySettings().isAnyoneCanJoin())
                         ? Component.translatable("io.github.zap.party.command.settings.on")
                         : Component.translatable("io.github.zap.party.command.settings.off");
@@ -82,7 +84,8 @@ public class PartySettingsForm extends CommandForm<Pair<Party, Object[]>> {
                         Component.text("anyonecanjoin"), isAnyoneCanJoin);
             case "inviteexpirationtime":
                 try {
-                    party.getPartySettings().setInviteExpirationTime(Long.parseLong((String) parameters[1]));
+                    long inviteExpirationTime = Long.parseLong((String) parameters[1]);
+                    party.updateSettings(settings -> settings.setInviteExpirationTime(inviteExpirationTime));
                     return Component.translatable("io.github.zap.party.command.settings.set", NamedTextColor.GOLD,
                             Component.text("inviteexpirationtime"),
                             Component.text(party.getPartySettings().getInviteExpirationTime()));
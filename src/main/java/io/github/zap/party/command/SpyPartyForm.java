@@ -4,6 +4,8 @@ import io.github.zap.party.Party;
 import io.github.zap.party.audience.PlayerAudience;
 import io.github.zap.party.audience.PreRenderedAudience;
 import io.github.zap.party.namer.OfflinePlayerNamer;
+import io.github.zap.party.resolver.OfflinePlayerResolver;
+import io.github.zap.party.spy.SpySessionTracker;
 import io.github.zap.party.tracker.PartyTracker;
 import io.github.zap.regularcommands.commands.CommandForm;
 import io.github.zap.regularcommands.commands.Context;
@@ -18,7 +20,7 @@ import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.renderer.TranslatableComponentRenderer;
 import org.bukkit.Bukkit;
-import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -26,23 +28,30 @@ import org.jetbrains.annotations.Nullable;
 import java.util.Locale;
 import java.util.Optional;
 
-public class SpyPartyForm extends CommandForm<Party> {
+public class SpyPartyForm extends CommandForm<Void> {
 
     private final static Parameter[] PARAMETERS = new Parameter[] {
             new Parameter("spy", Component.text("spy")),
             new Parameter("\\w+", Component.text("player-name"), false)
     };
 
-    private final CommandValidator<Party, ?> validator;
+    private final CommandValidator<Void, ?> validator;
+
+    private final PartyTracker partyTracker;
 
     private final OfflinePlayerNamer playerNamer;
 
+    private final OfflinePlayerResolver offlinePlayerResolver;
+
+    private final SpySessionTracker spySessionTracker;
+
     private final TranslatableComponentRenderer<Locale> renderer;
 
     private final Locale consoleLocale;
 
     public SpyPartyForm(@NotNull RegularCommand regularCommand, @NotNull PartyTracker partyTracker,
-                        @NotNull OfflinePlayerNamer playerNamer,
+                        @NotNull OfflinePlayerNamer playerNamer, @NotNull OfflinePlayerResolver offlinePlayerResolver,
+                        @NotNull SpySessionTracker spySessionTracker,
                         @NotNull TranslatableComponentRenderer<Locale> renderer, @NotNull Locale consoleLocale) {
         super(regularCommand, Component.translatable("io.github.zap.party.command.spy.usage"),
                 Permissions.OPERATOR, PARAMETERS);
@@ -55,67 +64,98 @@ public class SpyPartyForm extends CommandForm<Party> {
                                 NamedTextColor.RED), null);
             }
 
-            OfflinePlayer toSpy = Bukkit.getOfflinePlayerIfCached(playerName);
-            if (toSpy == null) {
-                return ValidationResult.of(false,
-                        Component.translatable("io.github.zap.party.command.notregistered",
-                                NamedTextColor.RED, Component.text(playerName)), null);
-            }
-
-            Optional<Party> toSpyPartyOptional = partyTracker.getPartyForPlayer(toSpy);
-            if (toSpyPartyOptional.isPresent()) {
-                if (previousData instanceof Player player) {
-                    Optional<Party> partyOptional = partyTracker.getPartyForPlayer(player);
-                    if (partyOptional.isPresent() && partyOptional.get().equals(toSpyPartyOptional.get())) {
-                        return ValidationResult.of(false,
-                                Component.translatable("io.github.zap.party.command.spy.cannotspyself",
-                                        NamedTextColor.RED), null);
-                    }
-                }
-
-                return ValidationResult.of(true, null, toSpyPartyOptional.get());
-            }
-
-            Component toSpyComponent = playerNamer.name(toSpy);
-            return ValidationResult.of(false,
-                    Component.translatable("io.github.zap.party.command.notinparty",
-                            NamedTextColor.RED, toSpyComponent), null);
+            return ValidationResult.of(true, null, null);
         }, Validators.ANY);
+        this.partyTracker = partyTracker;
         this.playerNamer = playerNamer;
+        this.offlinePlayerResolver = offlinePlayerResolver;
+        this.spySessionTracker = spySessionTracker;
         this.renderer = renderer;
         this.consoleLocale = consoleLocale;
     }
 
     @Override
-    public @Nullable CommandValidator<Party, ?> getValidator(Context context, Object[] arguments) {
+    public @Nullable CommandValidator<Void, ?> getValidator(Context context, Object[] arguments) {
         return validator;
     }
 
     @Override
-    public @Nullable Component execute(Context context, Object[] arguments, Party data) {
-        Component spyComponent = data
+    public @Nullable Component execute(Context context, Object[] arguments, Void data) {
+        CommandSender sender = context.getSender();
+        String playerName = (String) arguments[1];
+
+        this.offlinePlayerResolver.resolve(playerName, this.playerNamer).whenComplete((resolved, e) -> {
+            // spying after quitting would leak the spy audience since its session already ended
+            if (sender instanceof Player player && !player.isOnline()) {
+                return;
+            }
+
+            if (e != null) {
+                sender.sendMessage(Component.translatable("io.github.zap.party.command.lookupbusy",
+                        NamedTextColor.RED));
+                return;
+            }
+
+            if (resolved.isEmpty()) {
+                sender.sendMessage(Component.translatable("io.github.zap.party.command.notregistered",
+                        NamedTextColor.RED, Component.text(playerName)));
+                return;
+            }
+
+            Optional<Party> toSpyPartyOptional = this.partyTracker.getPartyForPlayer(resolved.get().player());
+            if (toSpyPartyOptional.isEmpty()) {
+                sender.sendMessage(Component.translatable("io.github.zap.party.command.notinparty",
+                        NamedTextColor.RED, resolved.get().name()));
+                return;
+            }
+
+            Party party = toSpyPartyOptional.get();
+            if (sender instanceof Player player) {
+                Optional<Party> partyOptional = this.partyTracker.getPartyForPlayer(player);
+                if (partyOptional.isPresent() && partyOptional.get().equals(party)) {
+                    sender.sendMessage(Component.translatable("io.github.zap.party.command.spy.cannotspyself",
+                            NamedTextColor.RED));
+                    return;
+                }
+            }
+
+            sender.sendMessage(this.toggleSpying(sender, party));
+        });
+
+        return Component.empty();
+    }
+
+    private @NotNull Component toggleSpying(@NotNull CommandSender sender, @NotNull Party party) {
+        Component spyComponent = party
                 .getOwner()
                 .map(partyMember -> this.playerNamer.name(partyMember.getOfflinePlayer()))
                 .orElseGet(() -> Component.translatable("io.github.zap.party.command.spy.someone"));
 
         Audience spy;
-        if (context.getSender() instanceof Player player) {
+        if (sender instanceof Player player) {
             spy = new PlayerAudience(player);
         }
-        else if (Bukkit.getConsoleSender() == context.getSender()) {
-            spy = new PreRenderedAudience(context.getSender(), this.renderer, this.consoleLocale);
+        else if (Bukkit.getConsoleSender() == sender) {
+            spy = new PreRenderedAudience(sender, this.renderer, this.consoleLocale);
         }
         else {
-            spy = context.getSender();
+            spy = sender;
         }
 
-        if (data.getSpyAudiences().contains(spy)) {
-            data.getSpyAudiences().remove(spy);
+        if (party.removeSpyAudience(spy)) {
+            if (sender instanceof Player player) {
+                this.spySessionTracker.untrack(player, party);
+            }
+
             return Component.translatable("io.github.zap.party.command.spy.notspying", NamedTextColor.RED,
                     spyComponent);
         }
         else {
-            data.getSpyAudiences().add(spy);
+            party.addSpyAudience(spy);
+            if (sender instanceof Player player) {
+                this.spySessionTracker.track(player, party);
+            }
+
             return Component.translatable("io.github.zap.party.command.spy.spying", NamedTextColor.GREEN,
                     spyComponent);
         }
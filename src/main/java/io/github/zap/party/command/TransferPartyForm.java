@@ -9,6 +9,7 @@ import io.github.zap.regularcommands.util.Validators;
 import io.github.zap.regularcommands.validator.CommandValidator;
 import io.github.zap.regularcommands.validator.ValidationResult;
 import io.github.zap.party.Party;
+import io.github.zap.party.executor.PartyExecutor;
 import io.github.zap.party.namer.OfflinePlayerNamer;
 import io.github.zap.party.tracker.PartyTracker;
 import net.kyori.adventure.text.Component;
@@ -30,13 +31,17 @@ public class TransferPartyForm extends CommandForm<Pair<Party, Player>> {
             new Parameter("\\w+", Component.text("[player-name]"), false)
     };
 
+    private final PartyExecutor partyExecutor;
+
     private final CommandValidator<Pair<Party, Player>, ?> validator;
 
     public TransferPartyForm(@NotNull RegularCommand regularCommand, @NotNull PartyTracker partyTracker,
-                             @NotNull OfflinePlayerNamer playerNamer) {
+                             @NotNull PartyExecutor partyExecutor, @NotNull OfflinePlayerNamer playerNamer) {
         super(regularCommand, Component.translatable("io.github.zap.party.command.transfer.usage"),
                 Permissions.NONE, PARAMETERS);
 
+        this.partyExecutor = partyExecutor;
+
         this.validator = new CommandValidator<>((context, arguments, previousData) -> {
             Optional<Party> partyOptional = partyTracker.getPartyForPlayer(previousData);
             if (partyOptional.isEmpty()) {
@@ -88,7 +93,13 @@ public class TransferPartyForm extends CommandForm<Pair<Party, Player>> {
 
     @Override
     public Component execute(Context context, Object[] arguments, Pair<Party, Player> data) {
-        data.getLeft().transferPartyToPlayer(data.getRight());
+        Party party = data.getLeft();
+        this.partyExecutor.execute(party, () -> {
+            // membership may have changed while the transfer was queued
+            if (party.hasMember(data.getRight())) {
+                party.transferPartyToPlayer(data.getRight());
+            }
+        });
         return Component.empty();
     }
 
@@ -0,0 +1,16 @@
+package io.github.zap.party.executor;
+
+import io.github.zap.party.Party;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * {@link PartyExecutor} that runs mutations immediately on the calling thread.
+ */
+public class DirectPartyExecutor implements PartyExecutor {
+
+    @Override
+    public void execute(@NotNull Party party, @NotNull Runnable mutation) {
+        mutation.run();
+    }
+
+}
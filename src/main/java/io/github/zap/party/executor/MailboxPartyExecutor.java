@@ -0,0 +1,125 @@
+package io.github.zap.party.executor;
+
+import io.github.zap.party.Party;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link PartyExecutor} that queues mutations in a mailbox per party.
+ * Mailboxes are drained in batches on the main thread, so commands from many players targeting the same party are
+ * serialized with every other change made to parties on the main thread, and mutations may freely use Bukkit.
+ */
+public class MailboxPartyExecutor implements PartyExecutor {
+
+    private final Map<UUID, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    private final Queue<Mailbox> readyMailboxes = new ConcurrentLinkedQueue<>();
+
+    private final Logger logger;
+
+    private final int batchSize;
+
+    /**
+     * Creates a mailbox party executor.
+     * @param logger A logger for mutations that failed
+     * @param batchSize The maximum number of mutations to run for a single party per drain
+     */
+    public MailboxPartyExecutor(@NotNull Logger logger, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size of a mailbox must be positive!");
+        }
+
+        this.logger = logger;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void execute(@NotNull Party party, @NotNull Runnable mutation) {
+        Mailbox mailbox = this.mailboxes.computeIfAbsent(party.getId(), unused -> new Mailbox(party));
+        mailbox.mutations.offer(mutation);
+
+        if (mailbox.scheduled.compareAndSet(false, true)) {
+            this.readyMailboxes.offer(mailbox);
+        }
+    }
+
+    /**
+     * Runs a batch of mutations from every mailbox that has pending mutations.
+     * Mailboxes with more pending mutations than the batch size are continued in the next drain.
+     * This must only be called from one thread at a time.
+     */
+    public void drain() {
+        List<Mailbox> toDrain = new ArrayList<>();
+        Mailbox next;
+        while ((next = this.readyMailboxes.poll()) != null) {
+            toDrain.add(next);
+        }
+
+        for (Mailbox mailbox : toDrain) {
+            for (int i = 0; i < this.batchSize; i++) {
+                Runnable mutation = mailbox.mutations.poll();
+                if (mutation == null) {
+                    break;
+                }
+
+                this.run(mailbox.party, mutation);
+            }
+
+            mailbox.scheduled.set(false);
+            if (!mailbox.mutations.isEmpty()) {
+                if (mailbox.scheduled.compareAndSet(false, true)) {
+                    this.readyMailboxes.offer(mailbox);
+                }
+            }
+            else if (mailbox.party.getOwner().isEmpty()) {
+                // the party is gone, anything submitted concurrently is still drained through the ready queue
+                this.mailboxes.remove(mailbox.party.getId(), mailbox);
+            }
+        }
+    }
+
+    /**
+     * Drains every mailbox until no mutations are pending, ignoring the batch size.
+     * This must only be called from one thread at a time.
+     */
+    public void drainAll() {
+        while (!this.readyMailboxes.isEmpty()) {
+            this.drain();
+        }
+    }
+
+    private void run(@NotNull Party party, @NotNull Runnable mutation) {
+        try {
+            mutation.run();
+        }
+        catch (RuntimeException e) {
+            this.logger.log(Level.WARNING, "A queued mutation for party " + party.getId() + " failed, " +
+                    "skipping...", e);
+        }
+    }
+
+    private static class Mailbox {
+
+        private final Party party;
+
+        private final Queue<Runnable> mutations = new ConcurrentLinkedQueue<>();
+
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        private Mailbox(@NotNull Party party) {
+            this.party = party;
+        }
+
+    }
+
+}
@@ -0,0 +1,18 @@
+package io.github.zap.party.executor;
+
+/**
+ * Modes in which {@link io.github.zap.party.Party} mutations can be executed.
+ */
+public enum PartyExecutionMode {
+
+    /**
+     * Mutations run immediately on the thread that requested them
+     */
+    DIRECT,
+
+    /**
+     * Mutations are queued in a per-party mailbox that is drained on the main thread every tick
+     */
+    MAIN_THREAD
+
+}
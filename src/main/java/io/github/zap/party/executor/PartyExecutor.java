@@ -0,0 +1,20 @@
+package io.github.zap.party.executor;
+
+import io.github.zap.party.Party;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Decides where and when mutations of a {@link Party} run.
+ */
+@FunctionalInterface
+public interface PartyExecutor {
+
+    /**
+     * Executes a mutation of a party.
+     * Mutations submitted for the same party are executed in submission order.
+     * @param party The party that will be mutated
+     * @param mutation The mutation to run
+     */
+    void execute(@NotNull Party party, @NotNull Runnable mutation);
+
+}
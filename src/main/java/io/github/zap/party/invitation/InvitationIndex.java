@@ -0,0 +1,96 @@
+package io.github.zap.party.invitation;
+
+import io.github.zap.party.Party;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Plugin-wide index from invitees to all of their pending invitations across every party.
+ * Lookups are a single map read and never scan parties or resolve player names. Each invitee's invitations are an
+ * immutable array that is replaced on every change, since a player rarely has more than a few pending invitations.
+ * It is safe to use from any thread.
+ */
+public class InvitationIndex {
+
+    private final static Invitation[] NO_INVITATIONS = new Invitation[0];
+
+    private final Map<UUID, Invitation[]> invitations = new ConcurrentHashMap<>();
+
+    /**
+     * A pending invitation.
+     * @param party The party the invitee was invited to
+     * @param inviterUUID The {@link UUID} of the player who sent the invitation
+     */
+    public record Invitation(@NotNull Party party, @NotNull UUID inviterUUID) {
+
+    }
+
+    /**
+     * Adds an invitation, replacing a previous invitation of the invitee to the same party.
+     * @param inviteeUUID The {@link UUID} of the invitee
+     * @param invitation The invitation
+     */
+    public void add(@NotNull UUID inviteeUUID, @NotNull Invitation invitation) {
+        this.invitations.compute(inviteeUUID, (unused, previous) -> {
+            Invitation[] withoutParty = without(previous == null ? NO_INVITATIONS : previous, invitation.party());
+            Invitation[] updated = Arrays.copyOf(withoutParty, withoutParty.length + 1);
+            updated[withoutParty.length] = invitation;
+
+            return updated;
+        });
+    }
+
+    /**
+     * Removes the invitation of an invitee to a party
+     * @param inviteeUUID The {@link UUID} of the invitee
+     * @param party The party
+     */
+    public void remove(@NotNull UUID inviteeUUID, @NotNull Party party) {
+        this.invitations.computeIfPresent(inviteeUUID, (unused, previous) -> {
+            Invitation[] updated = without(previous, party);
+            return updated.length == 0 ? null : updated;
+        });
+    }
+
+    /**
+     * Gets the most recent pending invitation of an invitee
+     * @param inviteeUUID The {@link UUID} of the invitee
+     * @return An optional of the invitation
+     */
+    public @NotNull Optional<Invitation> getLatest(@NotNull UUID inviteeUUID) {
+        Invitation[] pending = this.invitations.get(inviteeUUID);
+        return pending == null ? Optional.empty() : Optional.of(pending[pending.length - 1]);
+    }
+
+    /**
+     * Gets all pending invitations of an invitee
+     * @param inviteeUUID The {@link UUID} of the invitee
+     * @return An immutable list of the invitations, from oldest to newest
+     */
+    public @NotNull List<Invitation> getInvitations(@NotNull UUID inviteeUUID) {
+        Invitation[] pending = this.invitations.get(inviteeUUID);
+        return pending == null ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(pending));
+    }
+
+    private static @NotNull Invitation[] without(@NotNull Invitation[] invitations, @NotNull Party party) {
+        for (int i = 0; i < invitations.length; i++) {
+            if (invitations[i].party().equals(party)) {
+                Invitation[] updated = new Invitation[invitations.length - 1];
+                System.arraycopy(invitations, 0, updated, 0, i);
+                System.arraycopy(invitations, i + 1, updated, i, invitations.length - i - 1);
+
+                return updated;
+            }
+        }
+
+        return invitations;
+    }
+
+}
@@ -4,6 +4,8 @@ import io.github.zap.party.Party;
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -25,6 +27,28 @@ public interface InvitationManager {
      */
     @NotNull Set<UUID> getInvitations();
 
+    /**
+     * Gets the inviter of every pending invitation without expiring any invitations, so it is safe to call from any
+     * thread.
+     * @return A copy of the {@link UUID}s of the inviters, keyed by the {@link UUID}s of the invitees
+     */
+    @NotNull Map<UUID, UUID> getInviters();
+
+    /**
+     * Gets a number that changes whenever an invitation is added, removed or expires, so that views of the
+     * invitations can be cached until it changes. This only reads the count and never expires invitations itself.
+     * @return The modification count
+     */
+    long getModificationCount();
+
+    /**
+     * Expires every invitation whose time is up but that has not been expired yet, for callers that need to see
+     * fresh invitations. Managers that expire invitations as soon as they are due do nothing.
+     */
+    default void expireDueInvitations() {
+
+    }
+
     /**
      * Adds an invitation.
      * @param party The party to add the invitation for
@@ -33,6 +57,28 @@ public interface InvitationManager {
      */
     void addInvitation(@NotNull Party party, @NotNull OfflinePlayer invitee, @NotNull OfflinePlayer inviter);
 
+    /**
+     * Adds invitations for several invitees at once.
+     * @param party The party to add the invitations for
+     * @param invitees The invitation invitees
+     * @param inviter The invitation inviter
+     */
+    default void addInvitations(@NotNull Party party, @NotNull Collection<? extends OfflinePlayer> invitees,
+                                @NotNull OfflinePlayer inviter) {
+        for (OfflinePlayer invitee : invitees) {
+            this.addInvitation(party, invitee, inviter);
+        }
+    }
+
+    /**
+     * Adds an invitation that was restored from storage without announcing it. It expires after the party's full
+     * invitation expiration time.
+     * @param party The party to add the invitation for
+     * @param inviteeUUID The {@link UUID} of the invitation invitee
+     * @param inviterUUID The {@link UUID} of the invitation inviter
+     */
+    void restoreInvitation(@NotNull Party party, @NotNull UUID inviteeUUID, @NotNull UUID inviterUUID);
+
     /**
      * Removes an invitation.
      * @param player The player whose invite should be removed
@@ -0,0 +1,215 @@
+package io.github.zap.party.invitation;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+
+/**
+ * Expires lazily checked invitations of {@link TimedInvitationManager}s in the background so that expiry messages
+ * still go out for invitations nobody looks at.
+ * Every few ticks a sweep examines a bounded number of tracked invitations in round-robin order, expiring those past
+ * their deadline and requeueing the rest, so the cost of a sweep never depends on the total number of invitations.
+ */
+public class InvitationSweeper {
+
+    /**
+     * The outcome of examining a tracked invitation.
+     */
+    enum SweepResult {
+        /**
+         * The invitation has not expired yet
+         */
+        PENDING,
+        /**
+         * The invitation expired during the sweep
+         */
+        EXPIRED,
+        /**
+         * The invitation was accepted, removed or already expired
+         */
+        GONE
+    }
+
+    /**
+     * An invitation tracked by a sweeper.
+     */
+    @FunctionalInterface
+    interface SweepTarget {
+
+        /**
+         * Examines the invitation, expiring it if its deadline has passed.
+         * @param now The current time in milliseconds
+         * @return The outcome
+         */
+        @NotNull SweepResult sweep(long now);
+
+    }
+
+    private final Queue<Tracked> tracked = new ConcurrentLinkedQueue<>();
+
+    private final LongSupplier clock;
+
+    private final int sweepInterval;
+
+    private final int sweepBudget;
+
+    private int ticksUntilSweep;
+
+    private int sweepId = 0;
+
+    private volatile long lastSweepExamined = 0L;
+
+    private volatile long lastSweepExpired = 0L;
+
+    private volatile long lastSweepNanos = 0L;
+
+    private volatile long maxSweepNanos = 0L;
+
+    private volatile long totalExpired = 0L;
+
+    /**
+     * Creates an invitation sweeper.
+     * @param clock A clock in milliseconds used for invitation deadlines
+     * @param sweepInterval The number of ticks between sweeps
+     * @param sweepBudget The maximum number of invitations examined by a single sweep
+     */
+    public InvitationSweeper(@NotNull LongSupplier clock, int sweepInterval, int sweepBudget) {
+        if (sweepInterval <= 0 || sweepBudget <= 0) {
+            throw new IllegalArgumentException("The sweep interval and budget must be positive!");
+        }
+
+        this.clock = clock;
+        this.sweepInterval = sweepInterval;
+        this.sweepBudget = sweepBudget;
+        this.ticksUntilSweep = sweepInterval;
+    }
+
+    /**
+     * Creates an invitation sweeper using the system clock.
+     * @param sweepInterval The number of ticks between sweeps
+     * @param sweepBudget The maximum number of invitations examined by a single sweep
+     */
+    public InvitationSweeper(int sweepInterval, int sweepBudget) {
+        this(System::currentTimeMillis, sweepInterval, sweepBudget);
+    }
+
+    /**
+     * Gets the current time used for invitation deadlines
+     * @return The current time in milliseconds
+     */
+    long currentTimeMillis() {
+        return this.clock.getAsLong();
+    }
+
+    /**
+     * Starts tracking an invitation.
+     * @param target The invitation to track
+     */
+    void track(@NotNull SweepTarget target) {
+        this.tracked.offer(new Tracked(target));
+    }
+
+    /**
+     * Advances the sweeper by one tick, sweeping if the sweep interval has passed.
+     * This must only be called from one thread at a time.
+     */
+    public void tick() {
+        if (--this.ticksUntilSweep <= 0) {
+            this.ticksUntilSweep = this.sweepInterval;
+            this.sweep();
+        }
+    }
+
+    /**
+     * Examines up to the sweep budget of tracked invitations.
+     * This must only be called from one thread at a time.
+     */
+    public void sweep() {
+        long start = System.nanoTime();
+        long now = this.clock.getAsLong();
+        int sweepId = ++this.sweepId;
+        int examined = 0;
+        int expired = 0;
+
+        while (examined < this.sweepBudget) {
+            Tracked next = this.tracked.peek();
+            if (next == null || next.lastSweepId == sweepId) {
+                // everything left was already examined by this sweep
+                break;
+            }
+            this.tracked.poll();
+            examined++;
+
+            switch (next.target.sweep(now)) {
+                case PENDING -> {
+                    next.lastSweepId = sweepId;
+                    this.tracked.offer(next);
+                }
+                case EXPIRED -> expired++;
+                case GONE -> {}
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        this.lastSweepExamined = examined;
+        this.lastSweepExpired = expired;
+        this.lastSweepNanos = elapsed;
+        this.maxSweepNanos = Math.max(this.maxSweepNanos, elapsed);
+        this.totalExpired += expired;
+    }
+
+    /**
+     * Gets the number of invitations examined by the last sweep, which is at most the sweep budget
+     * @return The number of examined invitations
+     */
+    public long getLastSweepExamined() {
+        return this.lastSweepExamined;
+    }
+
+    /**
+     * Gets the number of invitations expired by the last sweep
+     * @return The number of expired invitations
+     */
+    public long getLastSweepExpired() {
+        return this.lastSweepExpired;
+    }
+
+    /**
+     * Gets how long the last sweep took
+     * @return The duration of the last sweep in nanoseconds
+     */
+    public long getLastSweepNanos() {
+        return this.lastSweepNanos;
+    }
+
+    /**
+     * Gets how long the slowest sweep took
+     * @return The duration of the slowest sweep in nanoseconds
+     */
+    public long getMaxSweepNanos() {
+        return this.maxSweepNanos;
+    }
+
+    /**
+     * Gets the number of invitations expired by all sweeps, not counting invitations expired lazily on access
+     * @return The total number of expired invitations
+     */
+    public long getTotalExpired() {
+        return this.totalExpired;
+    }
+
+    private static class Tracked {
+
+        private final SweepTarget target;
+
+        private int lastSweepId = 0;
+
+        private Tracked(@NotNull SweepTarget target) {
+            this.target = target;
+        }
+
+    }
+
+}
@@ -1,8 +1,13 @@
 package io.github.zap.party.invitation;
 
 import io.github.zap.party.Party;
+import io.github.zap.party.list.ListFormatUtil;
 import io.github.zap.party.member.PartyMember;
 import io.github.zap.party.namer.OfflinePlayerNamer;
+import io.github.zap.party.scheduler.BukkitTickScheduler;
+import io.github.zap.party.scheduler.TickScheduler;
+import io.github.zap.party.scheduler.TickTimeout;
+import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.event.ClickEvent;
@@ -12,50 +17,140 @@ import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Basic {@link InvitationManager} with timeouts.
+ * Invitations either expire through a task in a {@link TickScheduler}, or store a wall-clock deadline and expire
+ * lazily whenever they are looked at, with an {@link InvitationSweeper} catching the ones that never are.
  */
 public class TimedInvitationManager implements InvitationManager {
 
-    private final Map<UUID, Integer> invitationMap = new HashMap<>();
+    private final Map<UUID, PendingInvitation> invitationMap = new ConcurrentHashMap<>();
+
+    // bumped after every change to the map, so a reader that saw the old count always looks again
+    private final AtomicLong modificationCount = new AtomicLong();
 
     private final Plugin plugin;
 
     private final OfflinePlayerNamer playerNamer;
 
+    private final TickScheduler tickScheduler;
+
+    private final InvitationSweeper invitationSweeper;
+
+    private final InvitationIndex invitationIndex;
+
     /**
      * Creates a basic invitation manager
      * @param plugin The plugin that owns this {@link InvitationManager}
      * @param playerNamer A namer for invitation messages
+     * @param tickScheduler The scheduler that expires invitations
+     * @param invitationIndex The plugin-wide index that pending invitations are published to
      */
-    public TimedInvitationManager(@NotNull Plugin plugin, @NotNull OfflinePlayerNamer playerNamer) {
+    public TimedInvitationManager(@NotNull Plugin plugin, @NotNull OfflinePlayerNamer playerNamer,
+                                  @NotNull TickScheduler tickScheduler, @NotNull InvitationIndex invitationIndex) {
         this.plugin = plugin;
         this.playerNamer = playerNamer;
+        this.tickScheduler = tickScheduler;
+        this.invitationSweeper = null;
+        this.invitationIndex = invitationIndex;
+    }
+
+    /**
+     * Creates a basic invitation manager that expires invitations lazily without scheduling any tasks
+     * @param plugin The plugin that owns this {@link InvitationManager}
+     * @param playerNamer A namer for invitation messages
+     * @param invitationSweeper The sweeper that expires invitations nobody looks at
+     * @param invitationIndex The plugin-wide index that pending invitations are published to
+     */
+    public TimedInvitationManager(@NotNull Plugin plugin, @NotNull OfflinePlayerNamer playerNamer,
+                                  @NotNull InvitationSweeper invitationSweeper,
+                                  @NotNull InvitationIndex invitationIndex) {
+        this.plugin = plugin;
+        this.playerNamer = playerNamer;
+        this.tickScheduler = null;
+        this.invitationSweeper = invitationSweeper;
+        this.invitationIndex = invitationIndex;
+    }
+
+    /**
+     * Creates a basic invitation manager with its own invitation index
+     * @param plugin The plugin that owns this {@link InvitationManager}
+     * @param playerNamer A namer for invitation messages
+     * @param tickScheduler The scheduler that expires invitations
+     */
+    public TimedInvitationManager(@NotNull Plugin plugin, @NotNull OfflinePlayerNamer playerNamer,
+                                  @NotNull TickScheduler tickScheduler) {
+        this(plugin, playerNamer, tickScheduler, new InvitationIndex());
+    }
+
+    /**
+     * Creates a basic invitation manager that schedules a Bukkit task for every invitation
+     * @param plugin The plugin that owns this {@link InvitationManager}
+     * @param playerNamer A namer for invitation messages
+     */
+    public TimedInvitationManager(@NotNull Plugin plugin, @NotNull OfflinePlayerNamer playerNamer) {
+        this(plugin, playerNamer, new BukkitTickScheduler(plugin));
     }
 
     @Override
     public boolean hasInvitation(@NotNull OfflinePlayer player) {
-        return this.invitationMap.containsKey(player.getUniqueId());
+        PendingInvitation invitation = this.invitationMap.get(player.getUniqueId());
+        return invitation != null && !this.expireIfDue(player.getUniqueId(), invitation, this.currentTimeMillis());
     }
 
     @Override
     public @NotNull Set<UUID> getInvitations() {
+        this.expireAllDue();
         return new HashSet<>(this.invitationMap.keySet());
     }
 
+    @Override
+    public @NotNull Map<UUID, UUID> getInviters() {
+        Map<UUID, UUID> inviters = new HashMap<>(this.invitationMap.size());
+        for (Map.Entry<UUID, PendingInvitation> entry : this.invitationMap.entrySet()) {
+            inviters.put(entry.getKey(), entry.getValue().inviterUUID());
+        }
+
+        return inviters;
+    }
+
+    @Override
+    public long getModificationCount() {
+        return this.modificationCount.get();
+    }
+
+    @Override
+    public void expireDueInvitations() {
+        this.expireAllDue();
+    }
+
     @Override
     public void addInvitation(@NotNull Party party, @NotNull OfflinePlayer invitee, @NotNull OfflinePlayer inviter) {
-        if (!party.hasMember(inviter)) {
+        this.addInvitations(party, List.of(invitee), inviter);
+    }
+
+    @Override
+    public void addInvitations(@NotNull Party party, @NotNull Collection<? extends OfflinePlayer> invitees,
+                               @NotNull OfflinePlayer inviter) {
+        if (invitees.isEmpty() || !party.hasMember(inviter)) {
             return;
         }
 
@@ -64,64 +159,127 @@ public class TimedInvitationManager implements InvitationManager {
             return;
         }
 
-        double expirationTime = party.getPartySettings().getInviteExpirationTime() / 20F;
+        this.expireAllDue();
+
+        long expirationTicks = party.getPartySettings().getInviteExpirationTime();
+        Component expirationTime = Component.text(String.format("%.1f", expirationTicks / 20F));
 
         OfflinePlayer partyOwner = ownerOptional.get().getOfflinePlayer();
-        Player onlineInvitee = invitee.getPlayer();
 
         Component inviterComponent = this.playerNamer.name(inviter).colorIfAbsent(NamedTextColor.WHITE);
-        Component inviteeComponent = this.playerNamer.name(invitee).colorIfAbsent(NamedTextColor.WHITE);
         Component ownerComponent = this.playerNamer.name(partyOwner).colorIfAbsent(NamedTextColor.WHITE);
 
-        String ownerName = Objects.toString(partyOwner.getName());
-
-        if (onlineInvitee != null) {
-            Component here = Component.translatable("io.github.zap.party.invite.here", NamedTextColor.RED)
-                    .hoverEvent(HoverEvent.showText(TextComponent.ofChildren(
-                            Component.text("/party join ", NamedTextColor.YELLOW),
-                            ownerComponent))
-                    )
-                    .clickEvent(ClickEvent.runCommand("/party join " + ownerName));
-            if (partyOwner.equals(inviter)) {
-                onlineInvitee.sendMessage(Component.translatable("io.github.zap.party.invite.received.personal",
-                        NamedTextColor.YELLOW, inviterComponent, here,
-                        Component.text(String.format("%.1f", expirationTime))));
-            }
-            else {
-                onlineInvitee.sendMessage(Component.translatable("io.github.zap.party.invite.received.other",
-                        NamedTextColor.YELLOW, inviterComponent, ownerComponent, here,
-                        Component.text(String.format("%.1f", expirationTime))));
+        String ownerName = Objects.toString(this.playerNamer.getName(partyOwner));
+        Component here = Component.translatable("io.github.zap.party.invite.here", NamedTextColor.RED)
+                .hoverEvent(HoverEvent.showText(TextComponent.ofChildren(
+                        Component.text("/party join ", NamedTextColor.YELLOW),
+                        ownerComponent))
+                )
+                .clickEvent(ClickEvent.runCommand("/party join " + ownerName));
+        Component received = partyOwner.equals(inviter)
+                ? Component.translatable("io.github.zap.party.invite.received.personal",
+                        NamedTextColor.YELLOW, inviterComponent, here, expirationTime)
+                : Component.translatable("io.github.zap.party.invite.received.other",
+                        NamedTextColor.YELLOW, inviterComponent, ownerComponent, here, expirationTime);
+
+        List<Component> inviteeComponents = new ArrayList<>(invitees.size());
+        for (OfflinePlayer invitee : invitees) {
+            Component inviteeComponent = this.playerNamer.name(invitee).colorIfAbsent(NamedTextColor.WHITE);
+            inviteeComponents.add(inviteeComponent);
+
+            Player onlineInvitee = invitee.getPlayer();
+            if (onlineInvitee != null) {
+                onlineInvitee.sendMessage(received);
             }
+
+            this.register(party, invitee.getUniqueId(), inviter.getUniqueId(), () -> inviteeComponent,
+                    () -> ownerComponent, expirationTicks);
         }
 
-        party.broadcastMessage(Component.translatable("io.github.zap.party.invite.created",
-                NamedTextColor.YELLOW, inviterComponent, inviteeComponent,
-                Component.text(String.format("%.1f", expirationTime))));
+        // one broadcast for the whole batch, recipients that share a locale share the same list
+        Map<Locale, Component> broadcasts = new HashMap<>();
+        for (Audience recipient : party.getRecipients()) {
+            Locale locale = (recipient instanceof Player player) ? player.locale() : Locale.US;
+            recipient.sendMessage(broadcasts.computeIfAbsent(locale, key ->
+                    Component.translatable("io.github.zap.party.invite.created", NamedTextColor.YELLOW,
+                            inviterComponent, ListFormatUtil.list(key, inviteeComponents), expirationTime)));
+        }
+    }
 
-        int taskId = this.plugin.getServer().getScheduler().runTaskLater(this.plugin, () -> {
-            this.invitationMap.remove(invitee.getUniqueId());
+    @Override
+    public void restoreInvitation(@NotNull Party party, @NotNull UUID inviteeUUID, @NotNull UUID inviterUUID) {
+        // restored invitations are only named if they expire, since nobody has seen them since the restart
+        this.register(party, inviteeUUID, inviterUUID,
+                () -> this.playerNamer.name(inviteeUUID, this.plugin.getServer())
+                        .colorIfAbsent(NamedTextColor.WHITE),
+                () -> party.getOwner()
+                        .map(owner -> this.playerNamer.name(owner.getOfflinePlayer()))
+                        .orElseGet(Component::empty)
+                        .colorIfAbsent(NamedTextColor.WHITE),
+                party.getPartySettings().getInviteExpirationTime());
+    }
+
+    private void register(@NotNull Party party, @NotNull UUID inviteeUUID, @NotNull UUID inviterUUID,
+                          @NotNull Supplier<Component> inviteeComponent, @NotNull Supplier<Component> ownerComponent,
+                          long expirationTicks) {
+        Runnable expiry = () -> {
+            this.invitationIndex.remove(inviteeUUID, party);
 
-            if (party.hasMember(invitee)) {
+            if (party.hasMember(inviteeUUID)) {
                 return;
             }
 
             party.broadcastMessage(Component.translatable("io.github.zap.party.invite.to.expired",
-                    NamedTextColor.YELLOW, inviteeComponent));
+                    NamedTextColor.YELLOW, inviteeComponent.get()));
 
-            Player newOnlineInvitee = this.plugin.getServer().getPlayer(invitee.getUniqueId());
+            Player newOnlineInvitee = this.plugin.getServer().getPlayer(inviteeUUID);
             if (newOnlineInvitee != null && newOnlineInvitee.isOnline()) {
                 newOnlineInvitee.sendMessage(Component.translatable("io.github.zap.party.invite.from.expired",
-                        NamedTextColor.YELLOW, ownerComponent));
+                        NamedTextColor.YELLOW, ownerComponent.get()));
             }
-        }, party.getPartySettings().getInviteExpirationTime()).getTaskId();
-        this.invitationMap.put(invitee.getUniqueId(), taskId);
+        };
+
+        PendingInvitation previous;
+        if (this.invitationSweeper == null) {
+            TickTimeout timeout = this.tickScheduler.schedule(() -> {
+                this.invitationMap.remove(inviteeUUID);
+                this.modificationCount.incrementAndGet();
+                expiry.run();
+            }, expirationTicks);
+            previous = this.invitationMap.put(inviteeUUID, new PendingInvitation(party, inviterUUID, timeout,
+                    Long.MAX_VALUE, expiry));
+        }
+        else {
+            // one tick is 50 milliseconds at full speed
+            long deadline = this.invitationSweeper.currentTimeMillis() + expirationTicks * 50L;
+            PendingInvitation invitation = new PendingInvitation(party, inviterUUID, null, deadline, expiry);
+            previous = this.invitationMap.put(inviteeUUID, invitation);
+            this.invitationSweeper.track(now -> {
+                if (this.invitationMap.get(inviteeUUID) != invitation) {
+                    return InvitationSweeper.SweepResult.GONE;
+                }
+
+                return this.expireIfDue(inviteeUUID, invitation, now)
+                        ? InvitationSweeper.SweepResult.EXPIRED
+                        : InvitationSweeper.SweepResult.PENDING;
+            });
+        }
+
+        this.modificationCount.incrementAndGet();
+        if (previous != null) {
+            // a repeated invitation replaces the old one instead of leaving its expiry behind
+            previous.cancel();
+        }
+        this.invitationIndex.add(inviteeUUID, new InvitationIndex.Invitation(party, inviterUUID));
     }
 
     @Override
     public boolean removeInvitation(@NotNull OfflinePlayer player) {
-        Integer taskId = this.invitationMap.remove(player.getUniqueId());
-        if (taskId != null) {
-            this.plugin.getServer().getScheduler().cancelTask(taskId);
+        PendingInvitation invitation = this.invitationMap.remove(player.getUniqueId());
+        if (invitation != null) {
+            invitation.cancel();
+            this.invitationIndex.remove(player.getUniqueId(), invitation.party());
+            this.modificationCount.incrementAndGet();
             return true;
         }
 
@@ -130,15 +288,69 @@ public class TimedInvitationManager implements InvitationManager {
 
     @Override
     public void cancelAllOutgoingInvitations() {
-        Iterator<Integer> iterator = this.invitationMap.values().iterator();
+        Iterator<Map.Entry<UUID, PendingInvitation>> iterator = this.invitationMap.entrySet().iterator();
         while (iterator.hasNext()) {
-            Integer taskId = iterator.next();
-            if (taskId != null) {
-                this.plugin.getServer().getScheduler().cancelTask(taskId);
-            }
-
+            Map.Entry<UUID, PendingInvitation> entry = iterator.next();
+            entry.getValue().cancel();
+            this.invitationIndex.remove(entry.getKey(), entry.getValue().party());
             iterator.remove();
+            this.modificationCount.incrementAndGet();
         }
     }
 
+    private long currentTimeMillis() {
+        return (this.invitationSweeper == null) ? 0L : this.invitationSweeper.currentTimeMillis();
+    }
+
+    /**
+     * Expires an invitation if its deadline has passed.
+     * @param inviteeUUID The {@link UUID} of the invitee
+     * @param invitation The invitation
+     * @param now The current time in milliseconds
+     * @return Whether the invitation is expired
+     */
+    private boolean expireIfDue(@NotNull UUID inviteeUUID, @NotNull PendingInvitation invitation, long now) {
+        if (now < invitation.deadline()) {
+            return false;
+        }
+
+        // only the caller that actually removes the invitation sends the expiry messages
+        if (this.invitationMap.remove(inviteeUUID, invitation)) {
+            this.modificationCount.incrementAndGet();
+            invitation.expiry().run();
+        }
+
+        return true;
+    }
+
+    private void expireAllDue() {
+        if (this.invitationSweeper == null || this.invitationMap.isEmpty()) {
+            return;
+        }
+
+        long now = this.invitationSweeper.currentTimeMillis();
+        for (Map.Entry<UUID, PendingInvitation> entry : this.invitationMap.entrySet()) {
+            this.expireIfDue(entry.getKey(), entry.getValue(), now);
+        }
+    }
+
+    /**
+     * An invitation that has not expired yet.
+     * @param party The party the invitation is for
+     * @param inviterUUID The {@link UUID} of the player that sent the invitation
+     * @param timeout The scheduled expiry, or null if the invitation expires lazily
+     * @param deadline The wall-clock deadline in milliseconds for lazily expiring invitations
+     * @param expiry The action that cleans up after and announces the expiry
+     */
+    private record PendingInvitation(@NotNull Party party, @NotNull UUID inviterUUID, @Nullable TickTimeout timeout,
+                                     long deadline, @NotNull Runnable expiry) {
+
+        private void cancel() {
+            if (this.timeout != null) {
+                this.timeout.cancel();
+            }
+        }
+
+    }
+
 }
@@ -3,25 +3,55 @@ package io.github.zap.party.list;
 import io.github.zap.party.Party;
 import io.github.zap.party.member.PartyMember;
 import io.github.zap.party.namer.OfflinePlayerNamer;
+import io.github.zap.party.resolver.OfflinePlayerResolver;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Basic implementation of a {@link PartyLister}.
+ * The names in a party's list are cached until its members or invitations change, and the formatted list is cached
+ * per locale and page on top of them. Parties with more names than fit on a page are split into pages. When an
+ * {@link OfflinePlayerResolver} is given, asynchronous listings name players on its lookup executor.
  */
-@SuppressWarnings("ClassCanBeRecord")
 public class BasicPartyLister implements PartyLister {
 
+    /**
+     * The default maximum number of names in each section of a page
+     */
+    public final static int DEFAULT_PAGE_SIZE = 64;
+
+    private final static Component COLON = Component.translatable("io.github.zap.party.list.colon",
+            NamedTextColor.WHITE);
+
+    private final static Component ONLINE_PREFIX = Component.translatable("io.github.zap.party.list.prefix.format",
+            Component.translatable("io.github.zap.party.list.online", NamedTextColor.GREEN), COLON);
+
+    private final static Component OFFLINE_PREFIX = Component.translatable("io.github.zap.party.list.prefix.format",
+            Component.translatable("io.github.zap.party.list.offline", NamedTextColor.RED), COLON);
+
+    private final static Component INVITES_PREFIX = Component.translatable("io.github.zap.party.list.prefix.format",
+            Component.translatable("io.github.zap.party.list.invites", NamedTextColor.BLUE), COLON);
+
+    // weakly keyed so that disbanded parties do not need to be removed
+    private final Map<Party, PartyList> partyLists = Collections.synchronizedMap(new WeakHashMap<>());
+
     private final Plugin plugin;
 
     private final OfflinePlayerNamer onlineMemberNamer;
@@ -30,62 +60,217 @@ public class BasicPartyLister implements PartyLister {
 
     private final OfflinePlayerNamer invitedNamer;
 
+    private final int pageSize;
+
+    private final OfflinePlayerResolver offlinePlayerResolver;
+
     /**
      * Creates a simple party lister.
      * @param plugin The plugin that this party lister belongs to
      * @param onlineMemberNamer A namer for online members
      * @param offlineMemberNamer A namer for offline members
      * @param invitedNamer A namer for invited players
+     * @param pageSize The maximum number of names in each section of a page
+     * @param offlinePlayerResolver A resolver to name players with asynchronously, or null to always name players
+     *                              on the calling thread
      */
     public BasicPartyLister(@NotNull Plugin plugin, @NotNull OfflinePlayerNamer onlineMemberNamer,
-                            @NotNull OfflinePlayerNamer offlineMemberNamer, @NotNull OfflinePlayerNamer invitedNamer) {
+                            @NotNull OfflinePlayerNamer offlineMemberNamer, @NotNull OfflinePlayerNamer invitedNamer,
+                            int pageSize, @Nullable OfflinePlayerResolver offlinePlayerResolver) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("The page size of a party list must be positive!");
+        }
+
         this.plugin = plugin;
         this.onlineMemberNamer = onlineMemberNamer;
         this.offlineMemberNamer = offlineMemberNamer;
         this.invitedNamer = invitedNamer;
+        this.pageSize = pageSize;
+        this.offlinePlayerResolver = offlinePlayerResolver;
+    }
+
+    /**
+     * Creates a simple party lister that names players on the calling thread.
+     * @param plugin The plugin that this party lister belongs to
+     * @param onlineMemberNamer A namer for online members
+     * @param offlineMemberNamer A namer for offline members
+     * @param invitedNamer A namer for invited players
+     * @param pageSize The maximum number of names in each section of a page
+     */
+    public BasicPartyLister(@NotNull Plugin plugin, @NotNull OfflinePlayerNamer onlineMemberNamer,
+                            @NotNull OfflinePlayerNamer offlineMemberNamer, @NotNull OfflinePlayerNamer invitedNamer,
+                            int pageSize) {
+        this(plugin, onlineMemberNamer, offlineMemberNamer, invitedNamer, pageSize, null);
+    }
+
+    /**
+     * Creates a simple party lister with the default page size.
+     * @param plugin The plugin that this party lister belongs to
+     * @param onlineMemberNamer A namer for online members
+     * @param offlineMemberNamer A namer for offline members
+     * @param invitedNamer A namer for invited players
+     */
+    public BasicPartyLister(@NotNull Plugin plugin, @NotNull OfflinePlayerNamer onlineMemberNamer,
+                            @NotNull OfflinePlayerNamer offlineMemberNamer, @NotNull OfflinePlayerNamer invitedNamer) {
+        this(plugin, onlineMemberNamer, offlineMemberNamer, invitedNamer, DEFAULT_PAGE_SIZE);
     }
 
     @Override
     public @NotNull Collection<Component> getPartyListComponents(@NotNull Party party, @NotNull Locale locale) {
-        Component colon = Component.translatable("io.github.zap.party.list.colon", NamedTextColor.WHITE);
-        Component onlinePrefix = Component.translatable("io.github.zap.party.list.prefix.format",
-                Component.translatable("io.github.zap.party.list.online", NamedTextColor.GREEN),
-                colon);
-        Component offlinePrefix = Component.translatable("io.github.zap.party.list.prefix.format",
-                Component.translatable("io.github.zap.party.list.offline", NamedTextColor.RED),
-                colon);
-        Component invitesPrefix = Component.translatable("io.github.zap.party.list.prefix.format",
-                Component.translatable("io.github.zap.party.list.invites", NamedTextColor.BLUE),
-                colon);
-
-        Collection<PartyMember> memberCollection = party.getMembers();
-        List<Component> onlinePlayers = new ArrayList<>(memberCollection.size());
-        List<Component> offlinePlayers = new ArrayList<>(memberCollection.size());
-        List<Component> invitedPlayers = new ArrayList<>(party.getInvitationManager().getInvitations().size());
-
-        for (PartyMember member : memberCollection) {
-            OfflinePlayer offlinePlayer = member.getOfflinePlayer();
-            Player onlinePlayer = offlinePlayer.getPlayer();
+        return this.getPartyListComponents(party, locale, 1);
+    }
+
+    @Override
+    public @NotNull Collection<Component> getPartyListComponents(@NotNull Party party, @NotNull Locale locale,
+                                                                 int page) {
+        return this.getPartyList(party, false).join().getPage(locale, page);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Collection<Component>> getPartyListComponentsAsync(@NotNull Party party,
+                                                                                        @NotNull Locale locale,
+                                                                                        int page) {
+        return this.getPartyList(party, true).thenApply(partyList -> partyList.getPage(locale, page));
+    }
+
+    /**
+     * Gets the cached list of a party, renaming only the members or the invitees if only one of them changed
+     * @param party The party to get the list of
+     * @param async Whether players should be named on the lookup executor if the list is not cached
+     * @return A future of the list
+     */
+    private @NotNull CompletableFuture<PartyList> getPartyList(@NotNull Party party, boolean async) {
+        // read the versions before naming anyone so that a change while naming is seen by the next listing
+        long membershipVersion = party.getMembershipVersion();
+        long invitationVersion = party.getInvitationManager().getModificationCount();
+
+        PartyList previous = this.partyLists.get(party);
+        boolean membersChanged = previous == null || previous.membershipVersion != membershipVersion;
+        boolean invitationsChanged = previous == null || previous.invitationVersion != invitationVersion;
+        if (!membersChanged && !invitationsChanged) {
+            return CompletableFuture.completedFuture(previous);
+        }
+
+        // copied on this thread since getting the invitations may expire some, which sends messages
+        Collection<PartyMember> members = membersChanged ? party.getMembers() : null;
+        Set<UUID> invitations = invitationsChanged ? party.getInvitationManager().getInvitations() : null;
+        Supplier<PartyList> naming = () -> {
+            MemberNames memberNames = (members != null) ? this.nameMembers(members) : previous.memberNames;
+            List<Component> invitedNames = (invitations != null) ? this.nameInvited(invitations)
+                    : previous.invitedNames;
+
+            // a slower naming may replace a newer list, which is then just named again by the next listing
+            PartyList partyList = new PartyList(membershipVersion, invitationVersion, memberNames, invitedNames);
+            this.partyLists.put(party, partyList);
+            return partyList;
+        };
+
+        if (async && this.offlinePlayerResolver != null) {
+            return this.offlinePlayerResolver.supply(naming);
+        }
+
+        return CompletableFuture.completedFuture(naming.get());
+    }
+
+    private @NotNull MemberNames nameMembers(@NotNull Collection<PartyMember> members) {
+        List<Component> onlinePlayers = new ArrayList<>(members.size());
+        List<Component> offlinePlayers = new ArrayList<>(members.size());
+
+        for (PartyMember member : members) {
+            Player onlinePlayer = member.getPlayerIfOnline().orElse(null);
             if (onlinePlayer != null) {
                 onlinePlayers.add(this.onlineMemberNamer.name(onlinePlayer));
-                plugin.getLogger().info(this.onlineMemberNamer.name(onlinePlayer).toString());
-            } else {
-                offlinePlayers.add(this.offlineMemberNamer.name(offlinePlayer));
             }
+            else {
+                offlinePlayers.add(this.offlineMemberNamer.name(member.getOfflinePlayer()));
+            }
+        }
+
+        return new MemberNames(List.copyOf(onlinePlayers), List.copyOf(offlinePlayers));
+    }
+
+    private @NotNull List<Component> nameInvited(@NotNull Set<UUID> invitations) {
+        List<Component> invitedPlayers = new ArrayList<>(invitations.size());
+        for (UUID uuid : invitations) {
+            invitedPlayers.add(this.invitedNamer.name(uuid, this.plugin.getServer()));
+        }
+
+        return List.copyOf(invitedPlayers);
+    }
+
+    /**
+     * The names of a party's online and offline members.
+     */
+    private record MemberNames(@NotNull List<Component> online, @NotNull List<Component> offline) {
+
+    }
+
+    /**
+     * The names in a party's list at some membership and invitation version, and its formatted pages.
+     */
+    private class PartyList {
+
+        private final long membershipVersion;
+
+        private final long invitationVersion;
+
+        private final MemberNames memberNames;
+
+        private final List<Component> invitedNames;
+
+        private final int pageCount;
+
+        private final Map<PageKey, List<Component>> pages = new ConcurrentHashMap<>();
+
+        private PartyList(long membershipVersion, long invitationVersion, @NotNull MemberNames memberNames,
+                          @NotNull List<Component> invitedNames) {
+            this.membershipVersion = membershipVersion;
+            this.invitationVersion = invitationVersion;
+            this.memberNames = memberNames;
+            this.invitedNames = invitedNames;
+
+            int longest = Math.max(Math.max(memberNames.online().size(), memberNames.offline().size()),
+                    invitedNames.size());
+            this.pageCount = Math.max(1, (longest + pageSize - 1) / pageSize);
+        }
+
+        private @NotNull List<Component> getPage(@NotNull Locale locale, int page) {
+            int clampedPage = Math.max(1, Math.min(page, this.pageCount));
+            return this.pages.computeIfAbsent(new PageKey(locale, clampedPage), this::format);
+        }
+
+        private @NotNull List<Component> format(@NotNull PageKey key) {
+            int from = (key.page() - 1) * pageSize;
+
+            List<Component> components = new ArrayList<>(4);
+            components.add(this.formatSection(key.locale(), ONLINE_PREFIX, this.memberNames.online(), from));
+            components.add(this.formatSection(key.locale(), OFFLINE_PREFIX, this.memberNames.offline(), from));
+            components.add(this.formatSection(key.locale(), INVITES_PREFIX, this.invitedNames, from));
+            if (this.pageCount > 1) {
+                components.add(Component.translatable("io.github.zap.party.list.page", NamedTextColor.GRAY,
+                        Component.text(key.page()), Component.text(this.pageCount)));
+            }
+
+            return List.copyOf(components);
         }
 
-        for (UUID uuid : party.getInvitationManager().getInvitations()) {
-            invitedPlayers.add(this.invitedNamer.name(this.plugin.getServer().getOfflinePlayer(uuid)));
+        private @NotNull Component formatSection(@NotNull Locale locale, @NotNull Component prefix,
+                                                 @NotNull List<Component> names, int from) {
+            List<Component> page = (from < names.size())
+                    ? names.subList(from, Math.min(from + pageSize, names.size()))
+                    : List.of();
+
+            return Component.translatable("io.github.zap.party.list.format", prefix,
+                    ListFormatUtil.list(locale, page));
         }
 
-        Component online = Component.translatable("io.github.zap.party.list.format", onlinePrefix,
-                ListFormatUtil.list(locale, onlinePlayers));
-        Component offline = Component.translatable("io.github.zap.party.list.format", offlinePrefix,
-                ListFormatUtil.list(locale, offlinePlayers));
-        Component invites = Component.translatable("io.github.zap.party.list.format", invitesPrefix,
-                ListFormatUtil.list(locale, invitedPlayers));
+    }
+
+    /**
+     * Identifies a page of a party list formatted in a {@link Locale}.
+     */
+    private record PageKey(@NotNull Locale locale, int page) {
 
-        return List.of(online, offline, invites);
     }
 
 }
@@ -2,19 +2,29 @@ package io.github.zap.party.list;
 
 import com.ibm.icu.text.ListFormatter;
 import com.ibm.icu.text.MessageFormat;
+import io.github.zap.party.translation.CompiledTemplate;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.TextComponent;
 import org.jetbrains.annotations.NotNull;
 
 import java.text.AttributedCharacterIterator;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Uses ICU's formatting to create lists of {@link Component}s
  */
 public final class ListFormatUtil {
 
+    // lists longer than this are still formatted correctly, their layouts are just not kept
+    private final static int MAX_CACHED_ITEMS = 128;
+
+    private final static Map<Locale, Layouts> LAYOUTS = new ConcurrentHashMap<>();
+
     /**
      * Puts {@link Component}s in a list.
      * @param locale The {@link Locale} used to format the list
@@ -26,27 +36,78 @@ public final class ListFormatUtil {
             return Component.empty();
         }
 
-        ListFormatter listFormatter = ListFormatter.getInstance(locale);
-        String format = listFormatter.getPatternForNumItems(parts.size());
-
-        Object[] nulls = new Object[parts.size()];
-        MessageFormat messageFormat = new MessageFormat(format);
-        StringBuffer sb = messageFormat.format(nulls, new StringBuffer(), null);
-        AttributedCharacterIterator it = messageFormat.formatToCharacterIterator(nulls);
-
-        TextComponent.Builder builder = Component.text();
-        while (it.getIndex() < it.getEndIndex()) {
-            int end = it.getRunLimit();
-            Integer index = (Integer) it.getAttribute(MessageFormat.Field.ARGUMENT);
-            if (index != null) {
-                builder.append(parts.get(index));
-            } else {
-                builder.append(Component.text(sb.substring(it.getIndex(), end)));
+        return layout(locale, parts.size()).format(parts);
+    }
+
+    /**
+     * Gets the layout of a list, which is only computed through ICU the first time it is used for a locale and size
+     * @param locale The {@link Locale} used to format the list
+     * @param items The number of items in the list
+     * @return The layout of the list
+     */
+    static @NotNull CompiledTemplate layout(@NotNull Locale locale, int items) {
+        Layouts layouts = LAYOUTS.computeIfAbsent(locale, Layouts::new);
+        if (items > MAX_CACHED_ITEMS) {
+            return layouts.compile(items);
+        }
+
+        CompiledTemplate layout = layouts.templates.get(items);
+        if (layout == null) {
+            // racing threads compute the same layout, so whichever is kept does not matter
+            layout = layouts.compile(items);
+            layouts.templates.set(items, layout);
+        }
+
+        return layout;
+    }
+
+    /**
+     * Layouts of lists for one {@link Locale}, indexed by their number of items.
+     */
+    private static class Layouts {
+
+        private final ListFormatter listFormatter;
+
+        private final AtomicReferenceArray<CompiledTemplate> templates =
+                new AtomicReferenceArray<>(MAX_CACHED_ITEMS + 1);
+
+        private Layouts(@NotNull Locale locale) {
+            this.listFormatter = ListFormatter.getInstance(locale);
+        }
+
+        private @NotNull CompiledTemplate compile(int items) {
+            String format = this.listFormatter.getPatternForNumItems(items);
+
+            Object[] nulls = new Object[items];
+            MessageFormat messageFormat = new MessageFormat(format);
+            StringBuffer sb = messageFormat.format(nulls, new StringBuffer(), null);
+            AttributedCharacterIterator it = messageFormat.formatToCharacterIterator(nulls);
+
+            List<String> literals = new ArrayList<>(items + 1);
+            int[] arguments = new int[items];
+            int argumentCount = 0;
+            StringBuilder literal = new StringBuilder();
+            while (it.getIndex() < it.getEndIndex()) {
+                int end = it.getRunLimit();
+                Integer index = (Integer) it.getAttribute(MessageFormat.Field.ARGUMENT);
+                if (index != null) {
+                    if (argumentCount == arguments.length) {
+                        arguments = Arrays.copyOf(arguments, argumentCount * 2);
+                    }
+
+                    literals.add(literal.toString());
+                    arguments[argumentCount++] = index;
+                    literal.setLength(0);
+                } else {
+                    literal.append(sb, it.getIndex(), end);
+                }
+                it.setIndex(end);
             }
-            it.setIndex(end);
+            literals.add(literal.toString());
+
+            return CompiledTemplate.of(literals.toArray(new String[0]), Arrays.copyOf(arguments, argumentCount));
         }
 
-        return builder.build();
     }
 
 }
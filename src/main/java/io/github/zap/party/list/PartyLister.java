@@ -6,6 +6,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Gets a list of {@link Component}s for a party.
@@ -22,4 +23,29 @@ public interface PartyLister {
      */
     @NotNull Collection<Component> getPartyListComponents(@NotNull Party party, @NotNull Locale locale);
 
+    /**
+     * Gets a page of the {@link Component}s for display, for listers that split large parties into pages.
+     * @param party The party to get {@link Component}s for
+     * @param locale The locale used to format the {@link Component}s
+     * @param page The page to get, starting from 1
+     * @return A collection of the display {@link Component}s
+     */
+    default @NotNull Collection<Component> getPartyListComponents(@NotNull Party party, @NotNull Locale locale,
+                                                                  int page) {
+        return this.getPartyListComponents(party, locale);
+    }
+
+    /**
+     * Gets a page of the {@link Component}s for display without blocking on player lookups.
+     * @param party The party to get {@link Component}s for
+     * @param locale The locale used to format the {@link Component}s
+     * @param page The page to get, starting from 1
+     * @return A future of a collection of the display {@link Component}s which completes on the main thread
+     */
+    default @NotNull CompletableFuture<Collection<Component>> getPartyListComponentsAsync(@NotNull Party party,
+                                                                                         @NotNull Locale locale,
+                                                                                         int page) {
+        return CompletableFuture.completedFuture(this.getPartyListComponents(party, locale, page));
+    }
+
 }
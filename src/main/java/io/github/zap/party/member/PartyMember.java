@@ -2,10 +2,12 @@ package io.github.zap.party.member;
 
 import io.github.zap.party.Party;
 import io.github.zap.party.plugin.chat.AsyncChatHandler;
+import io.github.zap.party.tracker.PartyPresenceListener;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.Server;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -19,13 +21,11 @@ public class PartyMember {
 
     private final UUID playerUUID;
 
-    private Player player;
+    private volatile Player player;
 
-    private int captureTick;
+    private volatile boolean inPartyChat = false;
 
-    private boolean inPartyChat = false;
-
-    private boolean muted = false;
+    private volatile boolean muted = false;
 
     /**
      * Creates a party member.
@@ -35,21 +35,42 @@ public class PartyMember {
         this.server = player.getServer();
         this.playerUUID = player.getUniqueId();
         this.player = player;
-        this.captureTick = player.getServer().getCurrentTick();
+    }
+
+    /**
+     * Creates a party member for a player that may be offline, such as one restored from storage.
+     * @param server The server the player plays on
+     * @param playerUUID The {@link UUID} of the player
+     */
+    public PartyMember(@NotNull Server server, @NotNull UUID playerUUID) {
+        this.server = server;
+        this.playerUUID = playerUUID;
+        this.player = server.getPlayer(playerUUID);
+    }
+
+    /**
+     * Gets the {@link UUID} of the player this member manages.
+     * @return The {@link UUID}
+     */
+    public @NotNull UUID getPlayerUUID() {
+        return this.playerUUID;
     }
 
     /**
      * Gets the associated {@link Player} with this member if they are online.
+     * Presence is pushed by the {@link PartyPresenceListener}, so this never looks the player up from the server.
      * @return An optional of the player
      */
     public @NotNull Optional<Player> getPlayerIfOnline() {
-        int currentTick = this.server.getCurrentTick();
-        if (currentTick == this.captureTick) {
-            return Optional.ofNullable(this.player);
-        }
+        return Optional.ofNullable(this.player);
+    }
 
-        this.captureTick = currentTick;
-        return Optional.ofNullable(this.player = this.server.getPlayer(this.playerUUID));
+    /**
+     * Sets the {@link Player} this member currently manages.
+     * @param player The player that just came online, or null if the player went offline
+     */
+    public void setOnlinePlayer(@Nullable Player player) {
+        this.player = player;
     }
 
     /**
@@ -57,10 +78,9 @@ public class PartyMember {
      * @return The offline player
      */
     public @NotNull OfflinePlayer getOfflinePlayer() {
-        Optional<Player> playerOptional = this.getPlayerIfOnline();
-
-        if (playerOptional.isPresent()) {
-            return playerOptional.get();
+        Player player = this.player;
+        if (player != null) {
+            return player;
         }
 
         return this.server.getOfflinePlayer(this.playerUUID);
@@ -0,0 +1,148 @@
+package io.github.zap.party.namer;
+
+import io.github.zap.party.util.LruCache;
+import net.kyori.adventure.text.Component;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caches the names another {@link OfflinePlayerNamer} gives to offline players, so that naming them again does not
+ * look up their name in the user cache or their player data file. Plain names come from an {@link OfflineNameCache}
+ * that can be shared between namers, so a namer that has not named a player yet builds their name from the shared
+ * plain name instead of looking them up. Online players are always named by the other namer since their display name
+ * can change.
+ */
+public class CachingOfflinePlayerNamer implements OfflinePlayerNamer {
+
+    private final OfflinePlayerNamer delegate;
+
+    private final OfflineNameCache nameCache;
+
+    private final LruCache<UUID, NamedComponent> components;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a caching offline player namer.
+     * @param delegate The namer to name players with if they are not cached
+     * @param nameCache The cache of plain names, which may be shared with other namers
+     * @param capacity The maximum number of players to keep names for
+     */
+    public CachingOfflinePlayerNamer(@NotNull OfflinePlayerNamer delegate, @NotNull OfflineNameCache nameCache,
+                                     int capacity) {
+        this.delegate = delegate;
+        this.nameCache = nameCache;
+        this.components = new LruCache<>(capacity);
+    }
+
+    @Override
+    public @NotNull Component name(@NotNull OfflinePlayer player) {
+        Player onlinePlayer = player.getPlayer();
+        if (onlinePlayer != null) {
+            return this.nameOnline(onlinePlayer);
+        }
+
+        return this.nameOffline(player.getUniqueId(), () -> player);
+    }
+
+    @Override
+    public @NotNull Component name(@NotNull UUID uuid, @NotNull Server server) {
+        Player onlinePlayer = server.getPlayer(uuid);
+        if (onlinePlayer != null) {
+            return this.nameOnline(onlinePlayer);
+        }
+
+        // only resolve the offline player once it is known that its name is not cached
+        return this.nameOffline(uuid, () -> server.getOfflinePlayer(uuid));
+    }
+
+    private @NotNull Component nameOnline(@NotNull Player player) {
+        this.nameCache.putName(player.getUniqueId(), player.getName());
+        return this.delegate.name(player);
+    }
+
+    private @NotNull Component nameOffline(@NotNull UUID uuid, @NotNull Supplier<OfflinePlayer> player) {
+        String name = this.nameCache.getCachedName(uuid);
+        NamedComponent cached = this.components.get(uuid);
+        // a different cached name means the player joined with a new name since this namer last named them
+        if (cached != null && (name == null || name.equals(cached.name()))) {
+            this.hits.increment();
+            return cached.component();
+        }
+
+        if (name != null) {
+            Component component = this.delegate.nameOffline(name);
+            if (component != null) {
+                this.hits.increment();
+                this.components.put(uuid, new NamedComponent(name, component));
+                return component;
+            }
+        }
+
+        this.misses.increment();
+        OfflinePlayer offlinePlayer = player.get();
+        Component component = this.delegate.name(offlinePlayer);
+        String lookedUpName = offlinePlayer.getName();
+        if (lookedUpName != null) {
+            this.nameCache.putName(uuid, lookedUpName);
+        }
+        this.components.put(uuid, new NamedComponent(lookedUpName, component));
+
+        return component;
+    }
+
+    @Override
+    public @Nullable String getName(@NotNull OfflinePlayer player) {
+        return this.nameCache.getName(player);
+    }
+
+    /**
+     * Gets the last known name of a player without looking it up
+     * @param uuid The {@link UUID} of the player
+     * @return The name, or null if the name is not cached
+     */
+    public @Nullable String getCachedName(@NotNull UUID uuid) {
+        return this.nameCache.getCachedName(uuid);
+    }
+
+    /**
+     * Gets the number of offline players that were named without looking them up
+     * @return The number of cache hits
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the number of offline players that had to be looked up to be named
+     * @return The number of cache misses
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Gets the number of offline players with cached names
+     * @return The number of cached names
+     */
+    public int size() {
+        return this.components.size();
+    }
+
+    /**
+     * A name along with the plain name it was created from.
+     */
+    private record NamedComponent(@Nullable String name, @NotNull Component component) {
+
+    }
+
+}
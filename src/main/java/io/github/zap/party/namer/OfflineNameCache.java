@@ -0,0 +1,90 @@
+package io.github.zap.party.namer;
+
+import io.github.zap.party.util.LruCache;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * Caches the last known names of players, so that naming offline players does not look up their name in the user
+ * cache or their player data file. A single cache is meant to be shared by every {@link CachingOfflinePlayerNamer}.
+ * Names are refreshed when their player joins or quits, so this cache should be registered as a {@link Listener}.
+ */
+public class OfflineNameCache implements Listener {
+
+    private final LruCache<UUID, String> names;
+
+    /**
+     * Creates an offline name cache.
+     * @param capacity The maximum number of players to keep names for
+     */
+    public OfflineNameCache(int capacity) {
+        this.names = new LruCache<>(capacity);
+    }
+
+    /**
+     * Gets the last known name of a player without looking it up
+     * @param uuid The {@link UUID} of the player
+     * @return The name, or null if the name is not cached
+     */
+    public @Nullable String getCachedName(@NotNull UUID uuid) {
+        return this.names.get(uuid);
+    }
+
+    /**
+     * Gets the name of a player, looking it up and caching it if it is not cached
+     * @param player The player
+     * @return The name, or null if the player has never played
+     */
+    public @Nullable String getName(@NotNull OfflinePlayer player) {
+        UUID uuid = player.getUniqueId();
+        String name = this.names.get(uuid);
+        if (name == null) {
+            name = player.getName();
+            if (name != null) {
+                this.names.put(uuid, name);
+            }
+        }
+
+        return name;
+    }
+
+    /**
+     * Caches the current name of a player
+     * @param uuid The {@link UUID} of the player
+     * @param name The name of the player
+     */
+    public void putName(@NotNull UUID uuid, @NotNull String name) {
+        this.names.put(uuid, name);
+    }
+
+    /**
+     * Gets the number of players with cached names
+     * @return The number of cached names
+     */
+    public int size() {
+        return this.names.size();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(@NotNull PlayerJoinEvent event) {
+        // the player may have changed their name while they were offline
+        Player player = event.getPlayer();
+        this.names.put(player.getUniqueId(), player.getName());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(@NotNull PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+        this.names.put(player.getUniqueId(), player.getName());
+    }
+
+}
@@ -2,7 +2,11 @@ package io.github.zap.party.namer;
 
 import net.kyori.adventure.text.Component;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.Server;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
 
 /**
  * Creates a {@link Component} for {@link OfflinePlayer}s.
@@ -17,4 +21,32 @@ public interface OfflinePlayerNamer {
      */
     @NotNull Component name(@NotNull OfflinePlayer player);
 
+    /**
+     * Names a player by their {@link UUID}.
+     * @param uuid The {@link UUID} of the player to name
+     * @param server The server to look the player up on
+     * @return The name
+     */
+    default @NotNull Component name(@NotNull UUID uuid, @NotNull Server server) {
+        return this.name(server.getOfflinePlayer(uuid));
+    }
+
+    /**
+     * Names an offline player from their already known plain name, without looking them up.
+     * @param name The plain name of the player
+     * @return The name, or null if this namer can only name players it looks up itself
+     */
+    default @Nullable Component nameOffline(@NotNull String name) {
+        return null;
+    }
+
+    /**
+     * Gets the plain name of an {@link OfflinePlayer}, such as for use in commands.
+     * @param player The {@link OfflinePlayer} to get the name of
+     * @return The name, or null if the player has never played
+     */
+    default @Nullable String getName(@NotNull OfflinePlayer player) {
+        return player.getName();
+    }
+
 }
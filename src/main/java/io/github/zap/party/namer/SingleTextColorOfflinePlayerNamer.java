@@ -43,4 +43,9 @@ public class SingleTextColorOfflinePlayerNamer implements OfflinePlayerNamer {
         return Component.text(Objects.toString(player.getName()), this.textColor);
     }
 
+    @Override
+    public @NotNull Component nameOffline(@NotNull String name) {
+        return Component.text(name, this.textColor);
+    }
+
 }
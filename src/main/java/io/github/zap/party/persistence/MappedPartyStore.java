@@ -0,0 +1,493 @@
+package io.github.zap.party.persistence;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps parties in a memory-mapped file, so that a restart only has to map the file again instead of reading every
+ * party.
+ * The file is a table of fixed-size records after a header. Each record has the party's settings and a fixed number
+ * of slots, each holding a member or a pending invitation. Parties with more slots than fit in one record continue
+ * in further records linked from the first.
+ * Opening the file only reads the identifiers in each record to build an index of where every party starts and
+ * which party every player is in. Parties are read from their records when they are first needed.
+ * Changes are written to the mapping directly, so they reach the file when the process stops even if it crashes,
+ * and {@link #force()} writes them to the disk. A party is rewritten into freshly allocated records behind a pending
+ * first record, and freeing its old first record is the single write that replaces it, so a process that dies in
+ * the middle of a write leaves either the old or the new party behind. A crash of the operating system may still
+ * lose or tear changes made since the last {@link #force()}.
+ * A player is only indexed to one party. If a player moving between parties was stored in both because the process
+ * died between the two writes, they are only read back as a member of the party they are indexed to.
+ */
+public class MappedPartyStore {
+
+    // "ZPMP"
+    private final static int MAGIC = 0x5A504D50;
+
+    /**
+     * The version of the format used by this store
+     */
+    public final static int FORMAT_VERSION = 1;
+
+    /**
+     * The number of members and invitations that fit in one record
+     */
+    public final static int SLOTS_PER_RECORD = 8;
+
+    private final static int HEADER_SIZE = 64;
+
+    private final static int HEADER_VERSION = 4;
+
+    private final static int HEADER_SLOTS_PER_RECORD = 8;
+
+    private final static int HEADER_RECORD_SIZE = 12;
+
+    private final static int HEADER_CAPACITY = 16;
+
+    private final static int RECORD_STATE = 0;
+
+    private final static int RECORD_SETTINGS = 1;
+
+    private final static int RECORD_SLOT_COUNT = 2;
+
+    private final static int RECORD_NEXT = 4;
+
+    private final static int RECORD_ID = 8;
+
+    private final static int RECORD_INVITE_EXPIRATION_TIME = 24;
+
+    private final static int RECORD_HEADER_SIZE = 32;
+
+    private final static int SLOT_KIND = 0;
+
+    private final static int SLOT_FLAGS = 1;
+
+    private final static int SLOT_PLAYER = 2;
+
+    private final static int SLOT_INVITER = 18;
+
+    private final static int SLOT_SIZE = 34;
+
+    private final static int RECORD_SIZE = RECORD_HEADER_SIZE + SLOTS_PER_RECORD * SLOT_SIZE;
+
+    private final static byte FREE = 0;
+
+    private final static byte HEAD = 1;
+
+    private final static byte CONTINUATION = 2;
+
+    private final static byte PENDING_HEAD = 3;
+
+    private final static byte MEMBER = 1;
+
+    private final static byte INVITATION = 2;
+
+    private final static int NO_RECORD = -1;
+
+    private final FileChannel channel;
+
+    private MappedByteBuffer buffer;
+
+    private int capacity;
+
+    // the first record of every party
+    private final Map<UUID, Integer> offsets = new HashMap<>();
+
+    // read without locking so that lookups of players without stored parties stay cheap
+    private final Map<UUID, UUID> playerParties = new ConcurrentHashMap<>();
+
+    private final Deque<Integer> freeRecords = new ArrayDeque<>();
+
+    /**
+     * Opens a store, creating its file if it does not exist.
+     * @param file The file to map
+     * @param initialCapacity The number of records a new file starts with, it grows as needed
+     * @throws IOException If the file could not be mapped, or is not a compatible party state file
+     */
+    public MappedPartyStore(@NotNull Path file, int initialCapacity) throws IOException {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("The initial capacity of a mapped party store must be positive!");
+        }
+
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (this.channel.size() == 0) {
+                this.capacity = initialCapacity;
+                this.map();
+                this.buffer.putInt(0, MAGIC);
+                this.buffer.put(HEADER_VERSION, (byte) FORMAT_VERSION);
+                this.buffer.putInt(HEADER_SLOTS_PER_RECORD, SLOTS_PER_RECORD);
+                this.buffer.putInt(HEADER_RECORD_SIZE, RECORD_SIZE);
+                this.buffer.putInt(HEADER_CAPACITY, this.capacity);
+                for (int record = this.capacity - 1; record >= 0; record--) {
+                    this.freeRecords.push(record);
+                }
+            }
+            else {
+                this.capacity = this.readHeader(file);
+                this.map();
+                this.scan();
+            }
+        }
+        catch (IOException | RuntimeException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+
+    private int readHeader(@NotNull Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (this.channel.read(header, header.position()) == -1) {
+                throw new IOException("The party state file " + file + " is truncated!");
+            }
+        }
+
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException(file + " is not a party state file!");
+        }
+
+        int version = header.get(HEADER_VERSION) & 0xFF;
+        if (version != FORMAT_VERSION || header.getInt(HEADER_SLOTS_PER_RECORD) != SLOTS_PER_RECORD
+                || header.getInt(HEADER_RECORD_SIZE) != RECORD_SIZE) {
+            throw new IOException("Unsupported party state format version " + version + " in " + file + "!");
+        }
+
+        int capacity = header.getInt(HEADER_CAPACITY);
+        if (capacity < 1 || this.channel.size() < HEADER_SIZE + (long) capacity * RECORD_SIZE) {
+            throw new IOException("The party state file " + file + " is truncated!");
+        }
+
+        return capacity;
+    }
+
+    private void map() throws IOException {
+        // mapping past the end of the file grows it, and the new records read as free
+        this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0L,
+                HEADER_SIZE + (long) this.capacity * RECORD_SIZE);
+    }
+
+    /**
+     * Indexes where every party starts and which party every player is in, and frees records that no party reaches.
+     */
+    private void scan() {
+        Map<UUID, Integer> pendingHeads = new HashMap<>();
+        for (int record = 0; record < this.capacity; record++) {
+            byte state = this.buffer.get(offset(record) + RECORD_STATE);
+            if (state == HEAD) {
+                this.offsets.putIfAbsent(this.readUUID(offset(record) + RECORD_ID), record);
+            }
+            else if (state == PENDING_HEAD) {
+                pendingHeads.putIfAbsent(this.readUUID(offset(record) + RECORD_ID), record);
+            }
+        }
+
+        // the old first record was already freed when the write was interrupted, so the new one replaced it
+        for (Map.Entry<UUID, Integer> pendingHead : pendingHeads.entrySet()) {
+            if (!this.offsets.containsKey(pendingHead.getKey())) {
+                this.buffer.put(offset(pendingHead.getValue()) + RECORD_STATE, HEAD);
+                this.offsets.put(pendingHead.getKey(), pendingHead.getValue());
+            }
+        }
+
+        boolean[] reached = new boolean[this.capacity];
+        for (Map.Entry<UUID, Integer> head : this.offsets.entrySet()) {
+            UUID partyId = head.getKey();
+            for (int next = head.getValue(); next != NO_RECORD && !reached[next]; next = this.next(next)) {
+                reached[next] = true;
+                this.forEachSlot(next, (slot, kind) -> {
+                    if (kind == MEMBER) {
+                        this.playerParties.put(this.readUUID(slot + SLOT_PLAYER), partyId);
+                    }
+                });
+            }
+        }
+
+        for (int record = this.capacity - 1; record >= 0; record--) {
+            if (!reached[record]) {
+                // continuations and pending records that were left behind when a write was interrupted
+                this.buffer.put(offset(record) + RECORD_STATE, FREE);
+                this.freeRecords.push(record);
+            }
+        }
+    }
+
+    private int next(int record) {
+        int next = this.buffer.getInt(offset(record) + RECORD_NEXT);
+        if (next < 0 || next >= this.capacity || this.buffer.get(offset(next) + RECORD_STATE) != CONTINUATION) {
+            return NO_RECORD;
+        }
+
+        return next;
+    }
+
+    private @NotNull List<Integer> chain(int head) {
+        List<Integer> records = new ArrayList<>();
+        // a chain can only be longer than the table if a corrupted record links back into it
+        for (int next = head; next != NO_RECORD && records.size() < this.capacity; next = this.next(next)) {
+            records.add(next);
+        }
+
+        return records;
+    }
+
+    private void forEachSlot(int record, @NotNull SlotConsumer consumer) {
+        int slotCount = Math.min(this.buffer.getShort(offset(record) + RECORD_SLOT_COUNT), SLOTS_PER_RECORD);
+        for (int i = 0; i < slotCount; i++) {
+            int slot = offset(record) + RECORD_HEADER_SIZE + i * SLOT_SIZE;
+            consumer.accept(slot, this.buffer.get(slot + SLOT_KIND));
+        }
+    }
+
+    /**
+     * Gets the party a player is stored in. This does not lock, so it is cheap to call from any thread.
+     * @param playerUUID The {@link UUID} of the player
+     * @return The identifier of the party, or null if the player is not in a stored party
+     */
+    public @Nullable UUID getPartyId(@NotNull UUID playerUUID) {
+        return this.playerParties.get(playerUUID);
+    }
+
+    /**
+     * Reads a party from its records. Players that are indexed to another party are left out.
+     * @param partyId The identifier of the party
+     * @return The party, or null if it is not stored or none of its members are indexed to it
+     */
+    public synchronized @Nullable PartySnapshot read(@NotNull UUID partyId) {
+        Integer head = this.offsets.get(partyId);
+        if (head == null) {
+            return null;
+        }
+
+        UUID[] ownerUUID = new UUID[1];
+        List<PartySnapshot.MemberSnapshot> members = new ArrayList<>();
+        List<PartySnapshot.InvitationSnapshot> invitations = new ArrayList<>();
+        for (int record : this.chain(head)) {
+            this.forEachSlot(record, (slot, kind) -> {
+                UUID playerUUID = this.readUUID(slot + SLOT_PLAYER);
+                int flags = this.buffer.get(slot + SLOT_FLAGS);
+                if (kind == MEMBER) {
+                    // the player was also stored in another party when a move between parties was interrupted
+                    if (!partyId.equals(this.playerParties.get(playerUUID))) {
+                        return;
+                    }
+                    if ((flags & PartySnapshotStore.OWNER) != 0) {
+                        ownerUUID[0] = playerUUID;
+                    }
+
+                    members.add(new PartySnapshot.MemberSnapshot(playerUUID,
+                            (flags & PartySnapshotStore.MEMBER_MUTED) != 0,
+                            (flags & PartySnapshotStore.IN_PARTY_CHAT) != 0));
+                }
+                else if (kind == INVITATION) {
+                    invitations.add(new PartySnapshot.InvitationSnapshot(playerUUID,
+                            this.readUUID(slot + SLOT_INVITER)));
+                }
+            });
+        }
+
+        if (members.isEmpty()) {
+            return null;
+        }
+
+        int offset = offset(head);
+        int settings = this.buffer.get(offset + RECORD_SETTINGS);
+        return new PartySnapshot(partyId, (ownerUUID[0] != null) ? ownerUUID[0] : members.get(0).playerUUID(),
+                (settings & PartySnapshotStore.ALL_INVITE) != 0, (settings & PartySnapshotStore.ANYONE_CAN_JOIN) != 0,
+                (settings & PartySnapshotStore.PARTY_MUTED) != 0,
+                this.buffer.getLong(offset + RECORD_INVITE_EXPIRATION_TIME), members, invitations);
+    }
+
+    /**
+     * Writes a party to new records and frees its old records once the new ones replaced them
+     * @param snapshot The party to write
+     * @throws IOException If the file had to grow and could not be mapped again
+     */
+    public synchronized void write(@NotNull PartySnapshot snapshot) throws IOException {
+        int slotCount = snapshot.members().size() + snapshot.invitations().size();
+        int recordCount = Math.max(1, (slotCount + SLOTS_PER_RECORD - 1) / SLOTS_PER_RECORD);
+
+        Integer oldHead = this.offsets.get(snapshot.id());
+        List<Integer> oldRecords = (oldHead != null) ? this.chain(oldHead) : List.of();
+        List<Integer> records = new ArrayList<>(recordCount);
+        while (records.size() < recordCount) {
+            records.add(this.allocate());
+        }
+
+        byte settings = (byte) ((snapshot.allInvite() ? PartySnapshotStore.ALL_INVITE : 0)
+                | (snapshot.anyoneCanJoin() ? PartySnapshotStore.ANYONE_CAN_JOIN : 0)
+                | (snapshot.muted() ? PartySnapshotStore.PARTY_MUTED : 0));
+
+        // continuations are written before the first record, which is only pending until it replaces the old one
+        for (int i = records.size() - 1; i >= 0; i--) {
+            int offset = offset(records.get(i));
+            int first = i * SLOTS_PER_RECORD;
+            int count = Math.min(SLOTS_PER_RECORD, slotCount - first);
+            for (int j = 0; j < count; j++) {
+                this.writeSlot(offset + RECORD_HEADER_SIZE + j * SLOT_SIZE, snapshot, first + j);
+            }
+
+            this.buffer.put(offset + RECORD_SETTINGS, settings);
+            this.buffer.putShort(offset + RECORD_SLOT_COUNT, (short) count);
+            this.buffer.putInt(offset + RECORD_NEXT, (i + 1 < records.size()) ? records.get(i + 1) : NO_RECORD);
+            this.writeUUID(offset + RECORD_ID, snapshot.id());
+            this.buffer.putLong(offset + RECORD_INVITE_EXPIRATION_TIME, snapshot.inviteExpirationTime());
+            this.buffer.put(offset + RECORD_STATE, (i == 0) ? PENDING_HEAD : CONTINUATION);
+        }
+
+        // freeing the old first record commits the new records, a scan promotes a pending record without a head
+        if (oldHead != null) {
+            this.buffer.put(offset(oldHead) + RECORD_STATE, FREE);
+        }
+        this.buffer.put(offset(records.get(0)) + RECORD_STATE, HEAD);
+
+        this.unindexMembers(snapshot.id(), oldRecords);
+        for (int record : oldRecords) {
+            this.free(record);
+        }
+
+        this.offsets.put(snapshot.id(), records.get(0));
+        for (PartySnapshot.MemberSnapshot member : snapshot.members()) {
+            this.playerParties.put(member.playerUUID(), snapshot.id());
+        }
+    }
+
+    private void writeSlot(int slot, @NotNull PartySnapshot snapshot, int index) {
+        int memberCount = snapshot.members().size();
+        if (index < memberCount) {
+            PartySnapshot.MemberSnapshot member = snapshot.members().get(index);
+            this.buffer.put(slot + SLOT_KIND, MEMBER);
+            this.buffer.put(slot + SLOT_FLAGS, (byte) ((member.playerUUID().equals(snapshot.ownerUUID())
+                    ? PartySnapshotStore.OWNER : 0) | (member.muted() ? PartySnapshotStore.MEMBER_MUTED : 0)
+                    | (member.inPartyChat() ? PartySnapshotStore.IN_PARTY_CHAT : 0)));
+            this.writeUUID(slot + SLOT_PLAYER, member.playerUUID());
+            this.writeUUID(slot + SLOT_INVITER, new UUID(0L, 0L));
+        }
+        else {
+            PartySnapshot.InvitationSnapshot invitation = snapshot.invitations().get(index - memberCount);
+            this.buffer.put(slot + SLOT_KIND, INVITATION);
+            this.buffer.put(slot + SLOT_FLAGS, (byte) 0);
+            this.writeUUID(slot + SLOT_PLAYER, invitation.inviteeUUID());
+            this.writeUUID(slot + SLOT_INVITER, invitation.inviterUUID());
+        }
+    }
+
+    /**
+     * Removes a party and frees its records
+     * @param partyId The identifier of the party
+     */
+    public synchronized void remove(@NotNull UUID partyId) {
+        Integer head = this.offsets.remove(partyId);
+        if (head == null) {
+            return;
+        }
+
+        List<Integer> records = this.chain(head);
+        this.unindexMembers(partyId, records);
+        for (int record : records) {
+            this.free(record);
+        }
+    }
+
+    private void unindexMembers(@NotNull UUID partyId, @NotNull List<Integer> records) {
+        for (int record : records) {
+            this.forEachSlot(record, (slot, kind) -> {
+                if (kind == MEMBER) {
+                    this.playerParties.remove(this.readUUID(slot + SLOT_PLAYER), partyId);
+                }
+            });
+        }
+    }
+
+    private int allocate() throws IOException {
+        if (this.freeRecords.isEmpty()) {
+            int previousCapacity = this.capacity;
+            this.capacity = Math.max(previousCapacity + 1, previousCapacity * 2);
+            this.map();
+            this.buffer.putInt(HEADER_CAPACITY, this.capacity);
+            for (int record = this.capacity - 1; record >= previousCapacity; record--) {
+                this.freeRecords.push(record);
+            }
+        }
+
+        return this.freeRecords.pop();
+    }
+
+    private void free(int record) {
+        // the contents are left as they are, since nothing reads a free record until it is written again
+        this.buffer.put(offset(record) + RECORD_STATE, FREE);
+        this.freeRecords.push(record);
+    }
+
+    /**
+     * Writes every change made to the mapping to the disk
+     */
+    public synchronized void force() {
+        this.buffer.force();
+    }
+
+    /**
+     * Writes every change to the disk and closes the file. The store must not be used afterwards.
+     * @throws IOException If the file could not be closed
+     */
+    public synchronized void close() throws IOException {
+        this.buffer.force();
+        this.channel.close();
+    }
+
+    /**
+     * Gets the number of stored parties
+     * @return The number of parties
+     */
+    public synchronized int size() {
+        return this.offsets.size();
+    }
+
+    /**
+     * Gets the number of records in the file
+     * @return The number of records, used or free
+     */
+    public synchronized int getCapacity() {
+        return this.capacity;
+    }
+
+    private static int offset(int record) {
+        return HEADER_SIZE + record * RECORD_SIZE;
+    }
+
+    private @NotNull UUID readUUID(int offset) {
+        return new UUID(this.buffer.getLong(offset), this.buffer.getLong(offset + Long.BYTES));
+    }
+
+    private void writeUUID(int offset, @NotNull UUID uuid) {
+        this.buffer.putLong(offset, uuid.getMostSignificantBits());
+        this.buffer.putLong(offset + Long.BYTES, uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Visits the used slots of a record.
+     */
+    @FunctionalInterface
+    private interface SlotConsumer {
+
+        void accept(int slot, byte kind);
+
+    }
+
+}
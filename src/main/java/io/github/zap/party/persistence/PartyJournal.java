@@ -0,0 +1,582 @@
+package io.github.zap.party.persistence;
+
+import io.github.zap.party.Party;
+import io.github.zap.party.PartyChange;
+import io.github.zap.party.member.PartyMember;
+import io.github.zap.party.settings.PartySettings;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only journal of {@link PartyChange}s, so that changes made since the last {@link PartySnapshot} survive a
+ * crash.
+ * Changes are encoded on the thread that made them and queued. {@link #drain()} writes everything queued with one
+ * write and one fsync, so commits are grouped by how often it is called.
+ * The journal is split into numbered segments. {@link #rotate()} queues the start of a new segment, and once a
+ * snapshot captured after the rotation has been stored, {@link #deleteSegmentsBefore(long)} removes the segments it
+ * covers.
+ * Every entry is framed with its length and a CRC32, so an entry torn by a crash ends the replay of its segment.
+ */
+public class PartyJournal {
+
+    // "ZPJL"
+    private final static int MAGIC = 0x5A504A4C;
+
+    /**
+     * The version of the format written by this journal
+     */
+    public final static int FORMAT_VERSION = 1;
+
+    private final static String SEGMENT_SUFFIX = ".journal";
+
+    private final static int HEADER_SIZE = 5;
+
+    private final static int FRAME_SIZE = 8;
+
+    private final static int CREATED = 1;
+
+    private final static int MEMBER_ADDED = 2;
+
+    private final static int MEMBER_REMOVED = 3;
+
+    private final static int OWNER_CHANGED = 4;
+
+    private final static int MEMBER_CHANGED = 5;
+
+    private final static int SETTINGS_CHANGED = 6;
+
+    private final static int DISBANDED = 7;
+
+    private final Path directory;
+
+    private final Logger logger;
+
+    // encoded entries and the rotations queued between them
+    private final Queue<Object> pending = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final AtomicLong rotatedGeneration;
+
+    // every segment on disk by generation, the last one is being written
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+
+    private FileChannel channel;
+
+    private long generation;
+
+    private volatile long writtenCount = 0L;
+
+    private volatile long writtenBytes = 0L;
+
+    private volatile long commitCount = 0L;
+
+    private volatile long lastFsyncNanos = 0L;
+
+    private volatile long maxFsyncNanos = 0L;
+
+    private volatile long totalFsyncNanos = 0L;
+
+    /**
+     * Opens a journal and starts a new segment after any segments left by a previous run.
+     * @param directory The directory to keep the segments in
+     * @param logger A logger for write failures and torn entries
+     * @throws IOException If the directory could not be listed or the new segment could not be created
+     */
+    public PartyJournal(@NotNull Path directory, @NotNull Logger logger) throws IOException {
+        this.directory = directory;
+        this.logger = logger;
+
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path segment : stream) {
+                String name = segment.getFileName().toString();
+                try {
+                    this.segments.put(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())),
+                            segment);
+                }
+                catch (NumberFormatException e) {
+                    this.logger.warning("Ignoring unknown party journal file " + segment + ".");
+                }
+            }
+        }
+
+        this.openSegment(this.segments.isEmpty() ? 0L : this.segments.lastKey() + 1L);
+        this.rotatedGeneration = new AtomicLong(this.generation);
+    }
+
+    private void openSegment(long generation) throws IOException {
+        Path segment = this.directory.resolve(String.format(Locale.ROOT, "%019d", generation) + SEGMENT_SUFFIX);
+        FileChannel channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.put((byte) FORMAT_VERSION);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(true);
+
+        this.channel = channel;
+        this.generation = generation;
+        this.segments.put(generation, segment);
+    }
+
+    /**
+     * Queues a change to be written by the next {@link #drain()}. This is safe from any thread, and should be called
+     * on the thread that made the change so that the recorded state matches it.
+     * @param change The change to record
+     */
+    public void record(@NotNull PartyChange change) {
+        Party party = change.party();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            // the frame is filled in once the length of the entry is known
+            out.writeLong(0L);
+
+            switch (change.type()) {
+                case CREATED -> {
+                    writeHeader(out, CREATED, party);
+                    PartySnapshotStore.writeUUID(out, member(change).getPlayerUUID());
+                    writeSettings(out, party.getPartySettings());
+                }
+                case MEMBER_ADDED -> {
+                    writeHeader(out, MEMBER_ADDED, party);
+                    PartySnapshotStore.writeUUID(out, member(change).getPlayerUUID());
+                }
+                case MEMBER_REMOVED -> {
+                    writeHeader(out, MEMBER_REMOVED, party);
+                    PartySnapshotStore.writeUUID(out, member(change).getPlayerUUID());
+                }
+                case OWNER_CHANGED -> {
+                    writeHeader(out, OWNER_CHANGED, party);
+                    PartySnapshotStore.writeUUID(out, member(change).getPlayerUUID());
+                }
+                case MEMBER_CHANGED -> {
+                    PartyMember member = member(change);
+                    writeHeader(out, MEMBER_CHANGED, party);
+                    PartySnapshotStore.writeUUID(out, member.getPlayerUUID());
+                    out.writeByte((member.isMuted() ? PartySnapshotStore.MEMBER_MUTED : 0)
+                            | (member.isInPartyChat() ? PartySnapshotStore.IN_PARTY_CHAT : 0));
+                }
+                case SETTINGS_CHANGED -> {
+                    writeHeader(out, SETTINGS_CHANGED, party);
+                    writeSettings(out, party.getPartySettings());
+                }
+                case DISBANDED -> writeHeader(out, DISBANDED, party);
+            }
+        }
+        catch (IOException e) {
+            // only thrown by the underlying stream, which is in memory
+            throw new UncheckedIOException(e);
+        }
+
+        byte[] entry = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(entry, FRAME_SIZE, entry.length - FRAME_SIZE);
+        ByteBuffer.wrap(entry).putInt(entry.length - FRAME_SIZE).putInt((int) crc.getValue());
+
+        this.pending.add(entry);
+        this.pendingCount.incrementAndGet();
+    }
+
+    private static @NotNull PartyMember member(@NotNull PartyChange change) {
+        return Objects.requireNonNull(change.member(), "A " + change.type() + " change must have a member!");
+    }
+
+    private static void writeHeader(@NotNull DataOutputStream out, int type, @NotNull Party party)
+            throws IOException {
+        out.writeByte(type);
+        PartySnapshotStore.writeUUID(out, party.getId());
+    }
+
+    private static void writeSettings(@NotNull DataOutputStream out, @NotNull PartySettings settings)
+            throws IOException {
+        out.writeByte((settings.isAllInvite() ? PartySnapshotStore.ALL_INVITE : 0)
+                | (settings.isAnyoneCanJoin() ? PartySnapshotStore.ANYONE_CAN_JOIN : 0)
+                | (settings.isMuted() ? PartySnapshotStore.PARTY_MUTED : 0));
+        PartySnapshotStore.writeVarLong(out, settings.getInviteExpirationTime());
+    }
+
+    /**
+     * Writes every queued change to its segment and waits for them to reach the disk, starting every queued new
+     * segment on the way. Changes that fail to be written are logged and dropped.
+     */
+    public synchronized void drain() {
+        if (this.channel == null || this.pending.isEmpty()) {
+            return;
+        }
+
+        ByteArrayOutputStream batch = new ByteArrayOutputStream();
+        int entries = 0;
+        Object next;
+        while ((next = this.pending.poll()) != null) {
+            if (next instanceof Rotation rotation) {
+                this.commit(batch, entries);
+                batch.reset();
+                entries = 0;
+
+                FileChannel previous = this.channel;
+                try {
+                    this.openSegment(rotation.generation());
+                    previous.close();
+                }
+                catch (IOException e) {
+                    // the changes stay in the previous segment, which is only deleted once a later one is started
+                    this.logger.log(Level.WARNING, "Failed to start a new party journal segment!", e);
+                }
+            }
+            else {
+                batch.writeBytes((byte[]) next);
+                entries++;
+            }
+        }
+
+        this.commit(batch, entries);
+    }
+
+    private void commit(@NotNull ByteArrayOutputStream batch, int entries) {
+        if (entries == 0) {
+            return;
+        }
+        this.pendingCount.addAndGet(-entries);
+
+        ByteBuffer buffer = ByteBuffer.wrap(batch.toByteArray());
+        int size = buffer.remaining();
+        try {
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer);
+            }
+
+            long start = System.nanoTime();
+            this.channel.force(false);
+            long fsyncNanos = System.nanoTime() - start;
+
+            this.writtenCount += entries;
+            this.writtenBytes += size;
+            this.commitCount++;
+            this.lastFsyncNanos = fsyncNanos;
+            this.maxFsyncNanos = Math.max(this.maxFsyncNanos, fsyncNanos);
+            this.totalFsyncNanos += fsyncNanos;
+        }
+        catch (IOException e) {
+            this.logger.log(Level.WARNING, "Failed to write " + entries + " changes to the party journal!", e);
+        }
+    }
+
+    /**
+     * Queues the start of a new segment, so that every change recorded before this was called is in an older segment
+     * once the next {@link #drain()} starts it. This does not block, and like {@link #record(PartyChange)} should be
+     * called on the thread that makes changes, so that it is ordered with them.
+     * @return The generation of the new segment
+     */
+    public long rotate() {
+        long generation = this.rotatedGeneration.incrementAndGet();
+        this.pending.add(new Rotation(generation));
+
+        return generation;
+    }
+
+    /**
+     * Deletes the segments that are older than a generation, once a snapshot covers them. Nothing is deleted if the
+     * segment of that generation was never started, since the changes made after the snapshot are still in them.
+     * @param generation The generation returned by the {@link #rotate()} before the snapshot was captured
+     */
+    public synchronized void deleteSegmentsBefore(long generation) {
+        if (!this.segments.containsKey(generation)) {
+            return;
+        }
+
+        Iterator<Path> iterator = this.segments.headMap(generation, false).values().iterator();
+        while (iterator.hasNext()) {
+            Path segment = iterator.next();
+            try {
+                Files.deleteIfExists(segment);
+                iterator.remove();
+            }
+            catch (IOException e) {
+                this.logger.log(Level.WARNING, "Failed to delete the party journal segment " + segment + "!", e);
+            }
+        }
+    }
+
+    /**
+     * Writes every queued change and closes the current segment. Later changes are dropped.
+     */
+    public synchronized void close() {
+        if (this.channel == null) {
+            return;
+        }
+
+        this.drain();
+        try {
+            this.channel.close();
+        }
+        catch (IOException e) {
+            this.logger.log(Level.WARNING, "Failed to close the party journal!", e);
+        }
+        this.channel = null;
+    }
+
+    /**
+     * Applies the changes in every segment left by a previous run to the snapshots they were recorded after
+     * @param snapshots The snapshots stored before the segments were written
+     * @return The snapshots with every change applied
+     * @throws IOException If a segment could not be read or has an unsupported version
+     */
+    public synchronized @NotNull List<PartySnapshot> replay(@NotNull List<PartySnapshot> snapshots)
+            throws IOException {
+        Map<UUID, PartyState> parties = new LinkedHashMap<>();
+        for (PartySnapshot snapshot : snapshots) {
+            parties.put(snapshot.id(), new PartyState(snapshot));
+        }
+
+        for (Path segment : this.segments.headMap(this.generation, false).values()) {
+            this.replaySegment(segment, parties);
+        }
+
+        List<PartySnapshot> replayed = new ArrayList<>(parties.size());
+        for (PartyState party : parties.values()) {
+            PartySnapshot snapshot = party.toSnapshot();
+            if (snapshot != null) {
+                replayed.add(snapshot);
+            }
+        }
+
+        return replayed;
+    }
+
+    private void replaySegment(@NotNull Path segment, @NotNull Map<UUID, PartyState> parties) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(segment));
+        if (in.remaining() < HEADER_SIZE) {
+            // the previous run stopped while creating the segment
+            return;
+        }
+        if (in.getInt() != MAGIC) {
+            throw new IOException(segment + " is not a party journal segment!");
+        }
+
+        int version = in.get() & 0xFF;
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported party journal format version " + version + " in " + segment + "!");
+        }
+
+        CRC32 crc = new CRC32();
+        while (in.remaining() >= FRAME_SIZE) {
+            int length = in.getInt();
+            int checksum = in.getInt();
+            if (length < 0 || length > in.remaining()) {
+                this.logger.warning("The party journal segment " + segment + " ends with a torn entry, the rest " +
+                        "of it is skipped.");
+                return;
+            }
+
+            ByteBuffer entry = in.slice(in.position(), length);
+            in.position(in.position() + length);
+
+            crc.reset();
+            crc.update(entry.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                this.logger.warning("The party journal segment " + segment + " has a corrupted entry, the rest " +
+                        "of it is skipped.");
+                return;
+            }
+
+            try {
+                apply(entry, parties);
+            }
+            catch (BufferUnderflowException e) {
+                throw new IOException("A party journal entry in " + segment + " is malformed!", e);
+            }
+        }
+    }
+
+    private static void apply(@NotNull ByteBuffer in, @NotNull Map<UUID, PartyState> parties) throws IOException {
+        int type = in.get();
+        UUID partyId = PartySnapshotStore.readUUID(in);
+        if (type == CREATED) {
+            UUID ownerUUID = PartySnapshotStore.readUUID(in);
+            int settings = in.get();
+            parties.put(partyId, new PartyState(partyId, ownerUUID, settings, PartySnapshotStore.readVarLong(in)));
+            return;
+        }
+
+        PartyState party = parties.get(partyId);
+        if (party == null) {
+            // the party was already gone when the snapshot was captured
+            return;
+        }
+
+        switch (type) {
+            case MEMBER_ADDED -> {
+                UUID playerUUID = PartySnapshotStore.readUUID(in);
+                party.members.put(playerUUID, new PartySnapshot.MemberSnapshot(playerUUID, false, false));
+            }
+            case MEMBER_REMOVED -> party.members.remove(PartySnapshotStore.readUUID(in));
+            case OWNER_CHANGED -> party.ownerUUID = PartySnapshotStore.readUUID(in);
+            case MEMBER_CHANGED -> {
+                UUID playerUUID = PartySnapshotStore.readUUID(in);
+                int flags = in.get();
+                party.members.computeIfPresent(playerUUID, (unused, member) ->
+                        new PartySnapshot.MemberSnapshot(playerUUID, (flags & PartySnapshotStore.MEMBER_MUTED) != 0,
+                                (flags & PartySnapshotStore.IN_PARTY_CHAT) != 0));
+            }
+            case SETTINGS_CHANGED -> {
+                party.settings = in.get();
+                party.inviteExpirationTime = PartySnapshotStore.readVarLong(in);
+            }
+            case DISBANDED -> parties.remove(partyId);
+            default -> throw new IOException("Unknown party journal entry type " + type + "!");
+        }
+    }
+
+    /**
+     * Gets the number of changes waiting for the next {@link #drain()}
+     * @return The number of queued changes
+     */
+    public int getQueuedCount() {
+        return this.pendingCount.get();
+    }
+
+    /**
+     * Gets the number of changes that have been written
+     * @return The number of written changes
+     */
+    public long getWrittenCount() {
+        return this.writtenCount;
+    }
+
+    /**
+     * Gets the number of bytes of changes that have been written
+     * @return The number of written bytes
+     */
+    public long getWrittenBytes() {
+        return this.writtenBytes;
+    }
+
+    /**
+     * Gets the number of grouped commits, each of which ends with one fsync
+     * @return The number of commits
+     */
+    public long getCommitCount() {
+        return this.commitCount;
+    }
+
+    /**
+     * Gets how long the last fsync took
+     * @return The duration of the last fsync in nanoseconds
+     */
+    public long getLastFsyncNanos() {
+        return this.lastFsyncNanos;
+    }
+
+    /**
+     * Gets the longest any fsync took
+     * @return The duration of the longest fsync in nanoseconds
+     */
+    public long getMaxFsyncNanos() {
+        return this.maxFsyncNanos;
+    }
+
+    /**
+     * Gets how long every fsync took together, which divided by {@link #getCommitCount()} is the average latency
+     * @return The total duration of every fsync in nanoseconds
+     */
+    public long getTotalFsyncNanos() {
+        return this.totalFsyncNanos;
+    }
+
+    /**
+     * A new segment queued between entries by {@link #rotate()}.
+     */
+    private record Rotation(long generation) {
+
+    }
+
+    /**
+     * The state of a party while the journal is replayed.
+     */
+    private static class PartyState {
+
+        private final UUID id;
+
+        private final Map<UUID, PartySnapshot.MemberSnapshot> members = new LinkedHashMap<>();
+
+        private final List<PartySnapshot.InvitationSnapshot> invitations;
+
+        private UUID ownerUUID;
+
+        private int settings;
+
+        private long inviteExpirationTime;
+
+        private PartyState(@NotNull PartySnapshot snapshot) {
+            this.id = snapshot.id();
+            for (PartySnapshot.MemberSnapshot member : snapshot.members()) {
+                this.members.put(member.playerUUID(), member);
+            }
+            this.invitations = snapshot.invitations();
+            this.ownerUUID = snapshot.ownerUUID();
+            this.settings = (snapshot.allInvite() ? PartySnapshotStore.ALL_INVITE : 0)
+                    | (snapshot.anyoneCanJoin() ? PartySnapshotStore.ANYONE_CAN_JOIN : 0)
+                    | (snapshot.muted() ? PartySnapshotStore.PARTY_MUTED : 0);
+            this.inviteExpirationTime = snapshot.inviteExpirationTime();
+        }
+
+        private PartyState(@NotNull UUID id, @NotNull UUID ownerUUID, int settings, long inviteExpirationTime) {
+            this.id = id;
+            this.members.put(ownerUUID, new PartySnapshot.MemberSnapshot(ownerUUID, false, false));
+            this.invitations = List.of();
+            this.ownerUUID = ownerUUID;
+            this.settings = settings;
+            this.inviteExpirationTime = inviteExpirationTime;
+        }
+
+        private @Nullable PartySnapshot toSnapshot() {
+            if (this.members.isEmpty()) {
+                return null;
+            }
+
+            UUID ownerUUID = this.members.containsKey(this.ownerUUID)
+                    ? this.ownerUUID
+                    : this.members.keySet().iterator().next();
+            return new PartySnapshot(this.id, ownerUUID,
+                    (this.settings & PartySnapshotStore.ALL_INVITE) != 0,
+                    (this.settings & PartySnapshotStore.ANYONE_CAN_JOIN) != 0,
+                    (this.settings & PartySnapshotStore.PARTY_MUTED) != 0, this.inviteExpirationTime,
+                    List.copyOf(this.members.values()), this.invitations);
+        }
+
+    }
+
+}
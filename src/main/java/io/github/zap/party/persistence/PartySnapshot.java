@@ -0,0 +1,95 @@
+package io.github.zap.party.persistence;
+
+import io.github.zap.party.Party;
+import io.github.zap.party.member.PartyMember;
+import io.github.zap.party.settings.PartySettings;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * An immutable copy of the persistent state of a {@link Party}.
+ * @param id The unique identifier of the party
+ * @param ownerUUID The {@link UUID} of the owner, who is always one of the members
+ * @param allInvite Whether all members can invite other players
+ * @param anyoneCanJoin Whether anyone can join the party without an invitation
+ * @param muted Whether the party chat is muted
+ * @param inviteExpirationTime The number of ticks invitations last
+ * @param members The members of the party
+ * @param invitations The pending invitations of the party
+ */
+public record PartySnapshot(@NotNull UUID id, @NotNull UUID ownerUUID, boolean allInvite, boolean anyoneCanJoin,
+                            boolean muted, long inviteExpirationTime, @NotNull List<MemberSnapshot> members,
+                            @NotNull List<InvitationSnapshot> invitations) {
+
+    /**
+     * Copies the state of a party. This should be called on the main thread, where parties change, so that the copy
+     * is consistent.
+     * @param party The party to copy
+     * @return The copy, or null if the party has been disbanded
+     */
+    public static @Nullable PartySnapshot capture(@NotNull Party party) {
+        Optional<PartyMember> owner = party.getOwner();
+        if (owner.isEmpty()) {
+            return null;
+        }
+
+        List<MemberSnapshot> members = new ArrayList<>();
+        for (PartyMember member : party.getMembers()) {
+            members.add(new MemberSnapshot(member.getPlayerUUID(), member.isMuted(), member.isInPartyChat()));
+        }
+        if (members.isEmpty()) {
+            return null;
+        }
+
+        Map<UUID, UUID> inviters = party.getInvitationManager().getInviters();
+        List<InvitationSnapshot> invitations = new ArrayList<>(inviters.size());
+        for (Map.Entry<UUID, UUID> invitation : inviters.entrySet()) {
+            invitations.add(new InvitationSnapshot(invitation.getKey(), invitation.getValue()));
+        }
+
+        PartySettings settings = party.getPartySettings();
+        return new PartySnapshot(party.getId(), owner.get().getPlayerUUID(), settings.isAllInvite(),
+                settings.isAnyoneCanJoin(), settings.isMuted(), settings.getInviteExpirationTime(),
+                List.copyOf(members), List.copyOf(invitations));
+    }
+
+    /**
+     * Creates settings that match the snapshot
+     * @return New {@link PartySettings}
+     */
+    public @NotNull PartySettings toSettings() {
+        PartySettings settings = new PartySettings();
+        settings.setAllInvite(this.allInvite);
+        settings.setAnyoneCanJoin(this.anyoneCanJoin);
+        settings.setMuted(this.muted);
+        settings.setInviteExpirationTime(this.inviteExpirationTime);
+
+        return settings;
+    }
+
+    /**
+     * An immutable copy of a {@link PartyMember}.
+     * @param playerUUID The {@link UUID} of the member's player
+     * @param muted Whether the member is muted
+     * @param inPartyChat Whether the member is chatting in the party chat
+     */
+    public record MemberSnapshot(@NotNull UUID playerUUID, boolean muted, boolean inPartyChat) {
+
+    }
+
+    /**
+     * A pending invitation.
+     * @param inviteeUUID The {@link UUID} of the invited player
+     * @param inviterUUID The {@link UUID} of the player who sent the invitation
+     */
+    public record InvitationSnapshot(@NotNull UUID inviteeUUID, @NotNull UUID inviterUUID) {
+
+    }
+
+}
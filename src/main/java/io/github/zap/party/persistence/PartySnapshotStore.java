@@ -0,0 +1,245 @@
+package io.github.zap.party.persistence;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Stores {@link PartySnapshot}s in a compact binary file.
+ * The file starts with a magic number and a format version, followed by every party, and ends with a CRC32 of
+ * everything before it. Counts and invitation expiration times are written as variable length integers and flags
+ * are packed into single bytes, so most parties take a little over 16 bytes per member.
+ * Files are replaced atomically, so a crash while writing leaves the previous file intact.
+ */
+public class PartySnapshotStore {
+
+    // "ZPRT"
+    private final static int MAGIC = 0x5A505254;
+
+    /**
+     * The version of the format written by this store
+     */
+    public final static int FORMAT_VERSION = 1;
+
+    final static int ALL_INVITE = 1;
+
+    final static int ANYONE_CAN_JOIN = 1 << 1;
+
+    final static int PARTY_MUTED = 1 << 2;
+
+    final static int OWNER = 1;
+
+    final static int MEMBER_MUTED = 1 << 1;
+
+    final static int IN_PARTY_CHAT = 1 << 2;
+
+    private final Path file;
+
+    private final Path temporaryFile;
+
+    /**
+     * Creates a new snapshot store.
+     * @param file The file to store snapshots in
+     */
+    public PartySnapshotStore(@NotNull Path file) {
+        this.file = file;
+        this.temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+    }
+
+    /**
+     * Replaces the stored snapshots
+     * @param snapshots The snapshots to store
+     * @return The number of bytes written
+     * @throws IOException If the file could not be written
+     */
+    public synchronized int write(@NotNull Collection<PartySnapshot> snapshots) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + snapshots.size() * 64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        writeVarLong(out, snapshots.size());
+
+        for (PartySnapshot snapshot : snapshots) {
+            writeUUID(out, snapshot.id());
+            out.writeByte((snapshot.allInvite() ? ALL_INVITE : 0) | (snapshot.anyoneCanJoin() ? ANYONE_CAN_JOIN : 0)
+                    | (snapshot.muted() ? PARTY_MUTED : 0));
+            writeVarLong(out, snapshot.inviteExpirationTime());
+
+            writeVarLong(out, snapshot.members().size());
+            for (PartySnapshot.MemberSnapshot member : snapshot.members()) {
+                writeUUID(out, member.playerUUID());
+                out.writeByte((member.playerUUID().equals(snapshot.ownerUUID()) ? OWNER : 0)
+                        | (member.muted() ? MEMBER_MUTED : 0) | (member.inPartyChat() ? IN_PARTY_CHAT : 0));
+            }
+
+            writeVarLong(out, snapshot.invitations().size());
+            for (PartySnapshot.InvitationSnapshot invitation : snapshot.invitations()) {
+                writeUUID(out, invitation.inviteeUUID());
+                writeUUID(out, invitation.inviterUUID());
+            }
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        int size = buffer.remaining();
+        try (FileChannel channel = FileChannel.open(this.temporaryFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+
+        try {
+            Files.move(this.temporaryFile, this.file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (AtomicMoveNotSupportedException e) {
+            Files.move(this.temporaryFile, this.file, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        return size;
+    }
+
+    /**
+     * Reads the stored snapshots
+     * @return The stored snapshots, or an empty list if nothing has been stored yet
+     * @throws IOException If the file could not be read, is corrupted, or has an unsupported version
+     */
+    public synchronized @NotNull List<PartySnapshot> read() throws IOException {
+        if (!Files.exists(this.file)) {
+            return List.of();
+        }
+
+        byte[] bytes = Files.readAllBytes(this.file);
+        if (bytes.length < 10) {
+            throw new IOException("The party snapshot file " + this.file + " is truncated!");
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 4);
+        if (in.getInt(bytes.length - 4) != (int) crc.getValue()) {
+            throw new IOException("The party snapshot file " + this.file + " is corrupted!");
+        }
+        if (in.getInt() != MAGIC) {
+            throw new IOException(this.file + " is not a party snapshot file!");
+        }
+
+        int version = in.get() & 0xFF;
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported party snapshot format version " + version + "!");
+        }
+
+        in.limit(bytes.length - 4);
+        try {
+            int partyCount = readCount(in);
+            List<PartySnapshot> snapshots = new ArrayList<>(partyCount);
+            for (int i = 0; i < partyCount; i++) {
+                snapshots.add(readParty(in));
+            }
+
+            return snapshots;
+        }
+        catch (BufferUnderflowException e) {
+            throw new IOException("The party snapshot file " + this.file + " is truncated!", e);
+        }
+    }
+
+    private static @NotNull PartySnapshot readParty(@NotNull ByteBuffer in) throws IOException {
+        UUID id = readUUID(in);
+        int settings = in.get();
+        long inviteExpirationTime = readVarLong(in);
+
+        int memberCount = readCount(in);
+        if (memberCount == 0) {
+            throw new IOException("The party " + id + " has no members!");
+        }
+
+        UUID ownerUUID = null;
+        List<PartySnapshot.MemberSnapshot> members = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            UUID playerUUID = readUUID(in);
+            int flags = in.get();
+            if ((flags & OWNER) != 0) {
+                ownerUUID = playerUUID;
+            }
+
+            members.add(new PartySnapshot.MemberSnapshot(playerUUID, (flags & MEMBER_MUTED) != 0,
+                    (flags & IN_PARTY_CHAT) != 0));
+        }
+        if (ownerUUID == null) {
+            // the owner left while the party was being copied
+            ownerUUID = members.get(0).playerUUID();
+        }
+
+        int invitationCount = readCount(in);
+        List<PartySnapshot.InvitationSnapshot> invitations = new ArrayList<>(invitationCount);
+        for (int i = 0; i < invitationCount; i++) {
+            invitations.add(new PartySnapshot.InvitationSnapshot(readUUID(in), readUUID(in)));
+        }
+
+        return new PartySnapshot(id, ownerUUID, (settings & ALL_INVITE) != 0, (settings & ANYONE_CAN_JOIN) != 0,
+                (settings & PARTY_MUTED) != 0, inviteExpirationTime, members, invitations);
+    }
+
+    static void writeUUID(@NotNull DataOutputStream out, @NotNull UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    static @NotNull UUID readUUID(@NotNull ByteBuffer in) {
+        return new UUID(in.getLong(), in.getLong());
+    }
+
+    static void writeVarLong(@NotNull DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarLong(@NotNull ByteBuffer in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed variable length integer in a party snapshot!");
+    }
+
+    private static int readCount(@NotNull ByteBuffer in) throws IOException {
+        long count = readVarLong(in);
+        // every entry takes at least one byte, so larger counts can only come from a malformed file
+        if (count < 0 || count > in.remaining()) {
+            throw new IOException("Malformed count in a party snapshot!");
+        }
+
+        return (int) count;
+    }
+
+}
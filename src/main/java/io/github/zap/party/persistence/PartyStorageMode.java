@@ -0,0 +1,20 @@
+package io.github.zap.party.persistence;
+
+/**
+ * Ways in which parties can be persisted across restarts.
+ */
+public enum PartyStorageMode {
+
+    /**
+     * Parties are saved to a {@link PartySnapshotStore} periodically and on shutdown, optionally with a
+     * {@link PartyJournal} of the changes in between, and all of them are restored on startup
+     */
+    SNAPSHOT,
+
+    /**
+     * Parties are kept in a {@link MappedPartyStore} as they change and are only created once one of their members
+     * is looked up
+     */
+    MAPPED
+
+}
@@ -1,23 +1,51 @@
 package io.github.zap.party.plugin;
 
 import io.github.zap.commons.ZapPlugin;
+import io.github.zap.party.audience.BufferedSpySink;
 import io.github.zap.party.audience.PreRenderedAudience;
+import io.github.zap.party.audience.RenderCache;
+import io.github.zap.party.audience.SpyOverflowPolicy;
 import io.github.zap.regularcommands.commands.BasicPageBuilder;
 import io.github.zap.regularcommands.commands.CommandManager;
 import io.github.zap.party.Party;
+import io.github.zap.party.PartyChange;
 import io.github.zap.party.command.PartyCommand;
+import io.github.zap.party.executor.DirectPartyExecutor;
+import io.github.zap.party.executor.MailboxPartyExecutor;
+import io.github.zap.party.executor.PartyExecutionMode;
+import io.github.zap.party.executor.PartyExecutor;
+import io.github.zap.party.invitation.InvitationIndex;
+import io.github.zap.party.invitation.InvitationManager;
+import io.github.zap.party.invitation.InvitationSweeper;
 import io.github.zap.party.invitation.TimedInvitationManager;
 import io.github.zap.party.list.BasicPartyLister;
 import io.github.zap.party.list.PartyLister;
 import io.github.zap.party.member.PartyMember;
+import io.github.zap.party.namer.CachingOfflinePlayerNamer;
+import io.github.zap.party.namer.OfflineNameCache;
 import io.github.zap.party.namer.OfflinePlayerNamer;
 import io.github.zap.party.namer.SingleTextColorOfflinePlayerNamer;
+import io.github.zap.party.persistence.MappedPartyStore;
+import io.github.zap.party.persistence.PartyJournal;
+import io.github.zap.party.persistence.PartySnapshot;
+import io.github.zap.party.persistence.PartySnapshotStore;
+import io.github.zap.party.persistence.PartyStorageMode;
 import io.github.zap.party.plugin.chat.AsyncChatHandler;
 import io.github.zap.party.plugin.chat.BasicAsyncChatHandler;
 import io.github.zap.party.plugin.config.ConfigNames;
 import io.github.zap.party.plugin.exception.LoadFailureException;
+import io.github.zap.party.resolver.OfflinePlayerResolver;
+import io.github.zap.party.scheduler.BukkitTickScheduler;
+import io.github.zap.party.scheduler.HashedTimingWheel;
+import io.github.zap.party.scheduler.TickScheduler;
 import io.github.zap.party.settings.PartySettings;
+import io.github.zap.party.spy.SpyRegistry;
+import io.github.zap.party.spy.SpySessionTracker;
+import io.github.zap.party.tracker.PartyLoader;
+import io.github.zap.party.tracker.PartyPresenceListener;
 import io.github.zap.party.tracker.PartyTracker;
+import io.github.zap.party.translation.CompiledTranslationRenderer;
+import io.github.zap.party.translation.CompiledTranslations;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -28,7 +56,9 @@ import net.kyori.adventure.translation.TranslationRegistry;
 import org.apache.commons.lang3.time.StopWatch;
 import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.BufferedReader;
 import java.io.FileNotFoundException;
@@ -49,12 +79,24 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
 import java.util.Random;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.stream.Stream;
 
@@ -83,8 +125,100 @@ public class PartyPlugin extends ZapPlugin implements ZAPParty {
 
     public final static boolean AUTO_CONSOLE_SPY = true;
 
+    public final static int CONSOLE_SPY_RENDER_CACHE_SIZE = 256;
+
+    public final static boolean CONSOLE_SPY_BUFFERED = false;
+
+    public final static int CONSOLE_SPY_BUFFER_CAPACITY = 4096;
+
+    public final static int CONSOLE_SPY_BATCH_SIZE = 256;
+
+    public final static String CONSOLE_SPY_OVERFLOW_POLICY = SpyOverflowPolicy.DROP_OLDEST.name();
+
+    public final static int CONSOLE_SPY_SAMPLE_RATE = 10;
+
+    public final static int OFFLINE_NAME_CACHE_SIZE = 1024;
+
+    public final static int PARTY_LIST_PAGE_SIZE = BasicPartyLister.DEFAULT_PAGE_SIZE;
+
+    public final static int OFFLINE_LOOKUP_THREADS = 2;
+
+    public final static int OFFLINE_LOOKUP_QUEUE_CAPACITY = 256;
+
+    public final static boolean PERSIST_PARTIES = true;
+
+    public final static int PARTY_SNAPSHOT_INTERVAL = 300;
+
+    public final static String PARTY_SNAPSHOT_FILE_NAME = "parties.dat";
+
+    public final static boolean JOURNAL_PARTIES = true;
+
+    public final static int PARTY_JOURNAL_COMMIT_INTERVAL = 50;
+
+    public final static String PARTY_JOURNAL_DIRECTORY_NAME = "journal";
+
+    public final static String PARTY_STORAGE = PartyStorageMode.SNAPSHOT.name();
+
+    public final static String PARTY_STATE_FILE_NAME = "parties.map";
+
+    public final static int PARTY_STATE_INITIAL_CAPACITY = 1024;
+
+    public final static String PARTY_EXECUTION_MODE = PartyExecutionMode.DIRECT.name();
+
+    public final static int PARTY_MAILBOX_BATCH_SIZE = 64;
+
+    public final static boolean INVITATION_TIMING_WHEEL = true;
+
+    public final static int INVITATION_TIMING_WHEEL_SIZE = 512;
+
+    public final static boolean INVITATION_LAZY_EXPIRY = false;
+
+    public final static int INVITATION_SWEEP_INTERVAL = 20;
+
+    public final static int INVITATION_SWEEP_BUDGET = 256;
+
     private PartyTracker partyTracker;
 
+    private PartyExecutor partyExecutor;
+
+    private TickScheduler invitationScheduler;
+
+    private InvitationSweeper invitationSweeper;
+
+    private InvitationIndex invitationIndex;
+
+    private RenderCache consoleSpyRenderCache;
+
+    private BufferedSpySink consoleSpySink;
+
+    private SpyRegistry spyRegistry;
+
+    private SpySessionTracker spySessionTracker;
+
+    private ScheduledExecutorService consoleSpySinkService;
+
+    private OfflinePlayerResolver offlinePlayerResolver;
+
+    private ExecutorService offlineLookupService;
+
+    private PartySnapshotStore partySnapshotStore;
+
+    private ScheduledExecutorService partySnapshotService;
+
+    private PartyJournal partyJournal;
+
+    private ScheduledExecutorService partyJournalService;
+
+    private MappedPartyStore mappedPartyStore;
+
+    private Random random;
+
+    private OfflineNameCache offlineNameCache;
+
+    private OfflinePlayerNamer playerNamer;
+
+    private PartyLister partyLister;
+
     @SuppressWarnings("FieldCanBeLocal")
     private AsyncChatHandler asyncChatHandler;
 
@@ -93,6 +227,8 @@ public class PartyPlugin extends ZapPlugin implements ZAPParty {
 
     private TranslationRegistry translationRegistry;
 
+    private CompiledTranslations compiledTranslations;
+
     private Locale defaultLocale;
 
     private boolean defaultLocaleTranslationsLoaded = false;
@@ -105,8 +241,17 @@ public class PartyPlugin extends ZapPlugin implements ZAPParty {
             initConfig();
             initTranslations(GlobalTranslator.get(), TRANSLATION_REGISTRY_KEY);
             initPartyTracker();
-            initAsyncChatEventHandler(MiniMessage.get());
-            initCommands(GlobalTranslator.get(), GlobalTranslator.renderer());
+            initPartyExecutor();
+            initInvitationScheduler();
+            initConsoleSpySink();
+            initOfflinePlayerResolver();
+            CompiledTranslationRenderer renderer = new CompiledTranslationRenderer(this.compiledTranslations,
+                    GlobalTranslator.get());
+            initSpyRegistry(renderer);
+            initPartyFactory();
+            initPartySnapshots(timer);
+            initAsyncChatEventHandler(MiniMessage.get(), renderer);
+            initCommands(GlobalTranslator.get(), renderer);
 
             timer.stop();
             this.getLogger().info("Enabled successfully; ~" + timer.getTime() + "ms elapsed.");
@@ -125,9 +270,104 @@ public class PartyPlugin extends ZapPlugin implements ZAPParty {
 
     @Override
     public void doDisable() {
+        if (this.partyExecutor instanceof MailboxPartyExecutor mailboxPartyExecutor) {
+            mailboxPartyExecutor.drainAll();
+        }
+
+        // the last snapshot must be saved after every earlier one, or an earlier one would overwrite it
+        this.awaitExecutor(this.partySnapshotService, "party snapshot thread");
+        this.shutdownExecutor(this.partyJournalService, "party journal thread");
+        if (this.partySnapshotStore != null) {
+            this.snapshotParties(Runnable::run);
+        }
+        if (this.partyJournal != null) {
+            this.partyJournal.close();
+        }
+        if (this.mappedPartyStore != null) {
+            // closing the store writes it to the disk
+            this.storeMappedParties();
+            try {
+                this.mappedPartyStore.close();
+            }
+            catch (IOException e) {
+                this.getLogger().log(Level.WARNING, "Failed to close the party state file!", e);
+            }
+        }
+
+        this.shutdownExecutor(this.consoleSpySinkService, "console spy thread");
+        this.shutdownExecutor(this.offlineLookupService, "offline player lookup threads");
+
+        if (this.consoleSpySink != null) {
+            this.consoleSpySink.drain();
+        }
+
         GlobalTranslator.get().removeSource(this.translationRegistry);
     }
 
+    /**
+     * Creates a single thread executor whose thread does not keep the server from stopping
+     * @param name The name of the thread
+     * @return The executor
+     */
+    private static @NotNull ScheduledExecutorService newDaemonExecutor(@NotNull String name) {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> newDaemonThread(runnable, name));
+    }
+
+    /**
+     * Creates a thread that does not keep the server from stopping
+     * @param runnable The task of the thread
+     * @param name The name of the thread
+     * @return The thread
+     */
+    private static @NotNull Thread newDaemonThread(@NotNull Runnable runnable, @NotNull String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Stops an executor, waiting up to a second for the tasks it was given to finish
+     * @param service The executor, or null if it was never started
+     * @param name What the threads of the executor are, for the warning if they do not stop in time
+     */
+    private void shutdownExecutor(@Nullable ExecutorService service, @NotNull String name) {
+        if (service == null) {
+            return;
+        }
+
+        service.shutdown();
+        try {
+            if (!service.awaitTermination(1L, TimeUnit.SECONDS)) {
+                this.getLogger().warning("The " + name + " did not stop in time!");
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stops an executor and waits for as long as the tasks it was given take to finish, for tasks that must not be
+     * interrupted
+     * @param service The executor, or null if it was never started
+     * @param name What the threads of the executor are, for the message while they are waited for
+     */
+    private void awaitExecutor(@Nullable ExecutorService service, @NotNull String name) {
+        if (service == null) {
+            return;
+        }
+
+        service.shutdown();
+        try {
+            while (!service.awaitTermination(1L, TimeUnit.SECONDS)) {
+                this.getLogger().info("Waiting for the " + name + " to finish...");
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * Loads values from {@link #getConfig()}.
      */
@@ -140,6 +380,27 @@ public class PartyPlugin extends ZapPlugin implements ZAPParty {
         config.addDefault(ConfigNames.PARTY_PREFIX, PARTY_PREFIX);
         config.addDefault(ConfigNames.SPY_PARTY_PREFIX, SPY_PARTY_PREFIX);
         config.addDefault(ConfigNames.AUTO_CONSOLE_SPY, AUTO_CONSOLE_SPY);
+        config.addDefault(ConfigNames.PARTY_EXECUTION_MODE, PARTY_EXECUTION_MODE);
+        config.addDefault(ConfigNames.PARTY_MAILBOX_BATCH_SIZE, PARTY_MAILBOX_BATCH_SIZE);
+        config.addDefault(ConfigNames.INVITATION_TIMING_WHEEL, INVITATION_TIMING_WHEEL);
+        config.addDefault(ConfigNames.INVITATION_LAZY_EXPIRY, INVITATION_LAZY_EXPIRY);
+        config.addDefault(ConfigNames.INVITATION_SWEEP_INTERVAL, INVITATION_SWEEP_INTERVAL);
+        config.addDefault(ConfigNames.INVITATION_SWEEP_BUDGET, INVITATION_SWEEP_BUDGET);
+        config.addDefault(ConfigNames.CONSOLE_SPY_RENDER_CACHE_SIZE, CONSOLE_SPY_RENDER_CACHE_SIZE);
+        config.addDefault(ConfigNames.CONSOLE_SPY_BUFFERED, CONSOLE_SPY_BUFFERED);
+        config.addDefault(ConfigNames.CONSOLE_SPY_BUFFER_CAPACITY, CONSOLE_SPY_BUFFER_CAPACITY);
+        config.addDefault(ConfigNames.CONSOLE_SPY_BATCH_SIZE, CONSOLE_SPY_BATCH_SIZE);
+        config.addDefault(ConfigNames.CONSOLE_SPY_OVERFLOW_POLICY, CONSOLE_SPY_OVERFLOW_POLICY);
+        config.addDefault(ConfigNames.CONSOLE_SPY_SAMPLE_RATE, CONSOLE_SPY_SAMPLE_RATE);
+        config.addDefault(ConfigNames.OFFLINE_NAME_CACHE_SIZE, OFFLINE_NAME_CACHE_SIZE);
+        config.addDefault(ConfigNames.PARTY_LIST_PAGE_SIZE, PARTY_LIST_PAGE_SIZE);
+        config.addDefault(ConfigNames.OFFLINE_LOOKUP_THREADS, OFFLINE_LOOKUP_THREADS);
+        config.addDefault(ConfigNames.OFFLINE_LOOKUP_QUEUE_CAPACITY, OFFLINE_LOOKUP_QUEUE_CAPACITY);
+        config.addDefault(ConfigNames.PERSIST_PARTIES, PERSIST_PARTIES);
+        config.addDefault(ConfigNames.PARTY_SNAPSHOT_INTERVAL, PARTY_SNAPSHOT_INTERVAL);
+        config.addDefault(ConfigNames.JOURNAL_PARTIES, JOURNAL_PARTIES);
+        config.addDefault(ConfigNames.PARTY_STORAGE, PARTY_STORAGE);
+        config.addDefault(ConfigNames.PARTY_JOURNAL_COMMIT_INTERVAL, PARTY_JOURNAL_COMMIT_INTERVAL);
 
         config.options().copyDefaults(true);
         this.saveConfig();
@@ -161,6 +422,7 @@ public class PartyPlugin extends ZapPlugin implements ZAPParty {
             throws LoadFailureException {
         this.translationRegistry = TranslationRegistry.create(key);
         this.translationRegistry.defaultLocale(this.defaultLocale);
+        this.compiledTranslations = new CompiledTranslations(this.defaultLocale);
 
         this.tryLoadTranslations(this.findLocalizationDirectory());
 
@@ -346,6 +608,13 @@ public class PartyPlugin extends ZapPlugin implements ZAPParty {
             this.translationRegistry.registerAll(locale, (Set) properties.keySet(),
                     translationKey -> new MessageFormat(properties.getProperty(translationKey), locale));
 
+            // the server still renders through the registry, the plugin renders through compiled templates
+            int uncompiled = this.compiledTranslations.registerAll(locale, (Map) properties);
+            if (uncompiled > 0) {
+                this.getLogger().info(uncompiled + " translations in " + path + " use MessageFormat features " +
+                        "that cannot be compiled, they will be formatted with MessageFormat.");
+            }
+
             if (this.defaultLocale.equals(locale)) {
                 this.defaultLocaleTranslationsLoaded = true;
             }
@@ -448,16 +717,491 @@ public class PartyPlugin extends ZapPlugin implements ZAPParty {
      */
     private void initPartyTracker() {
         this.partyTracker = new PartyTracker();
+        Bukkit.getPluginManager().registerEvents(new PartyPresenceListener(this.partyTracker), this);
+    }
+
+    /**
+     * Initializes the {@link PartyExecutor} from the configured {@link PartyExecutionMode}.
+     */
+    private void initPartyExecutor() {
+        String modeName = this.getConfig().getString(ConfigNames.PARTY_EXECUTION_MODE, PARTY_EXECUTION_MODE);
+        PartyExecutionMode mode;
+        try {
+            mode = PartyExecutionMode.valueOf(modeName.toUpperCase(Locale.ROOT));
+        }
+        catch (IllegalArgumentException e) {
+            this.getLogger().warning("Unknown party execution mode " + modeName + ", using " +
+                    PARTY_EXECUTION_MODE + ".");
+            mode = PartyExecutionMode.valueOf(PARTY_EXECUTION_MODE);
+        }
+
+        if (mode == PartyExecutionMode.DIRECT) {
+            this.partyExecutor = new DirectPartyExecutor();
+            return;
+        }
+
+        int batchSize = Math.max(1, this.getConfig().getInt(ConfigNames.PARTY_MAILBOX_BATCH_SIZE,
+                PARTY_MAILBOX_BATCH_SIZE));
+        MailboxPartyExecutor mailboxPartyExecutor = new MailboxPartyExecutor(this.getLogger(), batchSize);
+        Bukkit.getScheduler().runTaskTimer(this, mailboxPartyExecutor::drain, 1L, 1L);
+
+        this.partyExecutor = mailboxPartyExecutor;
+    }
+
+    /**
+     * Initializes the {@link TickScheduler} or {@link InvitationSweeper} that expires invitations and the
+     * {@link InvitationIndex}.
+     */
+    private void initInvitationScheduler() {
+        this.invitationIndex = new InvitationIndex();
+
+        if (this.getConfig().getBoolean(ConfigNames.INVITATION_LAZY_EXPIRY, INVITATION_LAZY_EXPIRY)) {
+            int sweepInterval = Math.max(1, this.getConfig().getInt(ConfigNames.INVITATION_SWEEP_INTERVAL,
+                    INVITATION_SWEEP_INTERVAL));
+            int sweepBudget = Math.max(1, this.getConfig().getInt(ConfigNames.INVITATION_SWEEP_BUDGET,
+                    INVITATION_SWEEP_BUDGET));
+            this.invitationSweeper = new InvitationSweeper(sweepInterval, sweepBudget);
+            Bukkit.getScheduler().runTaskTimer(this, this.invitationSweeper::tick, 1L, 1L);
+        }
+        else if (this.getConfig().getBoolean(ConfigNames.INVITATION_TIMING_WHEEL, INVITATION_TIMING_WHEEL)) {
+            HashedTimingWheel timingWheel = new HashedTimingWheel(this.getLogger(), INVITATION_TIMING_WHEEL_SIZE);
+            Bukkit.getScheduler().runTaskTimer(this, timingWheel::tick, 1L, 1L);
+            this.invitationScheduler = timingWheel;
+        }
+        else {
+            this.invitationScheduler = new BukkitTickScheduler(this);
+        }
+    }
+
+    /**
+     * Initializes the {@link BufferedSpySink} for console spies if they are configured to be buffered.
+     */
+    private void initConsoleSpySink() {
+        FileConfiguration config = this.getConfig();
+        if (!config.getBoolean(ConfigNames.AUTO_CONSOLE_SPY, AUTO_CONSOLE_SPY)
+                || !config.getBoolean(ConfigNames.CONSOLE_SPY_BUFFERED, CONSOLE_SPY_BUFFERED)) {
+            return;
+        }
+
+        String policyName = config.getString(ConfigNames.CONSOLE_SPY_OVERFLOW_POLICY, CONSOLE_SPY_OVERFLOW_POLICY);
+        SpyOverflowPolicy policy;
+        try {
+            policy = SpyOverflowPolicy.valueOf(policyName.toUpperCase(Locale.ROOT));
+        }
+        catch (IllegalArgumentException e) {
+            this.getLogger().warning("Unknown console spy overflow policy " + policyName + ", using " +
+                    CONSOLE_SPY_OVERFLOW_POLICY + ".");
+            policy = SpyOverflowPolicy.valueOf(CONSOLE_SPY_OVERFLOW_POLICY);
+        }
+
+        this.consoleSpySink = new BufferedSpySink(Bukkit.getConsoleSender(), this.getLogger(),
+                Math.max(1, config.getInt(ConfigNames.CONSOLE_SPY_BUFFER_CAPACITY, CONSOLE_SPY_BUFFER_CAPACITY)),
+                Math.max(1, config.getInt(ConfigNames.CONSOLE_SPY_BATCH_SIZE, CONSOLE_SPY_BATCH_SIZE)),
+                policy, Math.max(1, config.getInt(ConfigNames.CONSOLE_SPY_SAMPLE_RATE, CONSOLE_SPY_SAMPLE_RATE)));
+        this.consoleSpySinkService = newDaemonExecutor("ZAPParty Console Spy");
+        this.consoleSpySinkService.scheduleWithFixedDelay(this.consoleSpySink::drain, 50L, 50L,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Initializes the {@link OfflinePlayerResolver} and the bounded pool of threads its lookups run on.
+     * Lookups are rejected once the pool's queue is full, so that they never run on the main thread.
+     */
+    private void initOfflinePlayerResolver() {
+        FileConfiguration config = this.getConfig();
+        int threads = Math.max(1, config.getInt(ConfigNames.OFFLINE_LOOKUP_THREADS, OFFLINE_LOOKUP_THREADS));
+        int queueCapacity = Math.max(1, config.getInt(ConfigNames.OFFLINE_LOOKUP_QUEUE_CAPACITY,
+                OFFLINE_LOOKUP_QUEUE_CAPACITY));
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.offlineLookupService = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> newDaemonThread(runnable, "ZAPParty Player Lookup #" + threadCount.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.offlinePlayerResolver = new OfflinePlayerResolver(this.getServer(), this.getLogger(),
+                this.offlineLookupService, OfflinePlayerResolver.mainThreadExecutor(this));
+    }
+
+    /**
+     * Initializes the {@link SpyRegistry} and {@link SpySessionTracker} and subscribes the console to every party if
+     * configured.
+     * @param renderer A {@link TranslatableComponentRenderer} to render messages for the console
+     */
+    private void initSpyRegistry(@NotNull TranslatableComponentRenderer<Locale> renderer) {
+        this.spyRegistry = new SpyRegistry();
+        this.spySessionTracker = new SpySessionTracker(this.spyRegistry);
+        Bukkit.getPluginManager().registerEvents(this.spySessionTracker, this);
+
+        FileConfiguration config = this.getConfig();
+        if (config.getBoolean(ConfigNames.AUTO_CONSOLE_SPY, AUTO_CONSOLE_SPY)) {
+            // the same notices are sent by many parties, so they are only rendered once
+            this.consoleSpyRenderCache = new RenderCache(Math.max(1,
+                    config.getInt(ConfigNames.CONSOLE_SPY_RENDER_CACHE_SIZE, CONSOLE_SPY_RENDER_CACHE_SIZE)));
+
+            Audience console = (this.consoleSpySink != null) ? this.consoleSpySink : Bukkit.getConsoleSender();
+            this.spyRegistry.subscribe(new PreRenderedAudience(console, renderer, this.defaultLocale,
+                    this.consoleSpyRenderCache));
+        }
+    }
+
+    /**
+     * Initializes what every new or restored {@link Party} is created with.
+     */
+    private void initPartyFactory() {
+        this.random = new Random();
+        this.offlineNameCache = new OfflineNameCache(Math.max(1, this.getConfig()
+                .getInt(ConfigNames.OFFLINE_NAME_CACHE_SIZE, OFFLINE_NAME_CACHE_SIZE)));
+        Bukkit.getPluginManager().registerEvents(this.offlineNameCache, this);
+        this.playerNamer = this.cacheNames(new SingleTextColorOfflinePlayerNamer());
+        this.partyLister = new BasicPartyLister(this,
+                this.cacheNames(new SingleTextColorOfflinePlayerNamer(NamedTextColor.GREEN)),
+                this.cacheNames(new SingleTextColorOfflinePlayerNamer(NamedTextColor.RED)),
+                this.cacheNames(new SingleTextColorOfflinePlayerNamer(NamedTextColor.BLUE)),
+                Math.max(1, this.getConfig().getInt(ConfigNames.PARTY_LIST_PAGE_SIZE, PARTY_LIST_PAGE_SIZE)),
+                this.offlinePlayerResolver);
+    }
+
+    /**
+     * Creates a party with its own {@link InvitationManager}
+     * @param id The unique identifier of the party
+     * @param owner The owner of the party
+     * @param partySettings The settings of the party
+     * @return The new party
+     */
+    private @NotNull Party createParty(@NotNull UUID id, @NotNull PartyMember owner,
+                                       @NotNull PartySettings partySettings) {
+        InvitationManager invitationManager = (this.invitationSweeper != null)
+                ? new TimedInvitationManager(this, this.playerNamer, this.invitationSweeper, this.invitationIndex)
+                : new TimedInvitationManager(this, this.playerNamer, this.invitationScheduler, this.invitationIndex);
+
+        return new Party(id, this.random, owner, partySettings, PartyMember::new, invitationManager,
+                Collections.emptyList(), this.partyLister, this.playerNamer, this.spyRegistry);
+    }
+
+    /**
+     * Restores the parties saved by the last snapshot and the {@link PartyJournal}, then periodically saves every
+     * party from then on and journals every change in between, if parties are configured to persist.
+     * @param timer The enable timer, used to report how long restoring took
+     */
+    private void initPartySnapshots(@NotNull StopWatch timer) {
+        FileConfiguration config = this.getConfig();
+        if (!config.getBoolean(ConfigNames.PERSIST_PARTIES, PERSIST_PARTIES)) {
+            return;
+        }
+
+        String storageName = config.getString(ConfigNames.PARTY_STORAGE, PARTY_STORAGE);
+        PartyStorageMode storageMode;
+        try {
+            storageMode = PartyStorageMode.valueOf(storageName.toUpperCase(Locale.ROOT));
+        }
+        catch (IllegalArgumentException e) {
+            this.getLogger().warning("Unknown party storage " + storageName + ", using " + PARTY_STORAGE + ".");
+            storageMode = PartyStorageMode.valueOf(PARTY_STORAGE);
+        }
+
+        if (storageMode == PartyStorageMode.MAPPED) {
+            this.initMappedPartyStore(timer);
+            return;
+        }
+
+        this.partySnapshotStore = new PartySnapshotStore(this.getDataFolder().toPath()
+                .resolve(PARTY_SNAPSHOT_FILE_NAME));
+        if (config.getBoolean(ConfigNames.JOURNAL_PARTIES, JOURNAL_PARTIES)) {
+            try {
+                this.partyJournal = new PartyJournal(this.getDataFolder().toPath()
+                        .resolve(PARTY_JOURNAL_DIRECTORY_NAME), this.getLogger());
+            }
+            catch (IOException e) {
+                this.getLogger().log(Level.WARNING, "Failed to open the party journal, changes will only be " +
+                        "saved by snapshots!", e);
+            }
+        }
+        this.restoreParties(timer);
+
+        if (this.partyJournal != null) {
+            long commitInterval = Math.max(1, config.getInt(ConfigNames.PARTY_JOURNAL_COMMIT_INTERVAL,
+                    PARTY_JOURNAL_COMMIT_INTERVAL));
+            this.partyJournalService = newDaemonExecutor("ZAPParty Journal");
+            this.partyJournalService.scheduleWithFixedDelay(this.partyJournal::drain, commitInterval,
+                    commitInterval, TimeUnit.MILLISECONDS);
+        }
+
+        long interval = Math.max(1, config.getInt(ConfigNames.PARTY_SNAPSHOT_INTERVAL, PARTY_SNAPSHOT_INTERVAL));
+        this.partySnapshotService = newDaemonExecutor("ZAPParty Snapshot");
+        Bukkit.getScheduler().runTaskTimer(this, () -> this.snapshotParties(this.partySnapshotService),
+                interval * 20L, interval * 20L);
+    }
+
+    /**
+     * Restores the parties saved by the last snapshot and starts tracking them.
+     * @param timer The enable timer, used to report how long restoring took
+     */
+    private void restoreParties(@NotNull StopWatch timer) {
+        long start = timer.getTime();
+
+        List<PartySnapshot> snapshots;
+        try {
+            snapshots = this.partySnapshotStore.read();
+        }
+        catch (IOException e) {
+            this.getLogger().log(Level.WARNING, "Failed to read the party snapshot, no parties were restored!", e);
+            return;
+        }
+
+        if (this.partyJournal != null) {
+            try {
+                snapshots = this.partyJournal.replay(snapshots);
+            }
+            catch (IOException e) {
+                this.getLogger().log(Level.WARNING, "Failed to replay the party journal, parties were restored " +
+                        "as of the last snapshot!", e);
+            }
+        }
+
+        List<Party> parties = new ArrayList<>(snapshots.size());
+        Set<UUID> restoredPlayers = new HashSet<>();
+        for (PartySnapshot snapshot : snapshots) {
+            Party party = this.restoreParty(snapshot, restoredPlayers);
+            if (party != null) {
+                parties.add(party);
+            }
+        }
+        this.partyTracker.trackParties(parties);
+
+        this.getLogger().info("Restored " + parties.size() + " parties; ~" + (timer.getTime() - start) +
+                "ms elapsed.");
+    }
+
+    /**
+     * Creates a stored party with its members, settings and invitations, and persists its changes from then on
+     * @param snapshot The stored party
+     * @param restoredPlayers The players that have already been restored to other parties, who are skipped
+     * @return The party, or null if all of its members have already been restored
+     */
+    private @Nullable Party restoreParty(@NotNull PartySnapshot snapshot, @NotNull Set<UUID> restoredPlayers) {
+        PartyMember owner = null;
+        List<PartyMember> members = new ArrayList<>(snapshot.members().size());
+        for (PartySnapshot.MemberSnapshot memberSnapshot : snapshot.members()) {
+            // a player can only be in one party, which only breaks if they moved while the snapshot was taken
+            if (!restoredPlayers.add(memberSnapshot.playerUUID())) {
+                continue;
+            }
+
+            PartyMember member = new PartyMember(this.getServer(), memberSnapshot.playerUUID());
+            member.setMuted(memberSnapshot.muted());
+            member.setInPartyChat(memberSnapshot.inPartyChat());
+            if (memberSnapshot.playerUUID().equals(snapshot.ownerUUID())) {
+                owner = member;
+            }
+
+            members.add(member);
+        }
+
+        if (members.isEmpty()) {
+            return null;
+        }
+
+        Party party = this.createParty(snapshot.id(), (owner != null) ? owner : members.get(0),
+                snapshot.toSettings());
+        for (PartyMember member : members) {
+            party.restoreMember(member);
+        }
+        this.persistChanges(party, false);
+        for (PartySnapshot.InvitationSnapshot invitation : snapshot.invitations()) {
+            if (!party.hasMember(invitation.inviteeUUID())) {
+                party.getInvitationManager().restoreInvitation(party, invitation.inviteeUUID(),
+                        invitation.inviterUUID());
+            }
+        }
+
+        return party;
+    }
+
+    /**
+     * Records every change to a party in the {@link PartyJournal} if parties are journaled, or writes it to the
+     * {@link MappedPartyStore} if parties are mapped
+     * @param party The party to persist
+     * @param created Whether the party is new rather than restored
+     * @return The party
+     */
+    private @NotNull Party persistChanges(@NotNull Party party, boolean created) {
+        if (this.partyJournal != null) {
+            if (created) {
+                this.partyJournal.record(new PartyChange(party, PartyChange.Type.CREATED,
+                        party.getOwner().orElseThrow()));
+            }
+
+            party.registerChangeHandler(this.partyJournal::record);
+        }
+        else if (this.mappedPartyStore != null) {
+            if (created) {
+                this.storeMappedParty(party);
+            }
+
+            party.registerChangeHandler(change -> this.storeMappedParty(change.party()));
+        }
+
+        return party;
+    }
+
+    /**
+     * Starts mapping the {@link MappedPartyStore} and loads its parties on the main thread once one of their members
+     * is online.
+     * Every party is written to it as it changes, and periodically to catch up with invitations and chat toggles.
+     * Parties are only captured and written on the main thread, where they change, so a write can never race with a
+     * change and store a stale party or one that was just disbanded.
+     * @param timer The enable timer, used to report how long mapping took
+     */
+    private void initMappedPartyStore(@NotNull StopWatch timer) {
+        long start = timer.getTime();
+        try {
+            this.mappedPartyStore = new MappedPartyStore(this.getDataFolder().toPath()
+                    .resolve(PARTY_STATE_FILE_NAME), PARTY_STATE_INITIAL_CAPACITY);
+        }
+        catch (IOException e) {
+            this.getLogger().log(Level.WARNING, "Failed to map the party state file, parties will not be " +
+                    "persisted!", e);
+            return;
+        }
+
+        this.partyTracker.setPartyLoader(new PartyLoader() {
+            @Override
+            public boolean mayHaveParty(@NotNull UUID playerUUID) {
+                return PartyPlugin.this.mappedPartyStore.getPartyId(playerUUID) != null;
+            }
+
+            @Override
+            public @Nullable Party loadParty(@NotNull UUID playerUUID) {
+                UUID partyId = PartyPlugin.this.mappedPartyStore.getPartyId(playerUUID);
+                PartySnapshot snapshot = (partyId != null) ? PartyPlugin.this.mappedPartyStore.read(partyId) : null;
+                if (snapshot == null) {
+                    return null;
+                }
+
+                // stale records may still put a member of a tracked party in this one, who must not be in both
+                Set<UUID> trackedPlayers = new HashSet<>();
+                for (PartySnapshot.MemberSnapshot member : snapshot.members()) {
+                    if (PartyPlugin.this.partyTracker.getPartyForPlayer(member.playerUUID()).isPresent()) {
+                        trackedPlayers.add(member.playerUUID());
+                    }
+                }
+
+                Party party = PartyPlugin.this.restoreParty(snapshot, trackedPlayers);
+                if (!trackedPlayers.isEmpty()) {
+                    // replaces the stale records, or removes them if every member is in another party
+                    if (party != null) {
+                        PartyPlugin.this.storeMappedParty(party);
+                    }
+                    else {
+                        PartyPlugin.this.mappedPartyStore.remove(snapshot.id());
+                    }
+                }
+
+                return party;
+            }
+        });
+        // players who are already online, such as after a reload, will not join again
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            this.partyTracker.loadPartyForPlayer(player.getUniqueId());
+        }
+        this.getLogger().info("Mapped " + this.mappedPartyStore.size() + " parties; ~" +
+                (timer.getTime() - start) + "ms elapsed.");
+
+        long interval = Math.max(1, this.getConfig().getInt(ConfigNames.PARTY_SNAPSHOT_INTERVAL,
+                PARTY_SNAPSHOT_INTERVAL));
+        this.partySnapshotService = newDaemonExecutor("ZAPParty Snapshot");
+        Bukkit.getScheduler().runTaskTimer(this, () -> {
+            this.storeMappedParties();
+            // only writing the store to the disk is left to another thread, since it can block on I/O
+            this.partySnapshotService.execute(this.mappedPartyStore::force);
+        }, interval * 20L, interval * 20L);
+    }
+
+    /**
+     * Writes a party to the {@link MappedPartyStore}, or removes it once it has no members. This must be called on the
+     * main thread.
+     * @param party The party to write
+     */
+    private void storeMappedParty(@NotNull Party party) {
+        PartySnapshot snapshot = PartySnapshot.capture(party);
+        if (snapshot == null) {
+            this.mappedPartyStore.remove(party.getId());
+            return;
+        }
+
+        try {
+            this.mappedPartyStore.write(snapshot);
+        }
+        catch (IOException e) {
+            this.getLogger().log(Level.WARNING, "Failed to grow the party state file, party " + party.getId() +
+                    " was not saved!", e);
+        }
+    }
+
+    /**
+     * Writes every loaded party to the {@link MappedPartyStore}. This must be called on the main thread.
+     */
+    private void storeMappedParties() {
+        for (Party party : this.partyTracker.getParties()) {
+            this.storeMappedParty(party);
+        }
+    }
+
+    /**
+     * Captures every party and saves it to the {@link PartySnapshotStore}, then compacts the {@link PartyJournal} into
+     * it. Parties are captured on the main thread, where they change, so this must be called on the main thread.
+     * @param executor The executor to encode and save the captured parties on, which must save them in order
+     */
+    private void snapshotParties(@NotNull Executor executor) {
+        // changes journaled before the rotation are covered by the capture, so their segments can be deleted after
+        long journalGeneration = (this.partyJournal != null) ? this.partyJournal.rotate() : -1L;
+
+        List<Party> parties = this.partyTracker.getParties();
+        List<PartySnapshot> snapshots = new ArrayList<>(parties.size());
+        for (Party party : parties) {
+            PartySnapshot snapshot = PartySnapshot.capture(party);
+            if (snapshot != null) {
+                snapshots.add(snapshot);
+            }
+        }
+
+        executor.execute(() -> this.saveSnapshots(snapshots, journalGeneration));
+    }
+
+    /**
+     * Saves captured parties to the {@link PartySnapshotStore} and deletes the {@link PartyJournal} segments they
+     * cover.
+     * @param snapshots The captured parties
+     * @param journalGeneration The generation the journal was rotated to before the capture, or -1 if there is no
+     *                          journal
+     */
+    private void saveSnapshots(@NotNull List<PartySnapshot> snapshots, long journalGeneration) {
+        try {
+            this.partySnapshotStore.write(snapshots);
+        }
+        catch (IOException e) {
+            this.getLogger().log(Level.WARNING, "Failed to save the party snapshot!", e);
+            return;
+        }
+
+        if (journalGeneration != -1L) {
+            // starts the segment of the rotation if the journal thread has not yet
+            this.partyJournal.drain();
+            this.partyJournal.deleteSegmentsBefore(journalGeneration);
+        }
     }
 
     /**
      * Initializes the {@link AsyncChatHandler}.
      * @param miniMessage A {@link MiniMessage} instance to parse messages
+     * @param renderer A {@link TranslatableComponentRenderer} to render party chat messages
      */
-    private void initAsyncChatEventHandler(@NotNull MiniMessage miniMessage) {
+    private void initAsyncChatEventHandler(@NotNull MiniMessage miniMessage,
+                                           @NotNull TranslatableComponentRenderer<Locale> renderer) {
         this.asyncChatHandler = new BasicAsyncChatHandler(this, this.partyTracker,
                 miniMessage.parse(this.getConfig().getString(ConfigNames.PARTY_PREFIX, PARTY_PREFIX)),
-                miniMessage.parse(this.getConfig().getString(ConfigNames.SPY_PARTY_PREFIX, SPY_PARTY_PREFIX)));
+                miniMessage.parse(this.getConfig().getString(ConfigNames.SPY_PARTY_PREFIX, SPY_PARTY_PREFIX)),
+                renderer, this.spyRegistry);
         Bukkit.getPluginManager().registerEvents(this.asyncChatHandler, this);
     }
 
@@ -471,23 +1215,22 @@ public class PartyPlugin extends ZapPlugin implements ZAPParty {
         this.commandManager = new CommandManager(this, globalTranslator);
         this.commandManager.registerDefaultTranslations();
 
-        Random random = new Random();
-        OfflinePlayerNamer playerNamer = new SingleTextColorOfflinePlayerNamer();
-        PartyLister partyLister = new BasicPartyLister(this,
-                new SingleTextColorOfflinePlayerNamer(NamedTextColor.GREEN),
-                new SingleTextColorOfflinePlayerNamer(NamedTextColor.RED),
-                new SingleTextColorOfflinePlayerNamer(NamedTextColor.BLUE));
-        boolean consoleSpies = this.getConfig().getBoolean(ConfigNames.AUTO_CONSOLE_SPY, AUTO_CONSOLE_SPY);
         this.commandManager.registerCommand(new PartyCommand(this.commandManager, new BasicPageBuilder(),
-                this.partyTracker, owner ->  {
-            List<Audience> spies = new ArrayList<>();
-            if (consoleSpies) {
-                spies.add(new PreRenderedAudience(Bukkit.getConsoleSender(), renderer, this.defaultLocale));
-            }
+                this.partyTracker, owner -> this.persistChanges(this.createParty(UUID.randomUUID(),
+                new PartyMember(owner), new PartySettings()), true), this.partyExecutor, this.invitationIndex,
+                this.spySessionTracker, this.cacheNames(new SingleTextColorOfflinePlayerNamer(null)),
+                this.offlinePlayerResolver, renderer, this.defaultLocale));
+    }
 
-            return new Party(random, new PartyMember(owner), new PartySettings(), PartyMember::new,
-                        new TimedInvitationManager(this, playerNamer), spies, partyLister, playerNamer);
-            }, new SingleTextColorOfflinePlayerNamer(null), renderer, this.defaultLocale));
+    /**
+     * Wraps a namer so that it does not look up the names of offline players again, sharing the plugin's
+     * {@link OfflineNameCache} with every other wrapped namer.
+     * @param namer The namer to wrap
+     * @return The caching namer
+     */
+    private @NotNull OfflinePlayerNamer cacheNames(@NotNull OfflinePlayerNamer namer) {
+        return new CachingOfflinePlayerNamer(namer, this.offlineNameCache, Math.max(1,
+                this.getConfig().getInt(ConfigNames.OFFLINE_NAME_CACHE_SIZE, OFFLINE_NAME_CACHE_SIZE)));
     }
 
     @Override
@@ -495,4 +1238,52 @@ public class PartyPlugin extends ZapPlugin implements ZAPParty {
         return this.partyTracker;
     }
 
+    /**
+     * Gets the {@link InvitationSweeper} for its sweep metrics
+     * @return An optional of the sweeper that is present if invitations expire lazily
+     */
+    public @NotNull Optional<InvitationSweeper> getInvitationSweeper() {
+        return Optional.ofNullable(this.invitationSweeper);
+    }
+
+    /**
+     * Gets the {@link SpyRegistry} to subscribe to messages from every party
+     * @return The spy registry
+     */
+    public @NotNull SpyRegistry getSpyRegistry() {
+        return this.spyRegistry;
+    }
+
+    /**
+     * Gets the {@link PartyJournal} for its throughput and fsync latency metrics
+     * @return An optional of the journal that is present if party changes are journaled
+     */
+    public @NotNull Optional<PartyJournal> getPartyJournal() {
+        return Optional.ofNullable(this.partyJournal);
+    }
+
+    /**
+     * Gets the {@link MappedPartyStore} for its size and capacity
+     * @return An optional of the store that is present if parties are mapped
+     */
+    public @NotNull Optional<MappedPartyStore> getMappedPartyStore() {
+        return Optional.ofNullable(this.mappedPartyStore);
+    }
+
+    /**
+     * Gets the {@link RenderCache} of the automatic console spy for its hit rate
+     * @return An optional of the cache that is present if console spies are added automatically
+     */
+    public @NotNull Optional<RenderCache> getConsoleSpyRenderCache() {
+        return Optional.ofNullable(this.consoleSpyRenderCache);
+    }
+
+    /**
+     * Gets the {@link BufferedSpySink} of the automatic console spy for its queue metrics
+     * @return An optional of the sink that is present if console spies are buffered
+     */
+    public @NotNull Optional<BufferedSpySink> getConsoleSpySink() {
+        return Optional.ofNullable(this.consoleSpySink);
+    }
+
 }
@@ -2,27 +2,44 @@ package io.github.zap.party.plugin.chat;
 
 import io.github.zap.party.Party;
 import io.github.zap.party.member.PartyMember;
+import io.github.zap.party.spy.SpyRegistry;
+import io.github.zap.party.spy.SpyTopic;
 import io.github.zap.party.tracker.PartyTracker;
 import io.papermc.paper.chat.ChatRenderer;
 import io.papermc.paper.event.player.AsyncChatEvent;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.renderer.TranslatableComponentRenderer;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Basic implementation of a {@link AsyncChatHandler}.
+ * Party chat renders are shared between viewers with the same spy status, class and locale only if the event's
+ * previous {@link ChatRenderer} is known not to depend on the viewer, which is the case for the server's default
+ * renderer and any renderer made with {@link ChatRenderer#viewerUnaware(ChatRenderer.ViewerUnaware)}. Every other
+ * renderer is called once per viewer.
  */
 public class BasicAsyncChatHandler implements AsyncChatHandler {
 
+    private final static Class<?> DEFAULT_RENDERER_CLASS = ChatRenderer.defaultRenderer().getClass();
+
+    private final static Class<?> VIEWER_UNAWARE_RENDERER_CLASS = ChatRenderer.viewerUnaware((source,
+            sourceDisplayName, message) -> message).getClass();
+
     private final Plugin plugin;
 
     private final PartyTracker partyTracker;
@@ -31,6 +48,10 @@ public class BasicAsyncChatHandler implements AsyncChatHandler {
 
     private final Component spyPartyPrefix;
 
+    private final TranslatableComponentRenderer<Locale> renderer;
+
+    private final SpyRegistry spyRegistry;
+
     /**
      * Creates a simple party chat handler that deals with parties being muted and party chat along with the ability to
      * include certain audiences for party chat messages and test if certain audiences may be included.
@@ -38,13 +59,33 @@ public class BasicAsyncChatHandler implements AsyncChatHandler {
      * @param partyTracker A tracker for parties to handle {@link AsyncChatEvent}s with
      * @param partyPrefix A prefix for party chat messages
      * @param spyPartyPrefix A prefix for spied party chat messages
+     * @param renderer A renderer that renders party chat messages for players in their locale, or null to leave
+     *                 translations for the server to render
+     * @param spyRegistry Spy subscriptions that apply to every party
      */
     public BasicAsyncChatHandler(@NotNull Plugin plugin, @NotNull PartyTracker partyTracker,
-                                 @NotNull Component partyPrefix, @NotNull Component spyPartyPrefix) {
+                                 @NotNull Component partyPrefix, @NotNull Component spyPartyPrefix,
+                                 @Nullable TranslatableComponentRenderer<Locale> renderer,
+                                 @NotNull SpyRegistry spyRegistry) {
         this.plugin = plugin;
         this.partyTracker = partyTracker;
         this.partyPrefix = partyPrefix;
         this.spyPartyPrefix = spyPartyPrefix;
+        this.renderer = renderer;
+        this.spyRegistry = spyRegistry;
+    }
+
+    /**
+     * Creates a simple party chat handler that leaves translations in party chat messages for the server to render
+     * and only includes the spies of each party.
+     * @param plugin The plugin this chat handler belongs to
+     * @param partyTracker A tracker for parties to handle {@link AsyncChatEvent}s with
+     * @param partyPrefix A prefix for party chat messages
+     * @param spyPartyPrefix A prefix for spied party chat messages
+     */
+    public BasicAsyncChatHandler(@NotNull Plugin plugin, @NotNull PartyTracker partyTracker,
+                                 @NotNull Component partyPrefix, @NotNull Component spyPartyPrefix) {
+        this(plugin, partyTracker, partyPrefix, spyPartyPrefix, null, new SpyRegistry());
     }
 
     @EventHandler
@@ -77,44 +118,127 @@ public class BasicAsyncChatHandler implements AsyncChatHandler {
             event.setCancelled(true);
         }
         else {
-            Iterator<Audience> iterator = event.viewers().iterator();
-            while (iterator.hasNext()) {
-                Audience audience = iterator.next();
-                if (!(audience instanceof Player player && party.hasMember(player))) {
+            Set<Audience> viewers = event.viewers();
+            boolean cleared;
+            try {
+                viewers.clear();
+                cleared = true;
+            }
+            catch (UnsupportedOperationException e) {
+                cleared = false;
+            }
+
+            if (cleared) {
+                try {
+                    viewers.addAll(party.getRecipients());
+                }
+                catch (UnsupportedOperationException e) {
+                    this.plugin.getLogger().warning("Could not add the party to the party chat message from " +
+                            event.getPlayer().getName() + " due to an event being called which does not " +
+                            "support audience addition!");
+                }
+            }
+            else {
+                this.filterViewers(event, party);
+            }
+
+            boolean globalSpies = this.spyRegistry.hasSubscriptions();
+            if (globalSpies) {
+                this.spyRegistry.forEachSubscriber(party, SpyTopic.CHAT, audience -> {
                     try {
-                        iterator.remove();
+                        viewers.add(audience);
                     }
                     catch (UnsupportedOperationException e) {
-                        this.plugin.getLogger().warning("Could not prevent sending a party chat message to " +
-                                audience + " from " + event.getPlayer().getName() + " due to an event being called " +
-                                "which does not support audience removal!");
+                        this.plugin.getLogger().warning("Could not add a spy to the party chat message to " +
+                                audience + " from " + event.getPlayer().getName() + " due to an event being " +
+                                "called which does not support audience addition!");
                     }
-                }
+                });
             }
 
-            for (Audience audience : party.getSpyAudiences()) {
+            ChatRenderer oldRenderer = event.renderer();
+            // a render may only be shared between viewers if the wrapped renderer ignores who is viewing
+            Map<RenderKey, Component> renders = (DEFAULT_RENDERER_CLASS.isInstance(oldRenderer)
+                    || VIEWER_UNAWARE_RENDERER_CLASS.isInstance(oldRenderer)) ? new ConcurrentHashMap<>() : null;
+            event.renderer((source, sourceDisplayName, message, viewer) -> {
+                boolean spy = party.isSpyAudience(viewer) || (globalSpies
+                        && !(viewer instanceof Player member && party.hasMember(member))
+                        && this.spyRegistry.isSubscribed(party, SpyTopic.CHAT, viewer));
+                Locale locale = (viewer instanceof Player player) ? player.locale() : null;
+
+                if (renders == null) {
+                    return this.render(oldRenderer, spy, locale, source, sourceDisplayName, message, viewer);
+                }
+
+                return renders.computeIfAbsent(new RenderKey(spy, viewer.getClass(), locale),
+                        key -> this.render(oldRenderer, spy, locale, source, sourceDisplayName, message, viewer));
+            });
+        }
+    }
+
+    /**
+     * Renders a party chat message for a viewer.
+     * @param oldRenderer The renderer of the event before it was handled
+     * @param spy Whether the viewer is spying on the party
+     * @param locale The locale of the viewer, or null if they are not a player
+     * @param source The player that sent the message
+     * @param sourceDisplayName The display name of the player that sent the message
+     * @param message The message
+     * @param viewer The viewer
+     * @return The rendered message
+     */
+    private @NotNull Component render(@NotNull ChatRenderer oldRenderer, boolean spy, @Nullable Locale locale,
+                                      @NotNull Player source, @NotNull Component sourceDisplayName,
+                                      @NotNull Component message, @NotNull Audience viewer) {
+        Component rendered = Component.translatable("io.github.zap.party.chat.message.format",
+                spy ? this.spyPartyPrefix : this.partyPrefix,
+                oldRenderer.render(source, sourceDisplayName, message, viewer));
+
+        // the server would translate for the player's locale anyway, this skips its MessageFormat
+        return (this.renderer != null && locale != null)
+                ? this.renderer.render(rendered, locale)
+                : rendered;
+    }
+
+    /**
+     * Removes every viewer that is not a member one by one and adds the spies, for viewer sets which cannot be cleared.
+     * @param event The event to filter
+     * @param party The party of the event's player
+     */
+    private void filterViewers(@NotNull AsyncChatEvent event, @NotNull Party party) {
+        Set<Audience> viewers = event.viewers();
+        Iterator<Audience> iterator = viewers.iterator();
+        while (iterator.hasNext()) {
+            Audience audience = iterator.next();
+            if (!(audience instanceof Player player && party.hasMember(player))) {
                 try {
-                    event.viewers().add(audience);
+                    iterator.remove();
                 }
                 catch (UnsupportedOperationException e) {
-                    this.plugin.getLogger().warning("Could not add an audience to the party chat message to " +
+                    this.plugin.getLogger().warning("Could not prevent sending a party chat message to " +
                             audience + " from " + event.getPlayer().getName() + " due to an event being called " +
-                            "which does not support audience addition!");
+                            "which does not support audience removal!");
                 }
             }
+        }
 
-            ChatRenderer oldRenderer = event.renderer();
-            event.renderer((source, sourceDisplayName, message, viewer) -> {
-                if (party.getSpyAudiences().contains(viewer)) {
-                    return Component.translatable("io.github.zap.party.chat.message.format", this.spyPartyPrefix,
-                            oldRenderer.render(source, sourceDisplayName, message, viewer));
-                }
-                else {
-                    return Component.translatable("io.github.zap.party.chat.message.format", this.partyPrefix,
-                            oldRenderer.render(source, sourceDisplayName, message, viewer));
-                }
-            });
+        for (Audience audience : party.getSpyAudiences()) {
+            try {
+                viewers.add(audience);
+            }
+            catch (UnsupportedOperationException e) {
+                this.plugin.getLogger().warning("Could not add an audience to the party chat message to " +
+                        audience + " from " + event.getPlayer().getName() + " due to an event being called " +
+                        "which does not support audience addition!");
+            }
         }
     }
 
+    /**
+     * Identifies viewers that see the same rendered party chat message.
+     */
+    private record RenderKey(boolean spy, @NotNull Class<?> viewerClass, @Nullable Locale locale) {
+
+    }
+
 }
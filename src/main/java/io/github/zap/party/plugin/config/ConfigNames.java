@@ -30,4 +30,110 @@ public final class ConfigNames {
      */
     public final static String AUTO_CONSOLE_SPY = "autoConsoleSpy";
 
+    /**
+     * The {@link io.github.zap.party.executor.PartyExecutionMode} used for party mutations
+     */
+    public final static String PARTY_EXECUTION_MODE = "partyExecutionMode";
+
+    /**
+     * The maximum number of queued mutations run for a single party per tick
+     */
+    public final static String PARTY_MAILBOX_BATCH_SIZE = "partyMailboxBatchSize";
+
+    /**
+     * Whether invitations expire through a single shared timing wheel instead of a scheduler task per invitation
+     */
+    public final static String INVITATION_TIMING_WHEEL = "invitationTimingWheel";
+
+    /**
+     * Whether invitations store a deadline and expire lazily instead of scheduling expiry
+     */
+    public final static String INVITATION_LAZY_EXPIRY = "invitationLazyExpiry";
+
+    /**
+     * The number of ticks between sweeps for lazily expiring invitations
+     */
+    public final static String INVITATION_SWEEP_INTERVAL = "invitationSweepInterval";
+
+    /**
+     * The maximum number of lazily expiring invitations examined by a single sweep
+     */
+    public final static String INVITATION_SWEEP_BUDGET = "invitationSweepBudget";
+
+    /**
+     * The maximum number of rendered messages cached for the automatic console spy
+     */
+    public final static String CONSOLE_SPY_RENDER_CACHE_SIZE = "consoleSpyRenderCacheSize";
+
+    /**
+     * Whether the automatically added console spies queue messages for a background thread instead of logging them
+     */
+    public final static String CONSOLE_SPY_BUFFERED = "consoleSpyBuffered";
+
+    /**
+     * The maximum number of messages queued for buffered console spies
+     */
+    public final static String CONSOLE_SPY_BUFFER_CAPACITY = "consoleSpyBufferCapacity";
+
+    /**
+     * The maximum number of messages logged per batch by buffered console spies
+     */
+    public final static String CONSOLE_SPY_BATCH_SIZE = "consoleSpyBatchSize";
+
+    /**
+     * The {@link io.github.zap.party.audience.SpyOverflowPolicy} of buffered console spies
+     */
+    public final static String CONSOLE_SPY_OVERFLOW_POLICY = "consoleSpyOverflowPolicy";
+
+    /**
+     * One in how many overflowing messages buffered console spies keep when sampling
+     */
+    public final static String CONSOLE_SPY_SAMPLE_RATE = "consoleSpySampleRate";
+
+    /**
+     * The maximum number of offline players whose plain names are cached for every namer, and whose formatted names
+     * are cached by each namer
+     */
+    public final static String OFFLINE_NAME_CACHE_SIZE = "offlineNameCacheSize";
+
+    /**
+     * The maximum number of names in each section of a page of <code>/party list</code>
+     */
+    public final static String PARTY_LIST_PAGE_SIZE = "partyListPageSize";
+
+    /**
+     * The number of threads that look up offline players for commands and listings
+     */
+    public final static String OFFLINE_LOOKUP_THREADS = "offlineLookupThreads";
+
+    /**
+     * The maximum number of queued offline player lookups, after which lookups are rejected until the queue drains
+     */
+    public final static String OFFLINE_LOOKUP_QUEUE_CAPACITY = "offlineLookupQueueCapacity";
+
+    /**
+     * Whether parties are saved periodically and on shutdown, and restored on startup
+     */
+    public final static String PERSIST_PARTIES = "persistParties";
+
+    /**
+     * The number of seconds between snapshots of every party
+     */
+    public final static String PARTY_SNAPSHOT_INTERVAL = "partySnapshotInterval";
+
+    /**
+     * Whether every change to a party is journaled between snapshots, so that it survives a crash
+     */
+    public final static String JOURNAL_PARTIES = "journalParties";
+
+    /**
+     * The number of milliseconds between commits of journaled party changes
+     */
+    public final static String PARTY_JOURNAL_COMMIT_INTERVAL = "partyJournalCommitInterval";
+
+    /**
+     * The {@link io.github.zap.party.persistence.PartyStorageMode} used to persist parties
+     */
+    public final static String PARTY_STORAGE = "partyStorage";
+
 }
@@ -0,0 +1,140 @@
+package io.github.zap.party.resolver;
+
+import io.github.zap.party.namer.OfflinePlayerNamer;
+import net.kyori.adventure.text.Component;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Looks up offline players away from the main thread, since a lookup that misses the user cache reads player data
+ * from disk. Lookups run on a lookup executor and their results are delivered on the main thread, so callbacks
+ * chained onto the returned futures without an executor may use the Bukkit API freely.
+ */
+public class OfflinePlayerResolver {
+
+    private final Server server;
+
+    private final Logger logger;
+
+    private final Executor lookupExecutor;
+
+    private final Executor mainThreadExecutor;
+
+    /**
+     * Creates an offline player resolver.
+     * @param server The server to look players up on
+     * @param logger A logger to log failed lookups to
+     * @param lookupExecutor The executor that runs lookups, which should have a bounded number of threads
+     * @param mainThreadExecutor The executor that delivers results on the main thread
+     */
+    public OfflinePlayerResolver(@NotNull Server server, @NotNull Logger logger, @NotNull Executor lookupExecutor,
+                                 @NotNull Executor mainThreadExecutor) {
+        this.server = server;
+        this.logger = logger;
+        this.lookupExecutor = lookupExecutor;
+        this.mainThreadExecutor = mainThreadExecutor;
+    }
+
+    /**
+     * Creates an executor that runs tasks on the main thread, directly if it is already on the main thread
+     * @param plugin The plugin to schedule tasks for
+     * @return The executor
+     */
+    public static @NotNull Executor mainThreadExecutor(@NotNull Plugin plugin) {
+        return task -> {
+            if (plugin.getServer().isPrimaryThread()) {
+                task.run();
+            }
+            else {
+                plugin.getServer().getScheduler().runTask(plugin, task);
+            }
+        };
+    }
+
+    /**
+     * Resolves a player by name and names them. Online players are resolved immediately on the calling thread.
+     * @param name The name of the player
+     * @param playerNamer The namer to name the player with
+     * @return A future of an optional of the resolved player that is present if the player has played before. It
+     * is only completed exceptionally if the lookup was rejected, as described by {@link #supply(Supplier)}
+     */
+    public @NotNull CompletableFuture<Optional<ResolvedPlayer>> resolve(@NotNull String name,
+                                                                        @NotNull OfflinePlayerNamer playerNamer) {
+        Player player = this.server.getPlayerExact(name);
+        if (player != null) {
+            return CompletableFuture.completedFuture(Optional.of(new ResolvedPlayer(player,
+                    playerNamer.name(player))));
+        }
+
+        return this.supply(() -> {
+            try {
+                OfflinePlayer offlinePlayer = this.server.getOfflinePlayerIfCached(name);
+                if (offlinePlayer == null) {
+                    return Optional.<ResolvedPlayer>empty();
+                }
+
+                return Optional.of(new ResolvedPlayer(offlinePlayer, playerNamer.name(offlinePlayer)));
+            }
+            catch (RuntimeException e) {
+                this.logger.log(Level.WARNING, "Failed to look up player " + name + "!", e);
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * Runs a lookup on the lookup executor and delivers its result on the main thread. If the lookup executor is full
+     * or shut down, the lookup is not run and the future is completed exceptionally with a
+     * {@link RejectedExecutionException} on the calling thread instead, so callers should ask to try again later.
+     * @param lookup The lookup to run
+     * @param <T> The type of the result
+     * @return A future of the result which completes on the main thread
+     */
+    public <T> @NotNull CompletableFuture<T> supply(@NotNull Supplier<T> lookup) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            CompletableFuture.supplyAsync(lookup, this.lookupExecutor).whenComplete((value, e) -> {
+                try {
+                    this.mainThreadExecutor.execute(() -> {
+                        if (e != null) {
+                            result.completeExceptionally(e);
+                        }
+                        else {
+                            result.complete(value);
+                        }
+                    });
+                }
+                catch (RuntimeException rejected) {
+                    // the plugin was disabled while the lookup ran, so there is no main thread task to deliver it
+                    result.completeExceptionally(rejected);
+                }
+            });
+        }
+        catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+
+        return result;
+    }
+
+    /**
+     * A player that was resolved by name.
+     * @param player The player
+     * @param name The name of the player as given by a namer
+     */
+    public record ResolvedPlayer(@NotNull OfflinePlayer player, @NotNull Component name) {
+
+    }
+
+}
@@ -0,0 +1,27 @@
+package io.github.zap.party.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * {@link TickScheduler} that schedules a separate {@link org.bukkit.scheduler.BukkitScheduler} task for every task.
+ */
+public class BukkitTickScheduler implements TickScheduler {
+
+    private final Plugin plugin;
+
+    /**
+     * Creates a Bukkit tick scheduler.
+     * @param plugin The plugin that owns scheduled tasks
+     */
+    public BukkitTickScheduler(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public @NotNull TickTimeout schedule(@NotNull Runnable task, long delay) {
+        int taskId = this.plugin.getServer().getScheduler().runTaskLater(this.plugin, task, delay).getTaskId();
+        return () -> this.plugin.getServer().getScheduler().cancelTask(taskId);
+    }
+
+}
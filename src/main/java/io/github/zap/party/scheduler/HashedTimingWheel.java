@@ -0,0 +1,176 @@
+package io.github.zap.party.scheduler;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link TickScheduler} that keeps every task in a hashed timing wheel driven by a single repeating task which calls
+ * {@link #tick()} once per server tick.
+ * Scheduling and cancelling are constant time, and each tick only visits the tasks in one bucket. Tasks further away
+ * than one rotation of the wheel stay in their bucket for the remaining number of rotations.
+ * Tasks may be scheduled and cancelled from any thread, and always run on the thread calling {@link #tick()}.
+ */
+public class HashedTimingWheel implements TickScheduler {
+
+    private final Logger logger;
+
+    private final Bucket[] buckets;
+
+    private final int mask;
+
+    private long currentTick = 0L;
+
+    private int pending = 0;
+
+    /**
+     * Creates a hashed timing wheel.
+     * @param logger A logger for tasks that failed
+     * @param wheelSize The number of buckets, which must be a power of 2
+     */
+    public HashedTimingWheel(@NotNull Logger logger, int wheelSize) {
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("The size of a timing wheel must be a positive power of 2!");
+        }
+
+        this.logger = logger;
+        this.buckets = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            this.buckets[i] = new Bucket();
+        }
+        this.mask = wheelSize - 1;
+    }
+
+    @Override
+    public @NotNull TickTimeout schedule(@NotNull Runnable task, long delay) {
+        // like the Bukkit scheduler, anything not in the future runs on the next tick
+        long ticks = Math.max(1L, delay);
+
+        synchronized (this) {
+            Timeout timeout = new Timeout(task, (ticks - 1) / this.buckets.length);
+            this.buckets[(int) ((this.currentTick + ticks) & this.mask)].add(timeout);
+            this.pending++;
+
+            return timeout;
+        }
+    }
+
+    /**
+     * Advances the wheel by one tick and runs every task that expired.
+     */
+    public void tick() {
+        List<Runnable> expired = null;
+
+        synchronized (this) {
+            Bucket bucket = this.buckets[(int) (++this.currentTick & this.mask)];
+            Timeout timeout = bucket.head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    bucket.remove(timeout);
+                    this.pending--;
+
+                    if (expired == null) {
+                        expired = new ArrayList<>();
+                    }
+                    expired.add(timeout.task);
+                }
+                else {
+                    timeout.remainingRounds--;
+                }
+
+                timeout = next;
+            }
+        }
+
+        if (expired != null) {
+            // run outside of the lock since tasks commonly schedule or cancel other tasks
+            for (Runnable task : expired) {
+                try {
+                    task.run();
+                }
+                catch (RuntimeException e) {
+                    this.logger.log(Level.WARNING, "A task scheduled in a timing wheel failed, skipping...", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of tasks that have neither run nor been cancelled
+     * @return The number of pending tasks
+     */
+    public synchronized int getPendingCount() {
+        return this.pending;
+    }
+
+    private synchronized void cancel(@NotNull Timeout timeout) {
+        if (timeout.bucket != null) {
+            timeout.bucket.remove(timeout);
+            this.pending--;
+        }
+    }
+
+    /**
+     * Intrusive doubly linked list of timeouts so that cancelling does not need to search the bucket.
+     */
+    private static class Bucket {
+
+        private Timeout head;
+
+        private void add(@NotNull Timeout timeout) {
+            timeout.bucket = this;
+            timeout.next = this.head;
+            if (this.head != null) {
+                this.head.previous = timeout;
+            }
+            this.head = timeout;
+        }
+
+        private void remove(@NotNull Timeout timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            }
+            else {
+                this.head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+
+            timeout.bucket = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+
+    }
+
+    private class Timeout implements TickTimeout {
+
+        private final Runnable task;
+
+        private long remainingRounds;
+
+        private @Nullable Bucket bucket;
+
+        private @Nullable Timeout previous;
+
+        private @Nullable Timeout next;
+
+        private Timeout(@NotNull Runnable task, long remainingRounds) {
+            this.task = task;
+            this.remainingRounds = remainingRounds;
+        }
+
+        @Override
+        public void cancel() {
+            HashedTimingWheel.this.cancel(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,19 @@
+package io.github.zap.party.scheduler;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Schedules tasks to run after a number of server ticks.
+ */
+@FunctionalInterface
+public interface TickScheduler {
+
+    /**
+     * Schedules a task.
+     * @param task The task to run
+     * @param delay The number of ticks to wait before running the task
+     * @return A handle that cancels the task
+     */
+    @NotNull TickTimeout schedule(@NotNull Runnable task, long delay);
+
+}
@@ -0,0 +1,14 @@
+package io.github.zap.party.scheduler;
+
+/**
+ * A task scheduled by a {@link TickScheduler}.
+ */
+@FunctionalInterface
+public interface TickTimeout {
+
+    /**
+     * Cancels the task if it has not run yet.
+     */
+    void cancel();
+
+}
@@ -1,17 +1,17 @@
 package io.github.zap.party.settings;
 
 /**
- * Settings for a party. These can be modified by the owner.
+ * Settings for a party. These can be modified by the owner and read from any thread.
  */
 public class PartySettings {
 
-    private boolean allInvite = false;
+    private volatile boolean allInvite = false;
 
-    private boolean anyoneCanJoin = false;
+    private volatile boolean anyoneCanJoin = false;
 
-    private boolean muted = false;
+    private volatile boolean muted = false;
 
-    private long inviteExpirationTime = 1200L;
+    private volatile long inviteExpirationTime = 1200L;
 
     /**
      * Gets whether all players can invite other players
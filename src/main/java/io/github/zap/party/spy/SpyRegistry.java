@@ -0,0 +1,165 @@
+package io.github.zap.party.spy;
+
+import io.github.zap.party.Party;
+import net.kyori.adventure.audience.Audience;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Spy subscriptions that apply to every party, as opposed to the spy audiences of a single {@link Party}.
+ * Subscriptions are kept in a copy-on-write array, so parties sending a message only pay for a single volatile read
+ * while nobody is subscribed.
+ */
+public class SpyRegistry {
+
+    private final static Subscription[] EMPTY = new Subscription[0];
+
+    private volatile Subscription[] subscriptions = EMPTY;
+
+    /**
+     * Subscribes an audience to every message of every party
+     * @param audience The spying audience
+     * @return The subscription, which can be used to unsubscribe
+     */
+    public @NotNull Subscription subscribe(@NotNull Audience audience) {
+        return this.subscribe(audience, EnumSet.allOf(SpyTopic.class), party -> true);
+    }
+
+    /**
+     * Subscribes an audience to some messages of some parties
+     * @param audience The spying audience
+     * @param topics The kinds of messages to spy on
+     * @param filter A filter for the parties to spy on, which must be cheap and safe to call from any thread
+     * @return The subscription, which can be used to unsubscribe
+     */
+    public @NotNull Subscription subscribe(@NotNull Audience audience, @NotNull Set<SpyTopic> topics,
+                                           @NotNull Predicate<? super Party> filter) {
+        Subscription subscription = new Subscription(audience,
+                topics.isEmpty() ? EnumSet.noneOf(SpyTopic.class) : EnumSet.copyOf(topics), filter);
+
+        synchronized (this) {
+            Subscription[] newSubscriptions = Arrays.copyOf(this.subscriptions, this.subscriptions.length + 1);
+            newSubscriptions[this.subscriptions.length] = subscription;
+            this.subscriptions = newSubscriptions;
+        }
+
+        return subscription;
+    }
+
+    /**
+     * Removes a subscription
+     * @param subscription The subscription to remove
+     * @return Whether the subscription was present
+     */
+    public synchronized boolean unsubscribe(@NotNull Subscription subscription) {
+        Subscription[] subscriptions = this.subscriptions;
+        for (int i = 0; i < subscriptions.length; i++) {
+            if (subscriptions[i] == subscription) {
+                Subscription[] newSubscriptions = new Subscription[subscriptions.length - 1];
+                System.arraycopy(subscriptions, 0, newSubscriptions, 0, i);
+                System.arraycopy(subscriptions, i + 1, newSubscriptions, i, newSubscriptions.length - i);
+                this.subscriptions = (newSubscriptions.length == 0) ? EMPTY : newSubscriptions;
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes every subscription of an audience
+     * @param audience The audience to unsubscribe
+     * @return Whether any subscription was removed
+     */
+    public synchronized boolean unsubscribeAll(@NotNull Audience audience) {
+        Subscription[] subscriptions = this.subscriptions;
+        Subscription[] newSubscriptions = Arrays.stream(subscriptions)
+                .filter(subscription -> !subscription.audience.equals(audience))
+                .toArray(Subscription[]::new);
+        if (newSubscriptions.length == subscriptions.length) {
+            return false;
+        }
+
+        this.subscriptions = (newSubscriptions.length == 0) ? EMPTY : newSubscriptions;
+        return true;
+    }
+
+    /**
+     * Checks if there are any subscriptions
+     * @return Whether there are any subscriptions
+     */
+    public boolean hasSubscriptions() {
+        return this.subscriptions.length != 0;
+    }
+
+    /**
+     * Calls a consumer for the audience of every subscription to a party's messages of a topic
+     * @param party The party that sends the message
+     * @param topic The kind of message
+     * @param consumer The consumer to call
+     */
+    public void forEachSubscriber(@NotNull Party party, @NotNull SpyTopic topic,
+                                  @NotNull Consumer<? super Audience> consumer) {
+        for (Subscription subscription : this.subscriptions) {
+            if (subscription.matches(party, topic)) {
+                consumer.accept(subscription.audience);
+            }
+        }
+    }
+
+    /**
+     * Checks if an audience is subscribed to a party's messages of a topic
+     * @param party The party that sends the message
+     * @param topic The kind of message
+     * @param audience The audience to check
+     * @return Whether the audience is subscribed
+     */
+    public boolean isSubscribed(@NotNull Party party, @NotNull SpyTopic topic, @NotNull Audience audience) {
+        for (Subscription subscription : this.subscriptions) {
+            if (subscription.audience.equals(audience) && subscription.matches(party, topic)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * A subscription of an audience to messages from parties.
+     */
+    public static final class Subscription {
+
+        private final Audience audience;
+
+        private final Set<SpyTopic> topics;
+
+        private final Predicate<? super Party> filter;
+
+        private Subscription(@NotNull Audience audience, @NotNull Set<SpyTopic> topics,
+                             @NotNull Predicate<? super Party> filter) {
+            this.audience = audience;
+            this.topics = topics;
+            this.filter = filter;
+        }
+
+        /**
+         * Gets the spying audience
+         * @return The audience
+         */
+        public @NotNull Audience getAudience() {
+            return this.audience;
+        }
+
+        private boolean matches(@NotNull Party party, @NotNull SpyTopic topic) {
+            return this.topics.contains(topic) && this.filter.test(party);
+        }
+
+    }
+
+}
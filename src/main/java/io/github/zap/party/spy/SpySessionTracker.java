@@ -0,0 +1,104 @@
+package io.github.zap.party.spy;
+
+import io.github.zap.party.Party;
+import io.github.zap.party.PartyChange;
+import io.github.zap.party.audience.PlayerAudience;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ties the spying of players to their session, so that their {@link PlayerAudience}s are removed from the parties
+ * they spy on and from the {@link SpyRegistry} as soon as they quit. Parties are forgotten as soon as they are
+ * disbanded or their last member leaves, so long spy sessions do not keep dead parties around.
+ */
+public class SpySessionTracker implements Listener {
+
+    private final Map<UUID, Set<Party>> spiedParties = new ConcurrentHashMap<>();
+
+    // parties this tracker is registered as a change handler of, until they are disbanded or empty
+    private final Set<Party> watchedParties = ConcurrentHashMap.newKeySet();
+
+    private final SpyRegistry spyRegistry;
+
+    /**
+     * Creates a spy session tracker.
+     * @param spyRegistry The registry to remove the subscriptions of spies from when they quit
+     */
+    public SpySessionTracker(@NotNull SpyRegistry spyRegistry) {
+        this.spyRegistry = spyRegistry;
+    }
+
+    /**
+     * Starts tracking that a player spies on a party
+     * @param spy The spying player
+     * @param party The party the player spies on
+     */
+    public void track(@NotNull Player spy, @NotNull Party party) {
+        this.spiedParties.computeIfAbsent(spy.getUniqueId(), unused -> ConcurrentHashMap.newKeySet()).add(party);
+        if (this.watchedParties.add(party)) {
+            party.registerChangeHandler(this::onPartyChange);
+        }
+    }
+
+    /**
+     * Stops tracking that a player spies on a party
+     * @param spy The player that stopped spying
+     * @param party The party the player spied on
+     */
+    public void untrack(@NotNull Player spy, @NotNull Party party) {
+        this.spiedParties.computeIfPresent(spy.getUniqueId(), (uuid, parties) -> {
+            parties.remove(party);
+            return parties.isEmpty() ? null : parties;
+        });
+    }
+
+    private void onPartyChange(@NotNull PartyChange change) {
+        boolean gone = change.type() == PartyChange.Type.DISBANDED
+                || (change.type() == PartyChange.Type.MEMBER_REMOVED && change.party().getMembers().isEmpty());
+        if (!gone) {
+            return;
+        }
+
+        Party party = change.party();
+        this.watchedParties.remove(party);
+        for (UUID spyUUID : this.spiedParties.keySet()) {
+            this.spiedParties.computeIfPresent(spyUUID, (uuid, parties) -> {
+                parties.remove(party);
+                return parties.isEmpty() ? null : parties;
+            });
+        }
+    }
+
+    /**
+     * Gets the number of players with tracked spying
+     * @return The number of spying players
+     */
+    public int getSpyCount() {
+        return this.spiedParties.size();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(@NotNull PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+        PlayerAudience audience = new PlayerAudience(player);
+
+        Set<Party> parties = this.spiedParties.remove(player.getUniqueId());
+        if (parties != null) {
+            for (Party party : parties) {
+                party.removeSpyAudience(audience);
+            }
+        }
+
+        this.spyRegistry.unsubscribeAll(audience);
+    }
+
+}
@@ -0,0 +1,18 @@
+package io.github.zap.party.spy;
+
+/**
+ * Kinds of party messages that spies can subscribe to.
+ */
+public enum SpyTopic {
+
+    /**
+     * Messages sent in party chat
+     */
+    CHAT,
+
+    /**
+     * Messages the party broadcasts about itself, such as members joining or leaving, mutes and invitations
+     */
+    PARTY_EVENTS
+
+}
@@ -0,0 +1,30 @@
+package io.github.zap.party.tracker;
+
+import io.github.zap.party.Party;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * Loads parties that a {@link PartyTracker} is not tracking yet, so that stored parties only need to be created
+ * once one of their members joins. Everything is called on the main thread.
+ */
+public interface PartyLoader {
+
+    /**
+     * Determines if a player may be in a party that has not been loaded yet. This is called for every load that
+     * misses the tracker, so it should be cheap.
+     * @param playerUUID The {@link UUID} of the player
+     * @return Whether {@link #loadParty(UUID)} may find a party for the player
+     */
+    boolean mayHaveParty(@NotNull UUID playerUUID);
+
+    /**
+     * Loads the party of a player.
+     * @param playerUUID The {@link UUID} of the player
+     * @return The party of the player, or null if they are not in one
+     */
+    @Nullable Party loadParty(@NotNull UUID playerUUID);
+
+}
@@ -0,0 +1,44 @@
+package io.github.zap.party.tracker;
+
+import io.github.zap.party.member.PartyMember;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Pushes the online presence of players into the {@link PartyMember}s of their tracked parties, and loads the stored
+ * parties of players who join.
+ */
+public class PartyPresenceListener implements Listener {
+
+    private final PartyTracker partyTracker;
+
+    /**
+     * Creates a presence listener.
+     * @param partyTracker The tracker used to find the parties of players
+     */
+    public PartyPresenceListener(@NotNull PartyTracker partyTracker) {
+        this.partyTracker = partyTracker;
+    }
+
+    // runs first so that other join handlers already see the member as online and their stored party as loaded
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(@NotNull PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        this.partyTracker.loadPartyForPlayer(player.getUniqueId())
+                .ifPresent(party -> party.updateMemberPresence(player.getUniqueId(), player));
+    }
+
+    // runs last so that other quit handlers still see the member as online
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(@NotNull PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+        this.partyTracker.getPartyForPlayer(player.getUniqueId())
+                .ifPresent(party -> party.updateMemberPresence(player.getUniqueId(), null));
+    }
+
+}
@@ -2,41 +2,95 @@ package io.github.zap.party.tracker;
 
 import io.github.zap.party.Party;
 import io.github.zap.party.member.PartyMember;
+import io.github.zap.party.util.StripedUUIDMap;
 import io.papermc.paper.event.player.AsyncChatEvent;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.event.Listener;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Tracks parties and sends {@link AsyncChatEvent}s.
+ * Lookups are safe from any thread, including the async chat threads, while parties are modified on the main thread.
+ * Lookups only see tracked parties. Stored parties are loaded on the main thread by
+ * {@link #loadPartyForPlayer(UUID)}, such as when one of their members joins.
  */
 public class PartyTracker implements Listener {
 
-    private final Map<UUID, Party> partyMap = new HashMap<>();
+    // reads try an optimistic read of the stripe and only take its read lock if a write raced them, writes only
+    // lock the stripe of the modified player
+    private final StripedUUIDMap<Party> partyMap = new StripedUUIDMap<>();
+
+    // every party with members, so that all of them can be persisted
+    private final Set<Party> parties = ConcurrentHashMap.newKeySet();
+
+    private PartyLoader partyLoader;
 
     /**
      * Starts tracking a party
      * @param party The party to track
      */
     public void trackParty(@NotNull Party party) {
+        this.registerHandlers(party);
+
+        for (PartyMember member : party.getMembers()) {
+            this.partyMap.put(member.getPlayerUUID(), party);
+        }
+    }
+
+    /**
+     * Starts tracking many parties at once, such as parties restored from storage. The parties must not share
+     * members.
+     * @param parties The parties to track
+     */
+    public void trackParties(@NotNull Collection<Party> parties) {
+        Map<UUID, Party> members = new HashMap<>();
+        for (Party party : parties) {
+            this.registerHandlers(party);
+
+            for (PartyMember member : party.getMembers()) {
+                members.put(member.getPlayerUUID(), party);
+            }
+        }
+
+        this.partyMap.putAll(members);
+    }
+
+    private void registerHandlers(@NotNull Party party) {
         party.registerJoinHandler(member -> {
             OfflinePlayer player = member.getOfflinePlayer();
-            if (this.partyMap.containsKey(player.getUniqueId())) {
-                this.partyMap.get(player.getUniqueId()).removeMember(player, false);
+            Party previous = this.partyMap.get(player.getUniqueId());
+            if (previous != null && !previous.equals(party)) {
+                previous.removeMember(player, false);
             }
 
-            this.partyMap.put(member.getOfflinePlayer().getUniqueId(), party);
+            this.partyMap.put(player.getUniqueId(), party);
+        });
+        party.registerLeaveHandler(member -> {
+            this.partyMap.remove(member.getPlayerUUID(), party);
+            if (party.getMembers().isEmpty()) {
+                this.parties.remove(party);
+            }
         });
-        party.registerLeaveHandler(member -> this.partyMap.remove(member.getOfflinePlayer().getUniqueId()));
 
-        for (PartyMember member : party.getMembers()) {
-            this.partyMap.put(member.getOfflinePlayer().getUniqueId(), party);
-        }
+        this.parties.add(party);
+    }
+
+    /**
+     * Gets every tracked party that still has members
+     * @return A snapshot of the parties
+     */
+    public @NotNull List<Party> getParties() {
+        return List.copyOf(this.parties);
     }
 
     /**
@@ -45,7 +99,43 @@ public class PartyTracker implements Listener {
      * @return An optional of their party
      */
     public @NotNull Optional<Party> getPartyForPlayer(@NotNull OfflinePlayer player) {
-        return Optional.ofNullable(this.partyMap.get(player.getUniqueId()));
+        return this.getPartyForPlayer(player.getUniqueId());
+    }
+
+    /**
+     * Gets the party a player is in. Parties that have not been loaded yet are not found.
+     * @param playerUUID The {@link UUID} of the player to check
+     * @return An optional of their party
+     */
+    public @NotNull Optional<Party> getPartyForPlayer(@NotNull UUID playerUUID) {
+        return Optional.ofNullable(this.partyMap.get(playerUUID));
+    }
+
+    /**
+     * Gets the party a player is in, loading and tracking it with the {@link PartyLoader} if it is not tracked yet.
+     * Loaded parties are created and scheduled like any other, so this must be called on the main thread.
+     * @param playerUUID The {@link UUID} of the player to check
+     * @return An optional of their party
+     */
+    public @NotNull Optional<Party> loadPartyForPlayer(@NotNull UUID playerUUID) {
+        Party party = this.partyMap.get(playerUUID);
+        if (party == null && this.partyLoader != null && this.partyLoader.mayHaveParty(playerUUID)) {
+            party = this.partyLoader.loadParty(playerUUID);
+            if (party != null) {
+                this.trackParty(party);
+            }
+        }
+
+        return Optional.ofNullable(party);
+    }
+
+    /**
+     * Sets the loader of parties that are not tracked yet. Loaded parties are tracked from then on. This must be
+     * called on the main thread.
+     * @param partyLoader The loader, or null to only look up tracked parties
+     */
+    public void setPartyLoader(@Nullable PartyLoader partyLoader) {
+        this.partyLoader = partyLoader;
     }
 
 }
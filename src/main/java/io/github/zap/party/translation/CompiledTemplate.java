@@ -0,0 +1,168 @@
+package io.github.zap.party.translation;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * A translation template that has been parsed once into literal text and argument slots, so that rendering it does
+ * not go through {@link MessageFormat}. Only plain argument placeholders such as <code>{0}</code> are supported,
+ * quoting follows the same rules as {@link MessageFormat} so that compiled and uncompiled templates look the same.
+ */
+public final class CompiledTemplate {
+
+    // literals[i] comes before arguments[i], and the last literal comes after every argument
+    private final String[] literals;
+
+    private final int[] arguments;
+
+    // what MessageFormat produces when formatting without any arguments
+    private final String unformatted;
+
+    private CompiledTemplate(@NotNull String[] literals, int @NotNull [] arguments) {
+        this.literals = literals;
+        this.arguments = arguments;
+
+        StringBuilder unformatted = new StringBuilder(literals[0]);
+        for (int i = 0; i < arguments.length; i++) {
+            unformatted.append('{').append(arguments[i]).append('}').append(literals[i + 1]);
+        }
+        this.unformatted = unformatted.toString();
+    }
+
+    /**
+     * Creates a template from segments that have already been parsed
+     * @param literals The literal text before each argument slot, followed by the text after the last slot
+     * @param arguments The argument index of each slot
+     * @return The template
+     */
+    public static @NotNull CompiledTemplate of(@NotNull String[] literals, int @NotNull [] arguments) {
+        if (literals.length != arguments.length + 1) {
+            throw new IllegalArgumentException("There must be exactly one more literal than argument slots!");
+        }
+
+        return new CompiledTemplate(literals.clone(), arguments.clone());
+    }
+
+    /**
+     * Compiles a template
+     * @param pattern The {@link MessageFormat} pattern of the template
+     * @return The compiled template, or null if the pattern uses format types or styles, or is malformed, in which
+     * case it should be formatted with a {@link MessageFormat} instead
+     */
+    public static @Nullable CompiledTemplate compile(@NotNull String pattern) {
+        String[] literals = new String[4];
+        int[] arguments = new int[3];
+        int argumentCount = 0;
+
+        StringBuilder literal = new StringBuilder();
+        boolean inQuote = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char ch = pattern.charAt(i);
+            if (ch == '\'') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                    literal.append('\'');
+                    i++;
+                }
+                else {
+                    inQuote = !inQuote;
+                }
+            }
+            else if (ch == '{' && !inQuote) {
+                int close = pattern.indexOf('}', i + 1);
+                if (close == -1 || close == i + 1) {
+                    return null;
+                }
+
+                int argument = 0;
+                for (int j = i + 1; j < close; j++) {
+                    char digit = pattern.charAt(j);
+                    if (digit < '0' || digit > '9' || argument > (Integer.MAX_VALUE - 9) / 10) {
+                        return null;
+                    }
+
+                    argument = argument * 10 + (digit - '0');
+                }
+
+                if (argumentCount == arguments.length) {
+                    arguments = Arrays.copyOf(arguments, argumentCount * 2);
+                    literals = Arrays.copyOf(literals, argumentCount * 2 + 1);
+                }
+
+                literals[argumentCount] = literal.toString();
+                arguments[argumentCount++] = argument;
+                literal.setLength(0);
+                i = close;
+            }
+            else {
+                literal.append(ch);
+            }
+        }
+
+        literals[argumentCount] = literal.toString();
+        return new CompiledTemplate(Arrays.copyOf(literals, argumentCount + 1),
+                Arrays.copyOf(arguments, argumentCount));
+    }
+
+    /**
+     * Appends this template to a builder the same way Adventure appends a formatted {@link MessageFormat}. Without
+     * any arguments the template becomes the builder's content. Otherwise, every argument slot becomes a child and
+     * the literal text between them becomes text children. Slots without a matching argument are left as text.
+     * @param builder The builder to append to
+     * @param arguments The arguments of the template
+     * @param argumentMapper A function applied to every argument before it is appended
+     */
+    public void appendTo(@NotNull TextComponent.Builder builder, @NotNull List<? extends Component> arguments,
+                         @NotNull UnaryOperator<Component> argumentMapper) {
+        if (arguments.isEmpty()) {
+            builder.content(this.unformatted);
+            return;
+        }
+
+        String pending = this.literals[0];
+        for (int i = 0; i < this.arguments.length; i++) {
+            int argument = this.arguments[i];
+            if (argument < arguments.size()) {
+                if (!pending.isEmpty()) {
+                    builder.append(Component.text(pending));
+                }
+
+                builder.append(argumentMapper.apply(arguments.get(argument)));
+                pending = this.literals[i + 1];
+            }
+            else {
+                pending = pending + '{' + argument + '}' + this.literals[i + 1];
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            builder.append(Component.text(pending));
+        }
+    }
+
+    /**
+     * Formats this template into a new {@link Component}
+     * @param arguments The arguments of the template
+     * @return The formatted {@link Component}
+     */
+    public @NotNull Component format(@NotNull List<? extends Component> arguments) {
+        TextComponent.Builder builder = Component.text();
+        this.appendTo(builder, arguments, UnaryOperator.identity());
+        return builder.build();
+    }
+
+    /**
+     * Gets the number of argument slots in this template
+     * @return The number of argument slots
+     */
+    public int getSlotCount() {
+        return this.arguments.length;
+    }
+
+}
@@ -0,0 +1,67 @@
+package io.github.zap.party.translation;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.renderer.TranslatableComponentRenderer;
+import net.kyori.adventure.translation.Translator;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+
+/**
+ * A {@link TranslatableComponentRenderer} that renders keys with a {@link CompiledTemplate} directly into
+ * {@link Component}s and renders every other key through a {@link Translator}'s {@link MessageFormat}s.
+ */
+public class CompiledTranslationRenderer extends TranslatableComponentRenderer<Locale> {
+
+    private final CompiledTranslations translations;
+
+    private final Translator fallback;
+
+    /**
+     * Creates a new renderer
+     * @param translations The compiled translations to render with
+     * @param fallback The {@link Translator} for keys that do not have a compiled translation
+     */
+    public CompiledTranslationRenderer(@NotNull CompiledTranslations translations, @NotNull Translator fallback) {
+        this.translations = translations;
+        this.fallback = fallback;
+    }
+
+    @Override
+    protected @Nullable MessageFormat translate(final @NonNull String key, final @NonNull Locale context) {
+        return this.fallback.translate(key, context);
+    }
+
+    @Override
+    protected @NonNull Component renderTranslatable(final @NonNull TranslatableComponent component,
+                                                    final @NonNull Locale context) {
+        CompiledTemplate template = this.translations.get(component.key(), context);
+        if (template == null) {
+            return super.renderTranslatable(component, context);
+        }
+
+        TextComponent.Builder builder = Component.text();
+        builder.mergeStyle(component, Style.Merge.colorAndDecorations());
+        builder.clickEvent(component.clickEvent());
+        HoverEvent<?> hoverEvent = component.hoverEvent();
+        if (hoverEvent != null) {
+            builder.hoverEvent(hoverEvent.withRenderedValue(this, context));
+        }
+        builder.insertion(component.insertion());
+
+        template.appendTo(builder, component.args(), argument -> this.render(argument, context));
+        for (Component child : component.children()) {
+            builder.append(this.render(child, context));
+        }
+
+        return builder.build();
+    }
+
+}
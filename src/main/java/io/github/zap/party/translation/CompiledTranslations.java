@@ -0,0 +1,98 @@
+package io.github.zap.party.translation;
+
+import net.kyori.adventure.translation.TranslationRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stores {@link CompiledTemplate}s by translation key and {@link Locale}.
+ * Lookups fall back the same way as a {@link TranslationRegistry}: the exact locale, then its language, then the
+ * default locale and finally {@link Locale#US}.
+ */
+public class CompiledTranslations {
+
+    // empty when the translation exists but could not be compiled, so lookups do not fall back to another locale
+    private final Map<String, Map<Locale, Optional<CompiledTemplate>>> templates = new ConcurrentHashMap<>();
+
+    private volatile Locale defaultLocale;
+
+    /**
+     * Creates an empty store of compiled translations.
+     * @param defaultLocale The {@link Locale} to fall back to when a translation does not exist for a locale
+     */
+    public CompiledTranslations(@NotNull Locale defaultLocale) {
+        this.defaultLocale = defaultLocale;
+    }
+
+    /**
+     * Sets the {@link Locale} to fall back to when a translation does not exist for a locale
+     * @param defaultLocale The default locale
+     */
+    public void setDefaultLocale(@NotNull Locale defaultLocale) {
+        this.defaultLocale = defaultLocale;
+    }
+
+    /**
+     * Compiles and registers a translation
+     * @param key The translation key
+     * @param locale The {@link Locale} of the translation
+     * @param pattern The {@link java.text.MessageFormat} pattern of the translation
+     * @return Whether the pattern could be compiled
+     */
+    public boolean register(@NotNull String key, @NotNull Locale locale, @NotNull String pattern) {
+        CompiledTemplate template = CompiledTemplate.compile(pattern);
+        this.templates.computeIfAbsent(key, unused -> new ConcurrentHashMap<>()).put(locale,
+                Optional.ofNullable(template));
+
+        return template != null;
+    }
+
+    /**
+     * Compiles and registers translations
+     * @param locale The {@link Locale} of the translations
+     * @param patterns The {@link java.text.MessageFormat} patterns of the translations mapped by key
+     * @return The number of patterns that could not be compiled
+     */
+    public int registerAll(@NotNull Locale locale, @NotNull Map<String, String> patterns) {
+        int failed = 0;
+        for (Map.Entry<String, String> entry : patterns.entrySet()) {
+            if (!this.register(entry.getKey(), locale, entry.getValue())) {
+                failed++;
+            }
+        }
+
+        return failed;
+    }
+
+    /**
+     * Gets a compiled translation
+     * @param key The translation key
+     * @param locale The {@link Locale} to get the translation for
+     * @return The compiled translation, or null if there is no translation for the key or it could not be compiled
+     */
+    public @Nullable CompiledTemplate get(@NotNull String key, @NotNull Locale locale) {
+        Map<Locale, Optional<CompiledTemplate>> translations = this.templates.get(key);
+        if (translations == null) {
+            return null;
+        }
+
+        Optional<CompiledTemplate> template = translations.get(locale);
+        if (template == null) {
+            template = translations.get(new Locale(locale.getLanguage()));
+            if (template == null) {
+                template = translations.get(this.defaultLocale);
+                if (template == null) {
+                    template = translations.get(Locale.US);
+                }
+            }
+        }
+
+        return (template != null) ? template.orElse(null) : null;
+    }
+
+}
@@ -0,0 +1,69 @@
+package io.github.zap.party.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A thread-safe map with a maximum size that evicts its least recently used entry once it is full.
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+public class LruCache<K, V> {
+
+    private final Map<K, V> map;
+
+    /**
+     * Creates an empty cache.
+     * @param capacity The maximum number of entries
+     */
+    public LruCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity of a cache must be positive!");
+        }
+
+        this.map = new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return this.size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets a value and marks it as recently used
+     * @param key The key of the value
+     * @return The value, or null if it is not cached
+     */
+    public synchronized @Nullable V get(@NotNull K key) {
+        return this.map.get(key);
+    }
+
+    /**
+     * Caches a value
+     * @param key The key of the value
+     * @param value The value
+     */
+    public synchronized void put(@NotNull K key, @NotNull V value) {
+        this.map.put(key, value);
+    }
+
+    /**
+     * Removes a value
+     * @param key The key of the value
+     */
+    public synchronized void remove(@NotNull K key) {
+        this.map.remove(key);
+    }
+
+    /**
+     * Gets the number of cached values
+     * @return The number of cached values
+     */
+    public synchronized int size() {
+        return this.map.size();
+    }
+
+}
@@ -0,0 +1,36 @@
+package io.github.zap.party.util;
+
+import com.ibm.icu.text.PluralRules;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Selects ICU plural categories with {@link PluralRules} that are only resolved once per {@link Locale}
+ */
+public final class PluralRulesUtil {
+
+    private final static Map<Locale, PluralRules> RULES = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the plural rules of a locale
+     * @param locale The {@link Locale} to get the rules for
+     * @return The shared rules for the locale
+     */
+    public static @NotNull PluralRules forLocale(@NotNull Locale locale) {
+        return RULES.computeIfAbsent(locale, PluralRules::forLocale);
+    }
+
+    /**
+     * Selects the plural category of a number, such as <code>one</code> or <code>few</code>
+     * @param locale The {@link Locale} to select the category in
+     * @param number The number to select the category for
+     * @return The plural category
+     */
+    public static @NotNull String select(@NotNull Locale locale, double number) {
+        return forLocale(locale).select(number);
+    }
+
+}
@@ -0,0 +1,211 @@
+package io.github.zap.party.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Thread-safe map keyed on {@link UUID}s made of {@link UUIDMap} stripes guarded by {@link StampedLock}s.
+ * Writes lock only the stripe of their key and modify it in place, so they never copy or allocate more than the
+ * stripe's own resizes. Reads probe the stripe optimistically without locking or writing shared memory, and only
+ * take the stripe's read lock if a write overlapped the probe.
+ * @param <V> The type of the values
+ */
+public class StripedUUIDMap<V> {
+
+    private final static int DEFAULT_STRIPE_BITS = 6;
+
+    private final Stripe<V>[] stripes;
+
+    private final int stripeShift;
+
+    /**
+     * Creates a striped map with the default number of stripes.
+     */
+    public StripedUUIDMap() {
+        this(DEFAULT_STRIPE_BITS);
+    }
+
+    /**
+     * Creates a striped map.
+     * @param stripeBits The base 2 logarithm of the number of stripes
+     */
+    @SuppressWarnings("unchecked")
+    public StripedUUIDMap(int stripeBits) {
+        if (stripeBits < 0 || stripeBits > 16) {
+            throw new IllegalArgumentException("The number of stripe bits must be between 0 and 16!");
+        }
+
+        this.stripes = new Stripe[1 << stripeBits];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Stripe<>();
+        }
+
+        // use the high bits of the hash for stripes since the low bits pick slots within a stripe
+        this.stripeShift = 32 - stripeBits;
+    }
+
+    private int stripeIndex(long mostSigBits, long leastSigBits) {
+        if (this.stripes.length == 1) {
+            return 0;
+        }
+
+        return UUIDMap.hash(mostSigBits, leastSigBits) >>> this.stripeShift;
+    }
+
+    private @NotNull Stripe<V> stripeFor(@NotNull UUID uuid) {
+        return this.stripes[this.stripeIndex(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits())];
+    }
+
+    /**
+     * Gets the value mapped to a {@link UUID}
+     * @param uuid The {@link UUID}
+     * @return The value, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(@NotNull UUID uuid) {
+        long mostSigBits = uuid.getMostSignificantBits();
+        long leastSigBits = uuid.getLeastSignificantBits();
+        Stripe<V> stripe = this.stripes[this.stripeIndex(mostSigBits, leastSigBits)];
+
+        long stamp = stripe.lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            Object value = stripe.map.getOptimistic(mostSigBits, leastSigBits);
+            if (stripe.lock.validate(stamp)) {
+                return (V) value;
+            }
+        }
+
+        stamp = stripe.lock.readLock();
+        try {
+            return stripe.map.get(mostSigBits, leastSigBits);
+        }
+        finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Maps a {@link UUID} to a value
+     * @param uuid The {@link UUID}
+     * @param value The value
+     * @return The previous value, or null if there was none
+     */
+    public @Nullable V put(@NotNull UUID uuid, @NotNull V value) {
+        Stripe<V> stripe = this.stripeFor(uuid);
+        long stamp = stripe.lock.writeLock();
+        try {
+            return stripe.map.put(uuid, value);
+        }
+        finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Maps many {@link UUID}s to values, locking each stripe only once
+     * @param entries The values keyed by their {@link UUID}s
+     */
+    @SuppressWarnings("unchecked")
+    public void putAll(@NotNull Map<UUID, ? extends V> entries) {
+        List<Map.Entry<UUID, ? extends V>>[] byStripe = new List[this.stripes.length];
+        for (Map.Entry<UUID, ? extends V> entry : entries.entrySet()) {
+            UUID uuid = entry.getKey();
+            int index = this.stripeIndex(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            if (byStripe[index] == null) {
+                byStripe[index] = new ArrayList<>();
+            }
+
+            byStripe[index].add(entry);
+        }
+
+        for (int i = 0; i < byStripe.length; i++) {
+            if (byStripe[i] == null) {
+                continue;
+            }
+
+            Stripe<V> stripe = this.stripes[i];
+            long stamp = stripe.lock.writeLock();
+            try {
+                for (Map.Entry<UUID, ? extends V> entry : byStripe[i]) {
+                    stripe.map.put(entry.getKey(), entry.getValue());
+                }
+            }
+            finally {
+                stripe.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * Removes the value mapped to a {@link UUID}
+     * @param uuid The {@link UUID}
+     * @return The removed value, or null if there was none
+     */
+    public @Nullable V remove(@NotNull UUID uuid) {
+        Stripe<V> stripe = this.stripeFor(uuid);
+        long stamp = stripe.lock.writeLock();
+        try {
+            return stripe.map.remove(uuid);
+        }
+        finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the value mapped to a {@link UUID} only if it is equal to an expected value
+     * @param uuid The {@link UUID}
+     * @param value The expected value
+     * @return Whether the value was removed
+     */
+    public boolean remove(@NotNull UUID uuid, @NotNull V value) {
+        Stripe<V> stripe = this.stripeFor(uuid);
+        long stamp = stripe.lock.writeLock();
+        try {
+            if (!value.equals(stripe.map.get(uuid))) {
+                return false;
+            }
+
+            stripe.map.remove(uuid);
+            return true;
+        }
+        finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Gets the number of entries. This is not atomic across stripes.
+     * @return The number of entries
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe<V> stripe : this.stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                size += stripe.map.size();
+            }
+            finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+
+        return size;
+    }
+
+    private static class Stripe<V> {
+
+        private final StampedLock lock = new StampedLock();
+
+        // only modified under the write lock
+        private final UUIDMap<V> map = new UUIDMap<>();
+
+    }
+
+}
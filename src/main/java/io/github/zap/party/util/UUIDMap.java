@@ -0,0 +1,303 @@
+package io.github.zap.party.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Open-addressing hash map keyed on the two {@code long} halves of a {@link UUID}.
+ * Keys and values are stored in flat arrays with linear probing, so there are no per-entry node objects and lookups
+ * never call {@link UUID#hashCode()} or {@link UUID#equals(Object)}. This map is not thread-safe and does not allow
+ * {@code null} values.
+ * @param <V> The type of the values
+ */
+public class UUIDMap<V> {
+
+    private final static int MINIMUM_CAPACITY = 8;
+
+    // most significant bits at 2 * slot, least significant bits at 2 * slot + 1
+    private long[] keys;
+
+    // a null value marks an empty slot
+    private Object[] values;
+
+    private int size = 0;
+
+    /**
+     * Creates an empty map.
+     */
+    public UUIDMap() {
+        this(MINIMUM_CAPACITY / 2);
+    }
+
+    /**
+     * Creates an empty map that can hold a number of entries without resizing.
+     * @param expectedSize The expected number of entries
+     */
+    public UUIDMap(int expectedSize) {
+        int capacity = capacityFor(expectedSize);
+        this.keys = new long[capacity << 1];
+        this.values = new Object[capacity];
+    }
+
+    /**
+     * Creates a copy of another map.
+     * @param other The map to copy
+     */
+    public UUIDMap(@NotNull UUIDMap<? extends V> other) {
+        this.keys = other.keys.clone();
+        this.values = other.values.clone();
+        this.size = other.size;
+    }
+
+    /**
+     * Mixes the halves of a {@link UUID} into a well-distributed hash.
+     * @param mostSigBits The most significant bits of the {@link UUID}
+     * @param leastSigBits The least significant bits of the {@link UUID}
+     * @return The hash
+     */
+    static int hash(long mostSigBits, long leastSigBits) {
+        long hash = mostSigBits * 0x9E3779B97F4A7C15L ^ leastSigBits;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+
+        return (int) hash;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        // keep the load factor at or below 0.5 for short probe sequences
+        int capacity = MINIMUM_CAPACITY;
+        while (capacity < expectedSize * 2 && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    /**
+     * Gets the value mapped to a {@link UUID}
+     * @param uuid The {@link UUID}
+     * @return The value, or null if there is none
+     */
+    public @Nullable V get(@NotNull UUID uuid) {
+        return this.get(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Gets the value mapped to a {@link UUID}
+     * @param mostSigBits The most significant bits of the {@link UUID}
+     * @param leastSigBits The least significant bits of the {@link UUID}
+     * @return The value, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(long mostSigBits, long leastSigBits) {
+        int slot = this.find(mostSigBits, leastSigBits);
+        return (slot < 0) ? null : (V) this.values[slot];
+    }
+
+    /**
+     * Gets the value mapped to a {@link UUID} while another thread may be writing to this map. This never throws
+     * or probes forever on a torn view of the map, but its result is only meaningful if the caller verifies
+     * afterwards that no write overlapped it, as {@link StripedUUIDMap} does with a
+     * {@link java.util.concurrent.locks.StampedLock}.
+     * @param mostSigBits The most significant bits of the {@link UUID}
+     * @param leastSigBits The least significant bits of the {@link UUID}
+     * @return The value, or null if there is none or the view was torn
+     */
+    @Nullable Object getOptimistic(long mostSigBits, long leastSigBits) {
+        long[] keys = this.keys;
+        Object[] values = this.values;
+        // a resize replaces both arrays, so the two may come from different tables
+        if (keys.length != values.length << 1) {
+            return null;
+        }
+
+        int mask = values.length - 1;
+        int slot = hash(mostSigBits, leastSigBits) & mask;
+        for (int probes = 0; probes < values.length; probes++) {
+            Object value = values[slot];
+            if (value == null) {
+                return null;
+            }
+            if (keys[slot << 1] == mostSigBits && keys[(slot << 1) + 1] == leastSigBits) {
+                return value;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return null;
+    }
+
+    /**
+     * Determines if a {@link UUID} is mapped to a value
+     * @param uuid The {@link UUID}
+     * @return Whether there is a value for the {@link UUID}
+     */
+    public boolean containsKey(@NotNull UUID uuid) {
+        return this.find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) >= 0;
+    }
+
+    /**
+     * Maps a {@link UUID} to a value
+     * @param uuid The {@link UUID}
+     * @param value The value
+     * @return The previous value, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V put(@NotNull UUID uuid, @NotNull V value) {
+        long mostSigBits = uuid.getMostSignificantBits();
+        long leastSigBits = uuid.getLeastSignificantBits();
+
+        long[] keys = this.keys;
+        Object[] values = this.values;
+        int mask = values.length - 1;
+        int slot = hash(mostSigBits, leastSigBits) & mask;
+        while (values[slot] != null) {
+            if (keys[slot << 1] == mostSigBits && keys[(slot << 1) + 1] == leastSigBits) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot << 1] = mostSigBits;
+        keys[(slot << 1) + 1] = leastSigBits;
+        values[slot] = value;
+
+        if (++this.size * 2 > values.length) {
+            this.resize(values.length << 1);
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes the value mapped to a {@link UUID}
+     * @param uuid The {@link UUID}
+     * @return The removed value, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V remove(@NotNull UUID uuid) {
+        int slot = this.find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        if (slot < 0) {
+            return null;
+        }
+
+        V removed = (V) this.values[slot];
+        this.deleteSlot(slot);
+        this.size--;
+
+        return removed;
+    }
+
+    /**
+     * Gets the number of entries
+     * @return The number of entries
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Determines if there are no entries
+     * @return Whether there are no entries
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Removes all entries
+     */
+    public void clear() {
+        Arrays.fill(this.values, null);
+        this.size = 0;
+    }
+
+    /**
+     * Calls a consumer for every entry. {@link UUID}s are created for each entry.
+     * @param consumer The consumer
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(@NotNull BiConsumer<? super UUID, ? super V> consumer) {
+        long[] keys = this.keys;
+        Object[] values = this.values;
+        for (int slot = 0; slot < values.length; slot++) {
+            if (values[slot] != null) {
+                consumer.accept(new UUID(keys[slot << 1], keys[(slot << 1) + 1]), (V) values[slot]);
+            }
+        }
+    }
+
+    private int find(long mostSigBits, long leastSigBits) {
+        long[] keys = this.keys;
+        Object[] values = this.values;
+        int mask = values.length - 1;
+        int slot = hash(mostSigBits, leastSigBits) & mask;
+        while (values[slot] != null) {
+            if (keys[slot << 1] == mostSigBits && keys[(slot << 1) + 1] == leastSigBits) {
+                return slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    private void deleteSlot(int slot) {
+        // backward shift deletion keeps probe sequences intact without tombstones
+        long[] keys = this.keys;
+        Object[] values = this.values;
+        int mask = values.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (values[next] != null) {
+            int ideal = hash(keys[next << 1], keys[(next << 1) + 1]) & mask;
+            if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+                keys[hole << 1] = keys[next << 1];
+                keys[(hole << 1) + 1] = keys[(next << 1) + 1];
+                values[hole] = values[next];
+                hole = next;
+            }
+
+            next = (next + 1) & mask;
+        }
+
+        values[hole] = null;
+    }
+
+    private void resize(int newCapacity) {
+        long[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        long[] newKeys = new long[newCapacity << 1];
+        Object[] newValues = new Object[newCapacity];
+        int mask = newCapacity - 1;
+
+        for (int oldSlot = 0; oldSlot < oldValues.length; oldSlot++) {
+            if (oldValues[oldSlot] != null) {
+                long mostSigBits = oldKeys[oldSlot << 1];
+                long leastSigBits = oldKeys[(oldSlot << 1) + 1];
+                int slot = hash(mostSigBits, leastSigBits) & mask;
+                while (newValues[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+
+                newKeys[slot << 1] = mostSigBits;
+                newKeys[(slot << 1) + 1] = leastSigBits;
+                newValues[slot] = oldValues[oldSlot];
+            }
+        }
+
+        this.keys = newKeys;
+        this.values = newValues;
+    }
+
+}
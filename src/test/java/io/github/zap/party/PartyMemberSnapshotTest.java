@@ -0,0 +1,90 @@
+package io.github.zap.party;
+
+import io.github.zap.party.member.PartyMember;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.UUID;
+
+public class PartyMemberSnapshotTest {
+
+    private final UUID ownerUUID = UUID.fromString("ade229bf-d062-46e8-99d8-97b667d5a127");
+
+    private final UUID memberUUID = UUID.fromString("a7db1c97-6064-46a1-91c6-77a4c974b692");
+
+    private final UUID otherUUID = UUID.fromString("3f8c1f4a-2b53-4d4e-8f8c-5fd1b4a4c9a1");
+
+    @Test
+    public void testEmptySnapshot() {
+        Assertions.assertEquals(0, PartyMemberSnapshot.EMPTY.size());
+        Assertions.assertEquals(0, PartyMemberSnapshot.EMPTY.array().length);
+        Assertions.assertTrue(PartyMemberSnapshot.EMPTY.list().isEmpty());
+        Assertions.assertNull(PartyMemberSnapshot.EMPTY.get(this.ownerUUID));
+    }
+
+    @Test
+    public void testWithKeepsInsertionOrder() {
+        PartyMember owner = Mockito.mock(PartyMember.class);
+        PartyMember member = Mockito.mock(PartyMember.class);
+
+        PartyMemberSnapshot snapshot = PartyMemberSnapshot.EMPTY.with(this.ownerUUID, owner)
+                .with(this.memberUUID, member);
+
+        Assertions.assertEquals(2, snapshot.size());
+        Assertions.assertArrayEquals(new PartyMember[] { owner, member }, snapshot.array());
+        Assertions.assertEquals(List.of(owner, member), snapshot.list());
+        Assertions.assertSame(owner, snapshot.get(this.ownerUUID));
+        Assertions.assertSame(member, snapshot.get(this.memberUUID));
+        Assertions.assertNull(snapshot.get(this.otherUUID));
+    }
+
+    @Test
+    public void testWithoutKeepsOrderOfRemainingMembers() {
+        PartyMember owner = Mockito.mock(PartyMember.class);
+        PartyMember member = Mockito.mock(PartyMember.class);
+        PartyMember other = Mockito.mock(PartyMember.class);
+
+        PartyMemberSnapshot snapshot = PartyMemberSnapshot.EMPTY.with(this.ownerUUID, owner)
+                .with(this.memberUUID, member).with(this.otherUUID, other).without(this.memberUUID);
+
+        Assertions.assertEquals(List.of(owner, other), snapshot.list());
+        Assertions.assertNull(snapshot.get(this.memberUUID));
+        Assertions.assertSame(other, snapshot.get(this.otherUUID));
+    }
+
+    @Test
+    public void testWithoutMissingMemberReturnsSameSnapshot() {
+        PartyMemberSnapshot snapshot = PartyMemberSnapshot.EMPTY.with(this.ownerUUID,
+                Mockito.mock(PartyMember.class));
+
+        Assertions.assertSame(snapshot, snapshot.without(this.memberUUID));
+    }
+
+    @Test
+    public void testPublishedSnapshotsAreNotModified() {
+        PartyMember owner = Mockito.mock(PartyMember.class);
+        PartyMember member = Mockito.mock(PartyMember.class);
+
+        PartyMemberSnapshot first = PartyMemberSnapshot.EMPTY.with(this.ownerUUID, owner);
+        PartyMemberSnapshot second = first.with(this.memberUUID, member);
+        PartyMemberSnapshot third = second.without(this.ownerUUID);
+
+        Assertions.assertEquals(0, PartyMemberSnapshot.EMPTY.size());
+        Assertions.assertEquals(List.of(owner), first.list());
+        Assertions.assertNull(first.get(this.memberUUID));
+        Assertions.assertEquals(List.of(owner, member), second.list());
+        Assertions.assertSame(owner, second.get(this.ownerUUID));
+        Assertions.assertEquals(List.of(member), third.list());
+    }
+
+    @Test
+    public void testListIsUnmodifiable() {
+        PartyMemberSnapshot snapshot = PartyMemberSnapshot.EMPTY.with(this.ownerUUID,
+                Mockito.mock(PartyMember.class));
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> snapshot.list().clear());
+    }
+
+}
@@ -0,0 +1,80 @@
+package io.github.zap.party.audience;
+
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.audience.MessageType;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.text.Component;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+public class BufferedSpySinkTest {
+
+    private final Logger logger = Logger.getLogger("BufferedSpySinkTest");
+
+    private List<Component> received;
+
+    private Audience console;
+
+    @BeforeEach
+    public void setup() {
+        this.received = new ArrayList<>();
+        this.console = new Audience() {
+            @Override
+            public void sendMessage(final @NonNull Identity source, final @NonNull Component message,
+                                    final @NonNull MessageType type) {
+                BufferedSpySinkTest.this.received.add(message);
+            }
+        };
+    }
+
+    @Test
+    public void testMessagesAreOnlySentWhenDrained() {
+        BufferedSpySink sink = new BufferedSpySink(this.console, this.logger, 16, 2, SpyOverflowPolicy.DROP_OLDEST,
+                1);
+        for (int i = 0; i < 5; i++) {
+            sink.sendMessage(Component.text(i));
+        }
+
+        Assertions.assertTrue(this.received.isEmpty());
+        Assertions.assertEquals(5, sink.getQueuedCount());
+
+        Assertions.assertEquals(5, sink.drain());
+        Assertions.assertEquals(List.of(Component.text(0), Component.text(1), Component.text(2),
+                Component.text(3), Component.text(4)), this.received);
+        Assertions.assertEquals(0, sink.getQueuedCount());
+        Assertions.assertEquals(5, sink.getSentCount());
+    }
+
+    @Test
+    public void testDropOldest() {
+        BufferedSpySink sink = new BufferedSpySink(this.console, this.logger, 3, 16, SpyOverflowPolicy.DROP_OLDEST,
+                1);
+        for (int i = 0; i < 5; i++) {
+            sink.sendMessage(Component.text(i));
+        }
+
+        sink.drain();
+        Assertions.assertEquals(List.of(Component.text(2), Component.text(3), Component.text(4)), this.received);
+        Assertions.assertEquals(2, sink.getDroppedCount());
+    }
+
+    @Test
+    public void testSample() {
+        BufferedSpySink sink = new BufferedSpySink(this.console, this.logger, 2, 16, SpyOverflowPolicy.SAMPLE, 3);
+        for (int i = 0; i < 8; i++) {
+            sink.sendMessage(Component.text(i));
+        }
+
+        // every third overflowing message replaces the oldest queued message, so only 2 and 5 are kept
+        sink.drain();
+        Assertions.assertEquals(List.of(Component.text(2), Component.text(5)), this.received);
+        Assertions.assertEquals(6, sink.getDroppedCount());
+    }
+
+}
@@ -0,0 +1,95 @@
+package io.github.zap.party.audience;
+
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.audience.MessageType;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.renderer.TranslatableComponentRenderer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.util.Locale;
+
+public class RenderCacheTest {
+
+    private TranslatableComponentRenderer<Locale> renderer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        this.renderer = Mockito.mock(TranslatableComponentRenderer.class);
+        Mockito.when(this.renderer.render(ArgumentMatchers.any(Component.class), ArgumentMatchers.any(Locale.class)))
+                .thenAnswer(invocation -> Component.text(invocation.getArgument(1).toString()));
+    }
+
+    @Test
+    public void testEqualMessagesRenderOnce() {
+        RenderCache renderCache = new RenderCache(16);
+
+        Component first = renderCache.render(Component.translatable("io.github.zap.party.disbanded",
+                NamedTextColor.RED), this.renderer, Locale.US);
+        Component second = renderCache.render(Component.translatable("io.github.zap.party.disbanded",
+                NamedTextColor.RED), this.renderer, Locale.US);
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, renderCache.getHits());
+        Assertions.assertEquals(1, renderCache.getMisses());
+        Assertions.assertEquals(0.5, renderCache.getHitRate());
+        Mockito.verify(this.renderer, Mockito.times(1)).render(ArgumentMatchers.any(Component.class),
+                ArgumentMatchers.any(Locale.class));
+    }
+
+    @Test
+    public void testLocalesRenderSeparately() {
+        RenderCache renderCache = new RenderCache(16);
+        Component message = Component.translatable("io.github.zap.party.muted");
+
+        Assertions.assertEquals(Component.text(Locale.US.toString()),
+                renderCache.render(message, this.renderer, Locale.US));
+        Assertions.assertEquals(Component.text(Locale.FRANCE.toString()),
+                renderCache.render(message, this.renderer, Locale.FRANCE));
+        Assertions.assertEquals(0, renderCache.getHits());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedRenderIsEvicted() {
+        RenderCache renderCache = new RenderCache(2);
+        Component muted = Component.translatable("io.github.zap.party.muted");
+        Component unmuted = Component.translatable("io.github.zap.party.unmuted");
+        Component disbanded = Component.translatable("io.github.zap.party.disbanded");
+
+        renderCache.render(muted, this.renderer, Locale.US);
+        renderCache.render(unmuted, this.renderer, Locale.US);
+        renderCache.render(muted, this.renderer, Locale.US);
+        renderCache.render(disbanded, this.renderer, Locale.US);
+        Assertions.assertEquals(2, renderCache.size());
+
+        renderCache.render(muted, this.renderer, Locale.US);
+        renderCache.render(unmuted, this.renderer, Locale.US);
+        Assertions.assertEquals(2, renderCache.getHits());
+        Assertions.assertEquals(4, renderCache.getMisses());
+    }
+
+    @Test
+    public void testChatMessagesBypassCache() {
+        RenderCache renderCache = new RenderCache(16);
+        Audience console = Mockito.mock(Audience.class);
+        PreRenderedAudience audience = new PreRenderedAudience(console, this.renderer, Locale.US, renderCache);
+        Component chat = Component.text("Hello, World!");
+
+        audience.sendMessage(Identity.nil(), chat, MessageType.CHAT);
+        audience.sendMessage(Identity.nil(), chat, MessageType.CHAT);
+        Assertions.assertEquals(0, renderCache.size());
+        Assertions.assertEquals(0, renderCache.getMisses());
+
+        audience.sendMessage(Identity.nil(), Component.translatable("io.github.zap.party.muted"), MessageType.SYSTEM);
+        Assertions.assertEquals(1, renderCache.size());
+        Mockito.verify(console, Mockito.times(3)).sendMessage(ArgumentMatchers.any(Identity.class),
+                ArgumentMatchers.any(Component.class), ArgumentMatchers.any(MessageType.class));
+    }
+
+}
@@ -0,0 +1,144 @@
+package io.github.zap.party.executor;
+
+import io.github.zap.party.Party;
+import io.github.zap.party.member.PartyMember;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class MailboxPartyExecutorTest {
+
+    private Logger logger;
+
+    private Party party;
+
+    private Party otherParty;
+
+    @BeforeEach
+    public void setup() {
+        this.logger = Logger.getAnonymousLogger();
+        this.logger.setLevel(Level.OFF);
+
+        this.party = this.mockParty(UUID.fromString("0b3e8f4c-6f0e-4c1a-9a57-46a3bb1c0e2d"));
+        this.otherParty = this.mockParty(UUID.fromString("6d1f3a2e-8c4b-4f7a-b1d2-9e0c3a5b7f81"));
+    }
+
+    private Party mockParty(UUID id) {
+        Party party = Mockito.mock(Party.class);
+        Mockito.when(party.getId()).thenReturn(id);
+        Mockito.when(party.getOwner()).thenReturn(Optional.of(Mockito.mock(PartyMember.class)));
+
+        return party;
+    }
+
+    @Test
+    public void testMutationsRunInSubmissionOrderPerParty() {
+        MailboxPartyExecutor executor = new MailboxPartyExecutor(this.logger, 64);
+        List<String> partyOrder = new ArrayList<>();
+        List<String> otherPartyOrder = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++) {
+            String mutation = Integer.toString(i);
+            executor.execute(this.party, () -> partyOrder.add(mutation));
+            executor.execute(this.otherParty, () -> otherPartyOrder.add(mutation));
+        }
+        Assertions.assertTrue(partyOrder.isEmpty());
+
+        executor.drain();
+        List<String> expected = List.of("0", "1", "2", "3", "4", "5", "6", "7", "8", "9");
+        Assertions.assertEquals(expected, partyOrder);
+        Assertions.assertEquals(expected, otherPartyOrder);
+    }
+
+    @Test
+    public void testDrainRunsAtMostOneBatchPerParty() {
+        MailboxPartyExecutor executor = new MailboxPartyExecutor(this.logger, 2);
+        List<Integer> ran = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int mutation = i;
+            executor.execute(this.party, () -> ran.add(mutation));
+        }
+
+        executor.drain();
+        Assertions.assertEquals(List.of(0, 1), ran);
+        executor.drain();
+        Assertions.assertEquals(List.of(0, 1, 2, 3), ran);
+        executor.drain();
+        Assertions.assertEquals(List.of(0, 1, 2, 3, 4), ran);
+        executor.drain();
+        Assertions.assertEquals(5, ran.size());
+    }
+
+    @Test
+    public void testMutationsSubmittedWhileDrainingRunInTheNextDrain() {
+        MailboxPartyExecutor executor = new MailboxPartyExecutor(this.logger, 64);
+        List<String> ran = new ArrayList<>();
+        executor.execute(this.party, () -> {
+            ran.add("first");
+            executor.execute(this.party, () -> ran.add("second"));
+        });
+
+        executor.drain();
+        Assertions.assertEquals(List.of("first"), ran);
+        executor.drain();
+        Assertions.assertEquals(List.of("first", "second"), ran);
+    }
+
+    @Test
+    public void testDrainAllIgnoresBatchSize() {
+        MailboxPartyExecutor executor = new MailboxPartyExecutor(this.logger, 1);
+        List<Integer> ran = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int mutation = i;
+            executor.execute(this.party, () -> ran.add(mutation));
+            executor.execute(this.otherParty, () -> ran.add(-mutation));
+        }
+        executor.execute(this.party, () -> executor.execute(this.party, () -> ran.add(100)));
+
+        executor.drainAll();
+        Assertions.assertEquals(11, ran.size());
+        Assertions.assertEquals(100, ran.get(ran.size() - 1));
+    }
+
+    @Test
+    public void testFailingMutationIsSkipped() {
+        MailboxPartyExecutor executor = new MailboxPartyExecutor(this.logger, 64);
+        List<String> ran = new ArrayList<>();
+        executor.execute(this.party, () -> ran.add("before"));
+        executor.execute(this.party, () -> {
+            throw new IllegalStateException("mutation failed");
+        });
+        executor.execute(this.party, () -> ran.add("after"));
+
+        Assertions.assertDoesNotThrow(executor::drain);
+        Assertions.assertEquals(List.of("before", "after"), ran);
+    }
+
+    @Test
+    public void testDisbandedPartyCanStillBeMutated() {
+        MailboxPartyExecutor executor = new MailboxPartyExecutor(this.logger, 64);
+        List<String> ran = new ArrayList<>();
+        Mockito.when(this.party.getOwner()).thenReturn(Optional.empty());
+
+        executor.execute(this.party, () -> ran.add("disband"));
+        executor.drain();
+        executor.execute(this.party, () -> ran.add("late"));
+        executor.drain();
+
+        Assertions.assertEquals(List.of("disband", "late"), ran);
+    }
+
+    @Test
+    public void testBatchSizeMustBePositive() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new MailboxPartyExecutor(this.logger, 0));
+    }
+
+}
@@ -0,0 +1,58 @@
+package io.github.zap.party.invitation;
+
+import io.github.zap.party.Party;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public class InvitationIndexTest {
+
+    private final UUID invitee = UUID.fromString("ade229bf-d062-46e8-99d8-97b667d5a127");
+
+    private final UUID inviter = UUID.fromString("a7db1c97-6064-46a1-91c6-77a4c974b692");
+
+    private InvitationIndex invitationIndex;
+
+    private Party first, second;
+
+    @BeforeEach
+    public void setup() {
+        this.invitationIndex = new InvitationIndex();
+        this.first = Mockito.mock(Party.class);
+        this.second = Mockito.mock(Party.class);
+    }
+
+    @Test
+    public void testLatestInvitation() {
+        this.invitationIndex.add(this.invitee, new InvitationIndex.Invitation(this.first, this.inviter));
+        this.invitationIndex.add(this.invitee, new InvitationIndex.Invitation(this.second, this.inviter));
+
+        Optional<InvitationIndex.Invitation> latest = this.invitationIndex.getLatest(this.invitee);
+        Assertions.assertTrue(latest.isPresent());
+        Assertions.assertEquals(this.second, latest.get().party());
+
+        this.invitationIndex.add(this.invitee, new InvitationIndex.Invitation(this.first, this.inviter));
+        Assertions.assertEquals(List.of(this.second, this.first), this.invitationIndex.getInvitations(this.invitee)
+                .stream().map(InvitationIndex.Invitation::party).toList());
+    }
+
+    @Test
+    public void testRemoveInvitation() {
+        this.invitationIndex.add(this.invitee, new InvitationIndex.Invitation(this.first, this.inviter));
+        this.invitationIndex.add(this.invitee, new InvitationIndex.Invitation(this.second, this.inviter));
+
+        this.invitationIndex.remove(this.invitee, this.second);
+        Assertions.assertEquals(Optional.of(this.first),
+                this.invitationIndex.getLatest(this.invitee).map(InvitationIndex.Invitation::party));
+
+        this.invitationIndex.remove(this.invitee, this.first);
+        Assertions.assertTrue(this.invitationIndex.getLatest(this.invitee).isEmpty());
+        Assertions.assertTrue(this.invitationIndex.getInvitations(this.invitee).isEmpty());
+    }
+
+}
@@ -0,0 +1,128 @@
+package io.github.zap.party.invitation;
+
+import io.github.zap.party.Party;
+import io.github.zap.party.member.PartyMember;
+import io.github.zap.party.namer.SingleTextColorOfflinePlayerNamer;
+import io.github.zap.party.settings.PartySettings;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Server;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public class InvitationSweeperTest {
+
+    private final static String EXPIRED_KEY = "io.github.zap.party.invite.to.expired";
+
+    private long now;
+
+    private InvitationSweeper invitationSweeper;
+
+    private TimedInvitationManager invitationManager;
+
+    private Party party;
+
+    private OfflinePlayer owner;
+
+    @BeforeEach
+    public void setup() {
+        this.now = 0L;
+        this.invitationSweeper = new InvitationSweeper(() -> this.now, 20, 2);
+
+        Plugin plugin = Mockito.mock(Plugin.class);
+        Mockito.when(plugin.getServer()).thenReturn(Mockito.mock(Server.class));
+        this.invitationManager = new TimedInvitationManager(plugin, new SingleTextColorOfflinePlayerNamer(),
+                this.invitationSweeper, new InvitationIndex());
+
+        this.owner = this.mockPlayer(UUID.fromString("ade229bf-d062-46e8-99d8-97b667d5a127"));
+        PartyMember ownerMember = Mockito.mock(PartyMember.class);
+        Mockito.when(ownerMember.getOfflinePlayer()).thenReturn(this.owner);
+
+        this.party = Mockito.mock(Party.class);
+        Mockito.when(this.party.hasMember(this.owner)).thenReturn(true);
+        Mockito.when(this.party.getOwner()).thenReturn(Optional.of(ownerMember));
+        Mockito.when(this.party.getPartySettings()).thenReturn(new PartySettings());
+    }
+
+    private OfflinePlayer mockPlayer(UUID uuid) {
+        OfflinePlayer player = Mockito.mock(OfflinePlayer.class);
+        Mockito.when(player.getUniqueId()).thenReturn(uuid);
+        Mockito.when(player.getName()).thenReturn(uuid.toString());
+
+        return player;
+    }
+
+    private void verifyExpiryMessages(int times) {
+        Mockito.verify(this.party, Mockito.times(times)).broadcastMessage(ArgumentMatchers.argThat(component ->
+                component instanceof TranslatableComponent translatable && translatable.key().equals(EXPIRED_KEY)));
+    }
+
+    @Test
+    public void testInvitationExpiresLazilyOnAccess() {
+        OfflinePlayer invitee = this.mockPlayer(UUID.fromString("a7db1c97-6064-46a1-91c6-77a4c974b692"));
+        this.invitationManager.addInvitation(this.party, invitee, this.owner);
+        Assertions.assertTrue(this.invitationManager.hasInvitation(invitee));
+
+        this.now += new PartySettings().getInviteExpirationTime() * 50L;
+        Assertions.assertFalse(this.invitationManager.hasInvitation(invitee));
+        Assertions.assertFalse(this.invitationManager.hasInvitation(invitee));
+        Assertions.assertTrue(this.invitationManager.getInvitations().isEmpty());
+        this.verifyExpiryMessages(1);
+    }
+
+    @Test
+    public void testModificationCountDoesNotExpire() {
+        OfflinePlayer invitee = this.mockPlayer(UUID.fromString("a7db1c97-6064-46a1-91c6-77a4c974b692"));
+        this.invitationManager.addInvitation(this.party, invitee, this.owner);
+        long modificationCount = this.invitationManager.getModificationCount();
+
+        this.now += new PartySettings().getInviteExpirationTime() * 50L;
+        Assertions.assertEquals(modificationCount, this.invitationManager.getModificationCount());
+        this.verifyExpiryMessages(0);
+
+        this.invitationManager.expireDueInvitations();
+        Assertions.assertNotEquals(modificationCount, this.invitationManager.getModificationCount());
+        this.verifyExpiryMessages(1);
+    }
+
+    @Test
+    public void testSweepIsBoundedByBudget() {
+        for (int i = 0; i < 5; i++) {
+            this.invitationManager.addInvitation(this.party, this.mockPlayer(UUID.randomUUID()), this.owner);
+        }
+
+        this.now += new PartySettings().getInviteExpirationTime() * 50L;
+        this.invitationSweeper.sweep();
+        Assertions.assertEquals(2, this.invitationSweeper.getLastSweepExamined());
+        Assertions.assertEquals(2, this.invitationSweeper.getLastSweepExpired());
+        this.verifyExpiryMessages(2);
+
+        this.invitationSweeper.sweep();
+        this.invitationSweeper.sweep();
+        Assertions.assertEquals(1, this.invitationSweeper.getLastSweepExamined());
+        Assertions.assertEquals(5, this.invitationSweeper.getTotalExpired());
+        this.verifyExpiryMessages(5);
+    }
+
+    @Test
+    public void testSweepSkipsRemovedInvitations() {
+        OfflinePlayer invitee = this.mockPlayer(UUID.fromString("a7db1c97-6064-46a1-91c6-77a4c974b692"));
+        this.invitationManager.addInvitation(this.party, invitee, this.owner);
+        Assertions.assertTrue(this.invitationManager.removeInvitation(invitee));
+
+        this.now += new PartySettings().getInviteExpirationTime() * 50L;
+        this.invitationSweeper.sweep();
+        Assertions.assertEquals(1, this.invitationSweeper.getLastSweepExamined());
+        Assertions.assertEquals(0, this.invitationSweeper.getLastSweepExpired());
+        this.verifyExpiryMessages(0);
+    }
+
+}
@@ -0,0 +1,131 @@
+package io.github.zap.party.list;
+
+import io.github.zap.party.Party;
+import io.github.zap.party.invitation.InvitationManager;
+import io.github.zap.party.member.PartyMember;
+import io.github.zap.party.namer.OfflinePlayerNamer;
+import io.github.zap.party.namer.SingleTextColorOfflinePlayerNamer;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+public class BasicPartyListerTest {
+
+    private final UUID bigDipUUID = UUID.fromString("a7db1c97-6064-46a1-91c6-77a4c974b692");
+
+    private Server server;
+
+    private Plugin plugin;
+
+    private OfflinePlayerNamer onlineNamer, offlineNamer, invitedNamer;
+
+    private Party party;
+
+    private InvitationManager invitationManager;
+
+    private List<PartyMember> members;
+
+    @BeforeEach
+    public void setup() {
+        this.server = Mockito.mock(Server.class);
+        this.plugin = Mockito.mock(Plugin.class);
+        Mockito.when(this.plugin.getServer()).thenReturn(this.server);
+
+        this.onlineNamer = Mockito.spy(new SingleTextColorOfflinePlayerNamer(NamedTextColor.GREEN));
+        this.offlineNamer = Mockito.spy(new SingleTextColorOfflinePlayerNamer(NamedTextColor.RED));
+        this.invitedNamer = Mockito.spy(new SingleTextColorOfflinePlayerNamer(NamedTextColor.BLUE));
+
+        this.members = new ArrayList<>();
+        Player owner = Mockito.mock(Player.class);
+        Mockito.when(owner.getPlayer()).thenReturn(owner);
+        Mockito.when(owner.displayName()).thenReturn(Component.text("VeryAverage"));
+        PartyMember ownerMember = Mockito.mock(PartyMember.class);
+        Mockito.when(ownerMember.getPlayerIfOnline()).thenReturn(Optional.of(owner));
+        Mockito.when(ownerMember.getOfflinePlayer()).thenReturn(owner);
+        this.members.add(ownerMember);
+
+        this.invitationManager = Mockito.mock(InvitationManager.class);
+        Mockito.when(this.invitationManager.getInvitations()).thenReturn(Set.of(this.bigDipUUID));
+
+        OfflinePlayer invitee = Mockito.mock(OfflinePlayer.class);
+        Mockito.when(invitee.getUniqueId()).thenReturn(this.bigDipUUID);
+        Mockito.when(invitee.getName()).thenReturn("BigDip123");
+        Mockito.when(this.server.getOfflinePlayer(this.bigDipUUID)).thenReturn(invitee);
+
+        this.party = Mockito.mock(Party.class);
+        Mockito.when(this.party.getMembers()).thenAnswer(invocation -> List.copyOf(this.members));
+        Mockito.when(this.party.getInvitationManager()).thenReturn(this.invitationManager);
+    }
+
+    @Test
+    public void testListIsCachedUntilMembershipChanges() {
+        BasicPartyLister lister = new BasicPartyLister(this.plugin, this.onlineNamer, this.offlineNamer,
+                this.invitedNamer);
+
+        Collection<Component> first = lister.getPartyListComponents(this.party, Locale.US);
+        Assertions.assertSame(first, lister.getPartyListComponents(this.party, Locale.US));
+        Mockito.verify(this.onlineNamer, Mockito.times(1)).name(ArgumentMatchers.any(OfflinePlayer.class));
+
+        Mockito.when(this.party.getMembershipVersion()).thenReturn(1L);
+        Assertions.assertNotSame(first, lister.getPartyListComponents(this.party, Locale.US));
+        Mockito.verify(this.onlineNamer, Mockito.times(2)).name(ArgumentMatchers.any(OfflinePlayer.class));
+    }
+
+    @Test
+    public void testInvitationChangeKeepsMemberNames() {
+        BasicPartyLister lister = new BasicPartyLister(this.plugin, this.onlineNamer, this.offlineNamer,
+                this.invitedNamer);
+
+        lister.getPartyListComponents(this.party, Locale.US);
+        Mockito.when(this.invitationManager.getModificationCount()).thenReturn(1L);
+        lister.getPartyListComponents(this.party, Locale.US);
+
+        Mockito.verify(this.onlineNamer, Mockito.times(1)).name(ArgumentMatchers.any(OfflinePlayer.class));
+        Mockito.verify(this.server, Mockito.times(2)).getOfflinePlayer(this.bigDipUUID);
+    }
+
+    @Test
+    public void testLargePartyIsPaginated() {
+        for (int i = 0; i < 5; i++) {
+            OfflinePlayer offlinePlayer = Mockito.mock(OfflinePlayer.class);
+            Mockito.when(offlinePlayer.getName()).thenReturn("Member" + i);
+            PartyMember member = Mockito.mock(PartyMember.class);
+            Mockito.when(member.getPlayerIfOnline()).thenReturn(Optional.empty());
+            Mockito.when(member.getOfflinePlayer()).thenReturn(offlinePlayer);
+            this.members.add(member);
+        }
+
+        BasicPartyLister lister = new BasicPartyLister(this.plugin, this.onlineNamer, this.offlineNamer,
+                this.invitedNamer, 2);
+
+        List<Component> firstPage = List.copyOf(lister.getPartyListComponents(this.party, Locale.US, 1));
+        Assertions.assertEquals(4, firstPage.size());
+        Assertions.assertEquals(List.of(Component.text(1), Component.text(3)),
+                ((TranslatableComponent) firstPage.get(3)).args());
+
+        List<Component> lastPage = List.copyOf(lister.getPartyListComponents(this.party, Locale.US, 3));
+        Assertions.assertEquals(List.of(Component.text("Member4", NamedTextColor.RED)),
+                ((TranslatableComponent) lastPage.get(1)).args().get(1).children());
+
+        Assertions.assertSame(lister.getPartyListComponents(this.party, Locale.US, 3),
+                lister.getPartyListComponents(this.party, Locale.US, 10));
+    }
+
+}
@@ -0,0 +1,56 @@
+package io.github.zap.party.list;
+
+import com.ibm.icu.text.ListFormatter;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class ListFormatUtilTest {
+
+    @Test
+    public void testListMatchesListFormatter() {
+        List<String> names = List.of("VeryAverage", "BigDip123", "SimpleCactus", "Tech");
+        for (Locale locale : List.of(Locale.US, Locale.forLanguageTag("hr-HR"), Locale.FRANCE, Locale.JAPAN)) {
+            for (int i = 1; i <= names.size(); i++) {
+                List<String> parts = names.subList(0, i);
+                List<Component> components = new ArrayList<>();
+                for (String part : parts) {
+                    components.add(Component.text(part));
+                }
+
+                String expected = ListFormatter.getInstance(locale).format(parts);
+                Assertions.assertEquals(expected, plain(ListFormatUtil.list(locale, components)), locale + " " + i);
+            }
+        }
+    }
+
+    @Test
+    public void testLayoutsAreReused() {
+        Assertions.assertSame(ListFormatUtil.layout(Locale.US, 3), ListFormatUtil.layout(Locale.US, 3));
+        Assertions.assertEquals(3, ListFormatUtil.layout(Locale.US, 3).getSlotCount());
+        Assertions.assertEquals(200, ListFormatUtil.layout(Locale.US, 200).getSlotCount());
+    }
+
+    @Test
+    public void testEmptyList() {
+        Assertions.assertEquals(Component.empty(), ListFormatUtil.list(Locale.US, List.of()));
+    }
+
+    private static String plain(Component component) {
+        StringBuilder builder = new StringBuilder();
+        if (component instanceof TextComponent text) {
+            builder.append(text.content());
+        }
+        for (Component child : component.children()) {
+            builder.append(plain(child));
+        }
+
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,124 @@
+package io.github.zap.party.namer;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.UUID;
+
+public class CachingOfflinePlayerNamerTest {
+
+    private final UUID firstUUID = UUID.fromString("a7db1d76-fc3a-4ef5-a8e4-ee4e1bb2b2bd");
+
+    private final UUID secondUUID = UUID.fromString("9c5f3e52-2be8-4a0b-8f9e-77d3d2dcb5a4");
+
+    private OfflinePlayerNamer delegate;
+
+    private OfflineNameCache nameCache;
+
+    private CachingOfflinePlayerNamer namer;
+
+    private OfflinePlayer first, second;
+
+    @BeforeEach
+    public void setup() {
+        this.delegate = Mockito.spy(new SingleTextColorOfflinePlayerNamer(NamedTextColor.GRAY));
+        this.nameCache = new OfflineNameCache(16);
+        this.namer = new CachingOfflinePlayerNamer(this.delegate, this.nameCache, 1);
+
+        this.first = Mockito.mock(OfflinePlayer.class);
+        Mockito.when(this.first.getUniqueId()).thenReturn(this.firstUUID);
+        Mockito.when(this.first.getName()).thenReturn("VeryAverage");
+
+        this.second = Mockito.mock(OfflinePlayer.class);
+        Mockito.when(this.second.getUniqueId()).thenReturn(this.secondUUID);
+        Mockito.when(this.second.getName()).thenReturn("BigDip123");
+    }
+
+    @Test
+    public void testOfflineNameIsCached() {
+        Component name = this.namer.name(this.first);
+        Assertions.assertEquals(name, this.namer.name(this.first));
+
+        Mockito.verify(this.delegate, Mockito.times(1)).name(this.first);
+        Assertions.assertEquals(1, this.namer.getHits());
+        Assertions.assertEquals(1, this.namer.getMisses());
+    }
+
+    @Test
+    public void testCachedNameDoesNotLookUpOfflinePlayer() {
+        Server server = Mockito.mock(Server.class);
+        Mockito.when(server.getOfflinePlayer(this.firstUUID)).thenReturn(this.first);
+
+        this.namer.name(this.firstUUID, server);
+        this.namer.name(this.firstUUID, server);
+
+        Mockito.verify(server, Mockito.times(1)).getOfflinePlayer(this.firstUUID);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedNameIsEvicted() {
+        this.namer.name(this.first);
+        this.namer.name(this.second);
+        this.namer.name(this.first);
+
+        // the evicted name is rebuilt from the shared plain name instead of being looked up again
+        Mockito.verify(this.delegate, Mockito.times(1)).name(this.first);
+        Mockito.verify(this.delegate, Mockito.times(1)).nameOffline("VeryAverage");
+        Assertions.assertEquals(1, this.namer.size());
+        Assertions.assertEquals(2, this.namer.getMisses());
+    }
+
+    @Test
+    public void testNamersShareNames() {
+        Server server = Mockito.mock(Server.class);
+        Mockito.when(server.getOfflinePlayer(this.firstUUID)).thenReturn(this.first);
+        CachingOfflinePlayerNamer otherNamer = new CachingOfflinePlayerNamer(
+                new SingleTextColorOfflinePlayerNamer(NamedTextColor.RED), this.nameCache, 1);
+
+        this.namer.name(this.firstUUID, server);
+        Component name = otherNamer.name(this.firstUUID, server);
+
+        Assertions.assertEquals(Component.text("VeryAverage", NamedTextColor.RED), name);
+        Mockito.verify(server, Mockito.times(1)).getOfflinePlayer(this.firstUUID);
+        Assertions.assertEquals(1, otherNamer.getHits());
+        Assertions.assertEquals(0, otherNamer.getMisses());
+    }
+
+    @Test
+    public void testJoinRefreshesName() {
+        Assertions.assertEquals(Component.text("VeryAverage", NamedTextColor.GRAY), this.namer.name(this.first));
+
+        Player player = Mockito.mock(Player.class);
+        Mockito.when(player.getUniqueId()).thenReturn(this.firstUUID);
+        Mockito.when(player.getName()).thenReturn("SimpleCactus");
+        this.nameCache.onPlayerJoin(new PlayerJoinEvent(player, "SimpleCactus joined the game"));
+
+        Assertions.assertEquals("SimpleCactus", this.namer.getCachedName(this.firstUUID));
+        Assertions.assertEquals(Component.text("SimpleCactus", NamedTextColor.GRAY), this.namer.name(this.first));
+    }
+
+    @Test
+    public void testOnlinePlayersAreNotCached() {
+        Player player = Mockito.mock(Player.class);
+        Mockito.when(player.getUniqueId()).thenReturn(this.firstUUID);
+        Mockito.when(player.getName()).thenReturn("VeryAverage");
+        Mockito.when(player.getPlayer()).thenReturn(player);
+        Mockito.when(player.displayName()).thenReturn(Component.text("VeryAverage"));
+
+        this.namer.name(player);
+        this.namer.name(player);
+
+        Mockito.verify(this.delegate, Mockito.times(2)).name(player);
+        Assertions.assertEquals(0, this.namer.size());
+        Assertions.assertEquals("VeryAverage", this.namer.getCachedName(this.firstUUID));
+    }
+
+}
@@ -35,6 +35,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
@@ -164,6 +165,87 @@ public class PartyAsyncChatTest {
                     && translatableComponent.args().contains(oldMessage));
         }}
 
+    @Test
+    public void testAsyncChatRendersOncePerLocale() {
+        Mockito.when(this.owner.locale()).thenReturn(Locale.ENGLISH);
+        Mockito.when(this.member.locale()).thenReturn(Locale.ENGLISH);
+        Optional<PartyMember> partyMemberOptional = this.party.addMember(this.member);
+
+        Assertions.assertTrue(partyMemberOptional.isPresent());
+        partyMemberOptional.get().setInPartyChat(true);
+
+        ChatRenderer.ViewerUnaware originalRenderer = Mockito.mock(ChatRenderer.ViewerUnaware.class);
+        Mockito.when(originalRenderer.render(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(Component.text("Hello, World!"));
+        Component originalMessage = Component.text("Hello, World!");
+        AsyncChatEvent event = new AsyncChatEvent(true, this.member,
+                new HashSet<>(Set.of(this.owner, this.member, this.noob)),
+                ChatRenderer.viewerUnaware(originalRenderer), originalMessage, originalMessage);
+        this.asyncChatHandler.onAsyncChat(event);
+
+        Component ownerMessage = event.renderer().render(this.member, this.member.displayName(), event.message(),
+                this.owner);
+        Component memberMessage = event.renderer().render(this.member, this.member.displayName(), event.message(),
+                this.member);
+        event.renderer().render(this.member, this.member.displayName(), event.message(), this.spy);
+
+        Assertions.assertSame(ownerMessage, memberMessage);
+        Mockito.verify(originalRenderer, Mockito.times(2)).render(ArgumentMatchers.any(), ArgumentMatchers.any(),
+                ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testAsyncChatRendersViewerAwareRendererPerViewer() {
+        Mockito.when(this.owner.locale()).thenReturn(Locale.ENGLISH);
+        Mockito.when(this.member.locale()).thenReturn(Locale.ENGLISH);
+        Optional<PartyMember> partyMemberOptional = this.party.addMember(this.member);
+
+        Assertions.assertTrue(partyMemberOptional.isPresent());
+        partyMemberOptional.get().setInPartyChat(true);
+
+        ChatRenderer originalRenderer = Mockito.mock(ChatRenderer.class);
+        Mockito.when(originalRenderer.render(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(),
+                ArgumentMatchers.eq(this.owner))).thenReturn(Component.text("Hello, owner!"));
+        Mockito.when(originalRenderer.render(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(),
+                ArgumentMatchers.eq(this.member))).thenReturn(Component.text("Hello, member!"));
+        Component originalMessage = Component.text("Hello, World!");
+        AsyncChatEvent event = new AsyncChatEvent(true, this.member,
+                new HashSet<>(Set.of(this.owner, this.member, this.noob)), originalRenderer, originalMessage,
+                originalMessage);
+        this.asyncChatHandler.onAsyncChat(event);
+
+        Component ownerMessage = event.renderer().render(this.member, this.member.displayName(), event.message(),
+                this.owner);
+        Component memberMessage = event.renderer().render(this.member, this.member.displayName(), event.message(),
+                this.member);
+
+        Assertions.assertNotEquals(ownerMessage, memberMessage);
+        Mockito.verify(originalRenderer, Mockito.times(2)).render(ArgumentMatchers.any(), ArgumentMatchers.any(),
+                ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testAsyncChatInPartyChatWithViewersThatCannotBeCleared() {
+        Optional<PartyMember> partyMemberOptional = this.party.addMember(this.member);
+
+        Assertions.assertTrue(partyMemberOptional.isPresent());
+        partyMemberOptional.get().setInPartyChat(true);
+
+        Set<Audience> viewers = new HashSet<>(Set.of(this.owner, this.member, this.noob)) {
+            @Override
+            public void clear() {
+                throw new UnsupportedOperationException();
+            }
+        };
+        Component originalMessage = Component.text("Hello, World!");
+        AsyncChatEvent event = new AsyncChatEvent(true, this.member, viewers, ChatRenderer.defaultRenderer(),
+                originalMessage, originalMessage);
+        this.asyncChatHandler.onAsyncChat(event);
+
+        Assertions.assertFalse(event.isCancelled());
+        Assertions.assertEquals(Set.of(this.owner, this.member, this.spy), event.viewers());
+    }
+
     @Test
     public void testAsyncChatFromMutedPlayerInPartyNotInPartyChat() {
         Optional<PartyMember> partyMemberOptional = this.party.addMember(this.member);
@@ -14,8 +14,6 @@ import java.util.UUID;
 
 public class PartyMemberTest {
 
-    private final static int BEST_TICK = 69;
-
     private Server server;
 
     private Player member;
@@ -23,7 +21,6 @@ public class PartyMemberTest {
     @BeforeEach
     public void setup() {
         this.server = Mockito.mock(Server.class);
-        Mockito.when(this.server.getCurrentTick()).thenReturn(BEST_TICK).thenReturn(BEST_TICK + 1);
 
         this.member = Mockito.mock(Player.class);
         Mockito.when(this.member.getUniqueId()).thenReturn(UUID.fromString("ade229bf-d062-46e8-99d8-97b667d5a127"));
@@ -50,8 +47,25 @@ public class PartyMemberTest {
         Mockito.when(this.server.getPlayer(this.member.getUniqueId())).thenReturn(null);
 
         PartyMember partyMember = new PartyMember(this.member);
+        partyMember.setOnlinePlayer(null);
         Optional<Player> playerOptional = partyMember.getPlayerIfOnline();
         Assertions.assertTrue(playerOptional.isEmpty());
     }
 
+    @Test
+    public void testGetPlayerIfOnlineAfterRejoin() {
+        Player rejoined = Mockito.mock(Player.class);
+        Mockito.when(rejoined.getUniqueId()).thenReturn(this.member.getUniqueId());
+
+        PartyMember partyMember = new PartyMember(this.member);
+        partyMember.setOnlinePlayer(null);
+        partyMember.setOnlinePlayer(rejoined);
+
+        Optional<Player> playerOptional = partyMember.getPlayerIfOnline();
+        Assertions.assertTrue(playerOptional.isPresent());
+        Assertions.assertEquals(rejoined, playerOptional.get());
+        Assertions.assertEquals(rejoined, partyMember.getOfflinePlayer());
+        Mockito.verify(this.server, Mockito.never()).getPlayer(this.member.getUniqueId());
+    }
+
 }
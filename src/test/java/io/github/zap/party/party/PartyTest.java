@@ -9,7 +9,11 @@ import io.github.zap.party.member.PartyMember;
 import io.github.zap.party.namer.OfflinePlayerNamer;
 import io.github.zap.party.namer.SingleTextColorOfflinePlayerNamer;
 import io.github.zap.party.settings.PartySettings;
+import io.github.zap.party.spy.SpyRegistry;
+import io.github.zap.party.spy.SpyTopic;
 import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.audience.MessageType;
+import net.kyori.adventure.identity.Identity;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.OfflinePlayer;
@@ -21,6 +25,7 @@ import org.bukkit.scheduler.BukkitTask;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 import org.mockito.stubbing.Answer;
@@ -32,6 +37,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
 
 public class PartyTest {
@@ -120,6 +126,52 @@ public class PartyTest {
         }
     }
 
+    @Test
+    public void testBroadcastMessageToGlobalSpies() {
+        SpyRegistry spyRegistry = new SpyRegistry();
+        Audience globalSpy = Mockito.mock(Audience.class);
+        Audience chatSpy = Mockito.mock(Audience.class);
+        spyRegistry.subscribe(globalSpy);
+        spyRegistry.subscribe(chatSpy, Set.of(SpyTopic.CHAT), party -> true);
+        spyRegistry.subscribe(this.owner);
+
+        OfflinePlayerNamer playerNamer = new SingleTextColorOfflinePlayerNamer();
+        Party party = new Party(new Random(), new PartyMember(this.owner), new PartySettings(), PartyMember::new,
+                new TimedInvitationManager(this.plugin, playerNamer), new ArrayList<>(),
+                Mockito.mock(PartyLister.class), playerNamer, spyRegistry);
+
+        Component component = Component.text("Hello, World!");
+        party.broadcastMessage(component);
+
+        Mockito.verify(globalSpy).sendMessage(ArgumentMatchers.eq(component));
+        Mockito.verify(chatSpy, Mockito.never()).sendMessage(ArgumentMatchers.any(Component.class));
+        Mockito.verify(this.owner, Mockito.times(1)).sendMessage(ArgumentMatchers.eq(component));
+    }
+
+    @Test
+    public void testBroadcastMessageAfterPresenceAndSpyChanges() {
+        this.party.addMember(this.member);
+        this.party.updateMemberPresence(this.member.getUniqueId(), null);
+
+        Component first = Component.text("Hello, World!");
+        this.party.broadcastMessage(first);
+
+        Mockito.verify(this.owner).sendMessage(ArgumentMatchers.eq(first));
+        Mockito.verify(this.member, Mockito.never()).sendMessage(ArgumentMatchers.eq(first));
+        Mockito.verify(this.spy).sendMessage(ArgumentMatchers.any(Identity.class), ArgumentMatchers.eq(first),
+                ArgumentMatchers.any(MessageType.class));
+
+        Assertions.assertTrue(this.party.removeSpyAudience(this.spyAudience));
+        this.party.updateMemberPresence(this.member.getUniqueId(), this.member);
+
+        Component second = Component.text("Goodbye, World!");
+        this.party.broadcastMessage(second);
+
+        Mockito.verify(this.member).sendMessage(ArgumentMatchers.eq(second));
+        Mockito.verify(this.spy, Mockito.never()).sendMessage(ArgumentMatchers.any(Identity.class),
+                ArgumentMatchers.eq(second), ArgumentMatchers.any(MessageType.class));
+    }
+
     @Test
     public void testTransferToPlayerInParty() {
         Mockito.when(this.owner.getPlayer()).thenReturn(this.owner);
@@ -192,6 +244,26 @@ public class PartyTest {
                 .sendMessage(ArgumentMatchers.any(Component.class));
     }
 
+    @Test
+    public void testInviteSeveralPlayersWithOneBroadcast() {
+        BukkitTask bukkitTask = Mockito.mock(BukkitTask.class);
+        Mockito.when(this.scheduler.runTaskLater(ArgumentMatchers.eq(this.plugin), ArgumentMatchers.any(Runnable.class),
+                ArgumentMatchers.eq(this.party.getPartySettings().getInviteExpirationTime()))).thenReturn(bukkitTask);
+
+        Mockito.when(this.member.getPlayer()).thenReturn(this.member);
+        Mockito.when(this.spy.getPlayer()).thenReturn(this.spy);
+        this.party.getInvitationManager().addInvitations(this.party, List.of(this.member, this.spy), this.owner);
+
+        Assertions.assertEquals(Set.of(this.member.getUniqueId(), this.spy.getUniqueId()),
+                this.party.getInvitationManager().getInvitations());
+        Mockito.verify(this.scheduler, Mockito.times(2)).runTaskLater(ArgumentMatchers.eq(this.plugin),
+                ArgumentMatchers.any(Runnable.class),
+                ArgumentMatchers.eq(this.party.getPartySettings().getInviteExpirationTime()));
+        Mockito.verify(this.owner, Mockito.times(1)).sendMessage(ArgumentMatchers.any(Component.class));
+        Mockito.verify(this.member, Mockito.times(1)).sendMessage(ArgumentMatchers.any(Component.class));
+        Mockito.verify(this.spy, Mockito.times(1)).sendMessage(ArgumentMatchers.any(Component.class));
+    }
+
     @Test
     public void testInvitePlayerNotInPartyWithExpiration() {
         Mockito.when(this.owner.getPlayer()).thenReturn(this.owner);
@@ -492,7 +564,7 @@ public class PartyTest {
         Mockito.when(this.member.isOnline()).thenReturn(false);
         this.party.addMember(this.member);
 
-        Mockito.when(this.server.getCurrentTick()).thenReturn(BEST_TICK + 1);
+        this.party.updateMemberPresence(this.member.getUniqueId(), null);
 
         int[] playersRemoved = new int[] { 0 };
         this.party.registerLeaveHandler(player -> {
@@ -518,7 +590,7 @@ public class PartyTest {
         Mockito.when(this.member.isOnline()).thenReturn(true);
         this.party.addMember(this.member);
 
-        Mockito.when(this.server.getCurrentTick()).thenReturn(BEST_TICK + 1);
+        this.party.updateMemberPresence(this.owner.getUniqueId(), null);
 
         int[] playersRemoved = new int[] { 0 };
         this.party.registerLeaveHandler(player -> {
@@ -538,4 +610,20 @@ public class PartyTest {
         Assertions.assertEquals(this.member, owner.get().getOfflinePlayer());
     }
 
+    @Test
+    public void testKickOfflineNoticeSharedBetweenLocales() {
+        Mockito.when(this.member.locale()).thenReturn(Locale.US);
+        this.party.addMember(this.member);
+
+        this.party.kickOffline();
+
+        ArgumentCaptor<Component> ownerNotice = ArgumentCaptor.forClass(Component.class);
+        ArgumentCaptor<Component> memberNotice = ArgumentCaptor.forClass(Component.class);
+        Mockito.verify(this.owner, Mockito.atLeastOnce()).sendMessage(ownerNotice.capture());
+        Mockito.verify(this.member, Mockito.atLeastOnce()).sendMessage(memberNotice.capture());
+        Assertions.assertEquals(Component.translatable("io.github.zap.party.kickoffline.kicked.other",
+                NamedTextColor.RED, Component.text(0)), ownerNotice.getValue());
+        Assertions.assertSame(ownerNotice.getValue(), memberNotice.getValue());
+    }
+
 }
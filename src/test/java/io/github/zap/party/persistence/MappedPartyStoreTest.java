@@ -0,0 +1,239 @@
+package io.github.zap.party.persistence;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class MappedPartyStoreTest {
+
+    // the layout of the file as documented by the store
+    private final static int HEADER_SIZE = 64;
+
+    private final static int RECORD_SIZE = 32 + MappedPartyStore.SLOTS_PER_RECORD * 34;
+
+    private final static byte FREE = 0;
+
+    private final static byte HEAD = 1;
+
+    private final static byte PENDING_HEAD = 3;
+
+    @TempDir
+    public Path directory;
+
+    private PartySnapshot snapshot(int members, int invitations) {
+        List<PartySnapshot.MemberSnapshot> memberSnapshots = new ArrayList<>();
+        for (int i = 0; i < members; i++) {
+            memberSnapshots.add(new PartySnapshot.MemberSnapshot(UUID.randomUUID(), i % 2 == 0, i % 3 == 0));
+        }
+
+        List<PartySnapshot.InvitationSnapshot> invitationSnapshots = new ArrayList<>();
+        for (int i = 0; i < invitations; i++) {
+            invitationSnapshots.add(new PartySnapshot.InvitationSnapshot(UUID.randomUUID(),
+                    memberSnapshots.get(i % members).playerUUID()));
+        }
+
+        return new PartySnapshot(UUID.randomUUID(), memberSnapshots.get(members - 1).playerUUID(), true, false,
+                members % 2 == 0, 1200L * members, memberSnapshots, invitationSnapshots);
+    }
+
+    private PartySnapshot withMembers(PartySnapshot snapshot, List<PartySnapshot.MemberSnapshot> members) {
+        return new PartySnapshot(snapshot.id(), members.get(0).playerUUID(), snapshot.allInvite(),
+                snapshot.anyoneCanJoin(), snapshot.muted(), snapshot.inviteExpirationTime(), members,
+                snapshot.invitations());
+    }
+
+    private void setState(Path file, int record, byte state) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+            randomAccessFile.seek(HEADER_SIZE + (long) record * RECORD_SIZE);
+            randomAccessFile.writeByte(state);
+        }
+    }
+
+    @Test
+    public void testRoundTripAcrossReopen() throws IOException {
+        Path file = this.directory.resolve("parties.map");
+        PartySnapshot small = this.snapshot(1, 0);
+        PartySnapshot large = this.snapshot(3, 2);
+
+        MappedPartyStore store = new MappedPartyStore(file, 4);
+        store.write(small);
+        store.write(large);
+        Assertions.assertEquals(large, store.read(large.id()));
+        store.close();
+
+        MappedPartyStore reopened = new MappedPartyStore(file, 4);
+        Assertions.assertEquals(2, reopened.size());
+        Assertions.assertEquals(small, reopened.read(small.id()));
+        Assertions.assertEquals(large, reopened.read(large.id()));
+        reopened.close();
+    }
+
+    @Test
+    public void testPlayersAreIndexedByParty() throws IOException {
+        MappedPartyStore store = new MappedPartyStore(this.directory.resolve("parties.map"), 4);
+        PartySnapshot snapshot = this.snapshot(3, 1);
+        store.write(snapshot);
+
+        for (PartySnapshot.MemberSnapshot member : snapshot.members()) {
+            Assertions.assertEquals(snapshot.id(), store.getPartyId(member.playerUUID()));
+        }
+        Assertions.assertNull(store.getPartyId(snapshot.invitations().get(0).inviteeUUID()));
+
+        // members who left are no longer indexed once the party is written again
+        PartySnapshot.MemberSnapshot leaver = snapshot.members().get(0);
+        PartySnapshot shrunk = new PartySnapshot(snapshot.id(), snapshot.ownerUUID(), snapshot.allInvite(),
+                snapshot.anyoneCanJoin(), snapshot.muted(), snapshot.inviteExpirationTime(),
+                snapshot.members().subList(1, snapshot.members().size()), snapshot.invitations());
+        store.write(shrunk);
+        Assertions.assertNull(store.getPartyId(leaver.playerUUID()));
+        Assertions.assertEquals(shrunk, store.read(snapshot.id()));
+        store.close();
+    }
+
+    @Test
+    public void testLargePartiesSpanRecords() throws IOException {
+        Path file = this.directory.resolve("parties.map");
+        MappedPartyStore store = new MappedPartyStore(file, 64);
+        PartySnapshot snapshot = this.snapshot(5 * MappedPartyStore.SLOTS_PER_RECORD, 3);
+        store.write(snapshot);
+        store.close();
+
+        MappedPartyStore reopened = new MappedPartyStore(file, 64);
+        Assertions.assertEquals(snapshot, reopened.read(snapshot.id()));
+        reopened.close();
+    }
+
+    @Test
+    public void testRemovedPartiesFreeTheirRecords() throws IOException {
+        Path file = this.directory.resolve("parties.map");
+        MappedPartyStore store = new MappedPartyStore(file, 8);
+        PartySnapshot removed = this.snapshot(2 * MappedPartyStore.SLOTS_PER_RECORD, 0);
+        store.write(removed);
+        store.remove(removed.id());
+        Assertions.assertNull(store.read(removed.id()));
+        Assertions.assertNull(store.getPartyId(removed.ownerUUID()));
+
+        // the freed records are reused instead of growing the file
+        PartySnapshot kept = this.snapshot(2 * MappedPartyStore.SLOTS_PER_RECORD, 0);
+        store.write(kept);
+        Assertions.assertEquals(8, store.getCapacity());
+        store.close();
+
+        MappedPartyStore reopened = new MappedPartyStore(file, 8);
+        Assertions.assertEquals(1, reopened.size());
+        Assertions.assertEquals(kept, reopened.read(kept.id()));
+        reopened.close();
+    }
+
+    @Test
+    public void testStoreGrowsPastInitialCapacity() throws IOException {
+        Path file = this.directory.resolve("parties.map");
+        MappedPartyStore store = new MappedPartyStore(file, 2);
+        List<PartySnapshot> snapshots = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            PartySnapshot snapshot = this.snapshot(i + 1, 1);
+            snapshots.add(snapshot);
+            store.write(snapshot);
+        }
+        Assertions.assertTrue(store.getCapacity() >= 10);
+        store.close();
+
+        MappedPartyStore reopened = new MappedPartyStore(file, 2);
+        Assertions.assertEquals(10, reopened.size());
+        for (PartySnapshot snapshot : snapshots) {
+            Assertions.assertEquals(snapshot, reopened.read(snapshot.id()));
+        }
+        reopened.close();
+    }
+
+    @Test
+    public void testWriteInterruptedBeforeReplacingKeepsOldParty() throws IOException {
+        Path file = this.directory.resolve("parties.map");
+        MappedPartyStore store = new MappedPartyStore(file, 4);
+        PartySnapshot old = this.snapshot(2, 1);
+        PartySnapshot.MemberSnapshot joiner = new PartySnapshot.MemberSnapshot(UUID.randomUUID(), false, false);
+        List<PartySnapshot.MemberSnapshot> members = new ArrayList<>(old.members());
+        members.add(joiner);
+        store.write(old);
+        store.write(this.withMembers(old, members));
+        store.close();
+
+        // the old party was written to the first record and the new one to the second
+        this.setState(file, 0, HEAD);
+        this.setState(file, 1, PENDING_HEAD);
+
+        MappedPartyStore reopened = new MappedPartyStore(file, 4);
+        Assertions.assertEquals(1, reopened.size());
+        Assertions.assertEquals(old, reopened.read(old.id()));
+        Assertions.assertNull(reopened.getPartyId(joiner.playerUUID()));
+        reopened.close();
+    }
+
+    @Test
+    public void testWriteInterruptedAfterReplacingKeepsNewParty() throws IOException {
+        Path file = this.directory.resolve("parties.map");
+        MappedPartyStore store = new MappedPartyStore(file, 4);
+        PartySnapshot old = this.snapshot(3, 0);
+        PartySnapshot shrunk = this.withMembers(old, old.members().subList(1, old.members().size()));
+        store.write(old);
+        store.write(shrunk);
+        store.close();
+
+        this.setState(file, 0, FREE);
+        this.setState(file, 1, PENDING_HEAD);
+
+        MappedPartyStore reopened = new MappedPartyStore(file, 4);
+        Assertions.assertEquals(shrunk, reopened.read(old.id()));
+        Assertions.assertNull(reopened.getPartyId(old.members().get(0).playerUUID()));
+        reopened.close();
+
+        // the pending record was promoted, so it is still the party after opening the file again
+        MappedPartyStore promoted = new MappedPartyStore(file, 4);
+        Assertions.assertEquals(shrunk, promoted.read(old.id()));
+        promoted.close();
+    }
+
+    @Test
+    public void testPlayersStoredInTwoPartiesAreReadOnce() throws IOException {
+        Path file = this.directory.resolve("parties.map");
+        MappedPartyStore store = new MappedPartyStore(file, 4);
+        PartySnapshot left = this.snapshot(2, 0);
+        PartySnapshot.MemberSnapshot mover = left.members().get(1);
+        PartySnapshot joined = this.snapshot(1, 0);
+        store.write(left);
+        // the process stopped before the party the player left was written again
+        store.write(this.withMembers(joined, List.of(joined.members().get(0), mover)));
+
+        Assertions.assertEquals(joined.id(), store.getPartyId(mover.playerUUID()));
+        Assertions.assertEquals(List.of(left.members().get(0)), store.read(left.id()).members());
+        store.close();
+
+        MappedPartyStore reopened = new MappedPartyStore(file, 4);
+        int reads = 0;
+        for (UUID partyId : List.of(left.id(), joined.id())) {
+            PartySnapshot snapshot = reopened.read(partyId);
+            if (snapshot != null && snapshot.members().contains(mover)) {
+                reads++;
+            }
+        }
+        Assertions.assertEquals(1, reads);
+        reopened.close();
+    }
+
+    @Test
+    public void testForeignFileIsRejected() throws IOException {
+        Path file = this.directory.resolve("parties.map");
+        Files.write(file, new byte[128]);
+
+        Assertions.assertThrows(IOException.class, () -> new MappedPartyStore(file, 4));
+    }
+
+}
@@ -0,0 +1,170 @@
+package io.github.zap.party.persistence;
+
+import io.github.zap.party.Party;
+import io.github.zap.party.PartyChange;
+import io.github.zap.party.member.PartyMember;
+import io.github.zap.party.settings.PartySettings;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+public class PartyJournalTest {
+
+    @TempDir
+    public Path directory;
+
+    private Logger logger;
+
+    private Party party;
+
+    private PartySettings partySettings;
+
+    @BeforeEach
+    public void setup() {
+        this.logger = Logger.getAnonymousLogger();
+        this.partySettings = new PartySettings();
+
+        this.party = Mockito.mock(Party.class);
+        Mockito.when(this.party.getId()).thenReturn(UUID.fromString("0b3e8f4c-6f0e-4c1a-9a57-46a3bb1c0e2d"));
+        Mockito.when(this.party.getPartySettings()).thenReturn(this.partySettings);
+    }
+
+    private PartyMember mockMember(UUID uuid) {
+        PartyMember member = Mockito.mock(PartyMember.class);
+        Mockito.when(member.getPlayerUUID()).thenReturn(uuid);
+
+        return member;
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> stream = Files.list(this.directory)) {
+            return stream.count();
+        }
+    }
+
+    @Test
+    public void testReplayAppliesChangesInOrder() throws IOException {
+        PartyMember owner = this.mockMember(UUID.fromString("ade229bf-d062-46e8-99d8-97b667d5a127"));
+        PartyMember member = this.mockMember(UUID.fromString("a7db1c97-6064-46a1-91c6-77a4c974b692"));
+        PartyMember leaver = this.mockMember(UUID.fromString("3f8c1f4a-2b53-4d4e-8f8c-5fd1b4a4c9a1"));
+
+        PartyJournal journal = new PartyJournal(this.directory, this.logger);
+        journal.record(new PartyChange(this.party, PartyChange.Type.CREATED, owner));
+        journal.record(new PartyChange(this.party, PartyChange.Type.MEMBER_ADDED, member));
+        journal.record(new PartyChange(this.party, PartyChange.Type.MEMBER_ADDED, leaver));
+        journal.record(new PartyChange(this.party, PartyChange.Type.MEMBER_REMOVED, leaver));
+        Mockito.when(member.isMuted()).thenReturn(true);
+        journal.record(new PartyChange(this.party, PartyChange.Type.MEMBER_CHANGED, member));
+        journal.record(new PartyChange(this.party, PartyChange.Type.OWNER_CHANGED, member));
+        this.partySettings.setAnyoneCanJoin(true);
+        this.partySettings.setInviteExpirationTime(400L);
+        journal.record(new PartyChange(this.party, PartyChange.Type.SETTINGS_CHANGED, null));
+
+        Assertions.assertEquals(7, journal.getQueuedCount());
+        journal.drain();
+        Assertions.assertEquals(0, journal.getQueuedCount());
+        Assertions.assertEquals(7, journal.getWrittenCount());
+        Assertions.assertEquals(1, journal.getCommitCount());
+        journal.close();
+
+        List<PartySnapshot> replayed = new PartyJournal(this.directory, this.logger).replay(List.of());
+        Assertions.assertEquals(List.of(new PartySnapshot(this.party.getId(), member.getPlayerUUID(), false, true,
+                false, 400L, List.of(new PartySnapshot.MemberSnapshot(owner.getPlayerUUID(), false, false),
+                new PartySnapshot.MemberSnapshot(member.getPlayerUUID(), true, false)), List.of())), replayed);
+    }
+
+    @Test
+    public void testDisbandedPartiesAreNotReplayed() throws IOException {
+        PartyMember owner = this.mockMember(UUID.fromString("ade229bf-d062-46e8-99d8-97b667d5a127"));
+        PartySnapshot snapshot = new PartySnapshot(this.party.getId(), owner.getPlayerUUID(), false, false, false,
+                1200L, List.of(new PartySnapshot.MemberSnapshot(owner.getPlayerUUID(), false, false)), List.of());
+
+        PartyJournal journal = new PartyJournal(this.directory, this.logger);
+        journal.record(new PartyChange(this.party, PartyChange.Type.DISBANDED, null));
+        journal.close();
+
+        Assertions.assertTrue(new PartyJournal(this.directory, this.logger).replay(List.of(snapshot)).isEmpty());
+    }
+
+    @Test
+    public void testTornEntryEndsReplay() throws IOException {
+        PartyMember owner = this.mockMember(UUID.fromString("ade229bf-d062-46e8-99d8-97b667d5a127"));
+        PartyMember member = this.mockMember(UUID.fromString("a7db1c97-6064-46a1-91c6-77a4c974b692"));
+
+        PartyJournal journal = new PartyJournal(this.directory, this.logger);
+        journal.record(new PartyChange(this.party, PartyChange.Type.CREATED, owner));
+        journal.drain();
+        journal.record(new PartyChange(this.party, PartyChange.Type.MEMBER_ADDED, member));
+        journal.close();
+
+        // a crash in the middle of the second commit leaves only part of its entry behind
+        try (Stream<Path> stream = Files.list(this.directory)) {
+            Path segment = stream.findFirst().orElseThrow();
+            byte[] bytes = Files.readAllBytes(segment);
+            Files.write(segment, Arrays.copyOf(bytes, bytes.length - 3),
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        List<PartySnapshot> replayed = new PartyJournal(this.directory, this.logger).replay(List.of());
+        Assertions.assertEquals(1, replayed.size());
+        Assertions.assertEquals(1, replayed.get(0).members().size());
+    }
+
+    @Test
+    public void testCompactedSegmentsAreDeleted() throws IOException {
+        PartyMember owner = this.mockMember(UUID.fromString("ade229bf-d062-46e8-99d8-97b667d5a127"));
+
+        PartyJournal journal = new PartyJournal(this.directory, this.logger);
+        journal.record(new PartyChange(this.party, PartyChange.Type.CREATED, owner));
+        long generation = journal.rotate();
+        Assertions.assertEquals(1, this.segmentCount());
+        journal.drain();
+        Assertions.assertEquals(1, journal.getWrittenCount());
+        Assertions.assertEquals(2, this.segmentCount());
+
+        journal.deleteSegmentsBefore(generation);
+        Assertions.assertEquals(1, this.segmentCount());
+        journal.close();
+
+        Assertions.assertTrue(new PartyJournal(this.directory, this.logger).replay(List.of()).isEmpty());
+    }
+
+    @Test
+    public void testChangesAfterRotationSurviveCompaction() throws IOException {
+        PartyMember owner = this.mockMember(UUID.fromString("ade229bf-d062-46e8-99d8-97b667d5a127"));
+        PartyMember member = this.mockMember(UUID.fromString("a7db1c97-6064-46a1-91c6-77a4c974b692"));
+        PartySnapshot snapshot = new PartySnapshot(this.party.getId(), owner.getPlayerUUID(), false, false, false,
+                1200L, List.of(new PartySnapshot.MemberSnapshot(owner.getPlayerUUID(), false, false)), List.of());
+
+        PartyJournal journal = new PartyJournal(this.directory, this.logger);
+        journal.record(new PartyChange(this.party, PartyChange.Type.CREATED, owner));
+        long generation = journal.rotate();
+        journal.record(new PartyChange(this.party, PartyChange.Type.MEMBER_ADDED, member));
+
+        // the new segment has not been started yet, so it still holds the change made after the rotation
+        journal.deleteSegmentsBefore(generation);
+        Assertions.assertEquals(1, this.segmentCount());
+
+        journal.drain();
+        Assertions.assertEquals(2, journal.getCommitCount());
+        journal.deleteSegmentsBefore(generation);
+        Assertions.assertEquals(1, this.segmentCount());
+        journal.close();
+
+        List<PartySnapshot> replayed = new PartyJournal(this.directory, this.logger).replay(List.of(snapshot));
+        Assertions.assertEquals(2, replayed.get(0).members().size());
+    }
+
+}
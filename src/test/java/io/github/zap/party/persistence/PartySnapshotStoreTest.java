@@ -0,0 +1,85 @@
+package io.github.zap.party.persistence;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+public class PartySnapshotStoreTest {
+
+    @TempDir
+    public Path directory;
+
+    private PartySnapshot snapshot(int members, int invitations) {
+        List<PartySnapshot.MemberSnapshot> memberSnapshots = new ArrayList<>();
+        for (int i = 0; i < members; i++) {
+            memberSnapshots.add(new PartySnapshot.MemberSnapshot(UUID.randomUUID(), i % 2 == 0, i % 3 == 0));
+        }
+
+        List<PartySnapshot.InvitationSnapshot> invitationSnapshots = new ArrayList<>();
+        for (int i = 0; i < invitations; i++) {
+            invitationSnapshots.add(new PartySnapshot.InvitationSnapshot(UUID.randomUUID(),
+                    memberSnapshots.get(i % members).playerUUID()));
+        }
+
+        return new PartySnapshot(UUID.randomUUID(), memberSnapshots.get(members - 1).playerUUID(), true, false,
+                members % 2 == 0, 1200L * members, memberSnapshots, invitationSnapshots);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        PartySnapshotStore store = new PartySnapshotStore(this.directory.resolve("parties.dat"));
+        List<PartySnapshot> snapshots = List.of(this.snapshot(1, 0), this.snapshot(3, 2), this.snapshot(200, 5));
+
+        store.write(snapshots);
+
+        Assertions.assertEquals(snapshots, store.read());
+    }
+
+    @Test
+    public void testMissingFileRestoresNothing() throws IOException {
+        PartySnapshotStore store = new PartySnapshotStore(this.directory.resolve("parties.dat"));
+
+        Assertions.assertTrue(store.read().isEmpty());
+    }
+
+    @Test
+    public void testCorruptedFileIsRejected() throws IOException {
+        Path file = this.directory.resolve("parties.dat");
+        PartySnapshotStore store = new PartySnapshotStore(file);
+        store.write(List.of(this.snapshot(4, 1)));
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x10;
+        Files.write(file, bytes);
+
+        Assertions.assertThrows(IOException.class, store::read);
+    }
+
+    @Test
+    public void testUnsupportedVersionIsRejected() throws IOException {
+        Path file = this.directory.resolve("parties.dat");
+        PartySnapshotStore store = new PartySnapshotStore(file);
+        store.write(List.of(this.snapshot(2, 0)));
+
+        // the version follows the magic number, the checksum has to match so that only the version is wrong
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[4] = (byte) (PartySnapshotStore.FORMAT_VERSION + 1);
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 4);
+        ByteBuffer.wrap(bytes).putInt(bytes.length - 4, (int) crc.getValue());
+        Files.write(file, bytes);
+
+        IOException exception = Assertions.assertThrows(IOException.class, store::read);
+        Assertions.assertTrue(exception.getMessage().contains("version"));
+    }
+
+}
@@ -0,0 +1,116 @@
+package io.github.zap.party.resolver;
+
+import io.github.zap.party.namer.SingleTextColorOfflinePlayerNamer;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Logger;
+
+public class OfflinePlayerResolverTest {
+
+    private Server server;
+
+    private Queue<Runnable> lookups, mainThreadTasks;
+
+    private OfflinePlayerResolver resolver;
+
+    @BeforeEach
+    public void setup() {
+        this.server = Mockito.mock(Server.class);
+        this.lookups = new ArrayDeque<>();
+        this.mainThreadTasks = new ArrayDeque<>();
+        this.resolver = new OfflinePlayerResolver(this.server, Logger.getAnonymousLogger(), this.lookups::add,
+                this.mainThreadTasks::add);
+    }
+
+    @Test
+    public void testOnlinePlayerResolvesImmediately() {
+        Player player = Mockito.mock(Player.class);
+        Mockito.when(player.getPlayer()).thenReturn(player);
+        Mockito.when(player.displayName()).thenReturn(Component.text("VeryAverage"));
+        Mockito.when(this.server.getPlayerExact("VeryAverage")).thenReturn(player);
+
+        CompletableFuture<Optional<OfflinePlayerResolver.ResolvedPlayer>> future =
+                this.resolver.resolve("VeryAverage", new SingleTextColorOfflinePlayerNamer());
+
+        Assertions.assertTrue(future.isDone());
+        Assertions.assertEquals(Optional.of(new OfflinePlayerResolver.ResolvedPlayer(player,
+                Component.text("VeryAverage"))), future.join());
+        Mockito.verify(this.server, Mockito.never()).getOfflinePlayerIfCached(ArgumentMatchers.anyString());
+    }
+
+    @Test
+    public void testOfflinePlayerResolvesOnLookupExecutor() {
+        OfflinePlayer offlinePlayer = Mockito.mock(OfflinePlayer.class);
+        Mockito.when(offlinePlayer.getName()).thenReturn("BigDip123");
+        Mockito.when(this.server.getOfflinePlayerIfCached("BigDip123")).thenReturn(offlinePlayer);
+
+        CompletableFuture<Optional<OfflinePlayerResolver.ResolvedPlayer>> future =
+                this.resolver.resolve("BigDip123", new SingleTextColorOfflinePlayerNamer(NamedTextColor.GRAY));
+        Mockito.verify(this.server, Mockito.never()).getOfflinePlayerIfCached(ArgumentMatchers.anyString());
+
+        this.lookups.remove().run();
+        Assertions.assertFalse(future.isDone());
+
+        this.mainThreadTasks.remove().run();
+        Assertions.assertEquals(Optional.of(new OfflinePlayerResolver.ResolvedPlayer(offlinePlayer,
+                Component.text("BigDip123", NamedTextColor.GRAY))), future.join());
+    }
+
+    @Test
+    public void testFailedLookupResolvesEmpty() {
+        Mockito.when(this.server.getOfflinePlayerIfCached("SimpleCactus")).thenThrow(new IllegalStateException());
+
+        CompletableFuture<Optional<OfflinePlayerResolver.ResolvedPlayer>> future =
+                this.resolver.resolve("SimpleCactus", new SingleTextColorOfflinePlayerNamer());
+        this.lookups.remove().run();
+        this.mainThreadTasks.remove().run();
+
+        Assertions.assertEquals(Optional.empty(), future.join());
+    }
+
+    @Test
+    public void testRejectedLookupCompletesExceptionally() {
+        OfflinePlayerResolver resolver = new OfflinePlayerResolver(this.server, Logger.getAnonymousLogger(),
+                task -> {
+                    throw new RejectedExecutionException();
+                }, this.mainThreadTasks::add);
+
+        CompletableFuture<Optional<OfflinePlayerResolver.ResolvedPlayer>> future =
+                resolver.resolve("SimpleCactus", new SingleTextColorOfflinePlayerNamer());
+
+        // the lookup must not run on the calling thread instead
+        Mockito.verify(this.server, Mockito.never()).getOfflinePlayerIfCached(ArgumentMatchers.anyString());
+        Assertions.assertTrue(future.isCompletedExceptionally());
+        CompletionException exception = Assertions.assertThrows(CompletionException.class, future::join);
+        Assertions.assertTrue(exception.getCause() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    public void testRejectedDeliveryCompletesExceptionally() {
+        OfflinePlayerResolver resolver = new OfflinePlayerResolver(this.server, Logger.getAnonymousLogger(),
+                this.lookups::add, task -> {
+                    throw new IllegalStateException("The plugin is disabled");
+                });
+
+        CompletableFuture<Integer> future = resolver.supply(() -> 1);
+        this.lookups.remove().run();
+
+        Assertions.assertTrue(future.isCompletedExceptionally());
+    }
+
+}
@@ -0,0 +1,94 @@
+package io.github.zap.party.scheduler;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+public class HashedTimingWheelTest {
+
+    private final static int WHEEL_SIZE = 8;
+
+    private HashedTimingWheel timingWheel;
+
+    @BeforeEach
+    public void setup() {
+        this.timingWheel = new HashedTimingWheel(Logger.getLogger("Minecraft"), WHEEL_SIZE);
+    }
+
+    private void tick(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            this.timingWheel.tick();
+        }
+    }
+
+    @Test
+    public void testTaskRunsAfterDelay() {
+        int[] runs = new int[] { 0 };
+        this.timingWheel.schedule(() -> runs[0]++, 3L);
+
+        this.tick(2);
+        Assertions.assertEquals(0, runs[0]);
+        this.tick(1);
+        Assertions.assertEquals(1, runs[0]);
+        this.tick(WHEEL_SIZE * 2);
+        Assertions.assertEquals(1, runs[0]);
+        Assertions.assertEquals(0, this.timingWheel.getPendingCount());
+    }
+
+    @Test
+    public void testTaskRunsAfterSeveralRotations() {
+        long delay = WHEEL_SIZE * 3L + 2L;
+        int[] runs = new int[] { 0 };
+        this.timingWheel.schedule(() -> runs[0]++, delay);
+
+        this.tick((int) delay - 1);
+        Assertions.assertEquals(0, runs[0]);
+        this.tick(1);
+        Assertions.assertEquals(1, runs[0]);
+    }
+
+    @Test
+    public void testCancelledTaskNeverRuns() {
+        int[] runs = new int[] { 0 };
+        TickTimeout first = this.timingWheel.schedule(() -> runs[0]++, WHEEL_SIZE);
+        this.timingWheel.schedule(() -> runs[0] += 10, WHEEL_SIZE);
+
+        first.cancel();
+        first.cancel();
+        Assertions.assertEquals(1, this.timingWheel.getPendingCount());
+
+        this.tick(WHEEL_SIZE);
+        Assertions.assertEquals(10, runs[0]);
+    }
+
+    @Test
+    public void testTaskScheduledFromTask() {
+        List<Integer> runs = new ArrayList<>();
+        this.timingWheel.schedule(() -> {
+            runs.add(1);
+            this.timingWheel.schedule(() -> runs.add(2), 1L);
+        }, 1L);
+
+        this.tick(1);
+        Assertions.assertEquals(List.of(1), runs);
+        this.tick(1);
+        Assertions.assertEquals(List.of(1, 2), runs);
+    }
+
+    @Test
+    public void testFailingTaskDoesNotStopOtherTasks() {
+        int[] runs = new int[] { 0 };
+        this.timingWheel.schedule(() -> {
+            throw new IllegalStateException("Expected");
+        }, 1L);
+        this.timingWheel.schedule(() -> runs[0]++, 1L);
+
+        this.tick(1);
+        Assertions.assertEquals(1, runs[0]);
+    }
+
+}
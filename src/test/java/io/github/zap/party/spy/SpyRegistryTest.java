@@ -0,0 +1,76 @@
+package io.github.zap.party.spy;
+
+import io.github.zap.party.Party;
+import net.kyori.adventure.audience.Audience;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+public class SpyRegistryTest {
+
+    private SpyRegistry spyRegistry;
+
+    private Party small, large;
+
+    private Audience everything, chat, largeParties;
+
+    @BeforeEach
+    public void setup() {
+        this.spyRegistry = new SpyRegistry();
+
+        this.small = Mockito.mock(Party.class);
+        this.large = Mockito.mock(Party.class);
+
+        this.everything = Mockito.mock(Audience.class);
+        this.chat = Mockito.mock(Audience.class);
+        this.largeParties = Mockito.mock(Audience.class);
+    }
+
+    @Test
+    public void testEmptyRegistry() {
+        Assertions.assertFalse(this.spyRegistry.hasSubscriptions());
+        Assertions.assertTrue(subscribers(this.small, SpyTopic.CHAT).isEmpty());
+    }
+
+    @Test
+    public void testTopicsAndFilters() {
+        this.spyRegistry.subscribe(this.everything);
+        this.spyRegistry.subscribe(this.chat, Set.of(SpyTopic.CHAT), party -> true);
+        this.spyRegistry.subscribe(this.largeParties, EnumSet.allOf(SpyTopic.class), party -> party == this.large);
+
+        Assertions.assertTrue(this.spyRegistry.hasSubscriptions());
+        Assertions.assertEquals(List.of(this.everything, this.chat), subscribers(this.small, SpyTopic.CHAT));
+        Assertions.assertEquals(List.of(this.everything), subscribers(this.small, SpyTopic.PARTY_EVENTS));
+        Assertions.assertEquals(List.of(this.everything, this.largeParties),
+                subscribers(this.large, SpyTopic.PARTY_EVENTS));
+
+        Assertions.assertTrue(this.spyRegistry.isSubscribed(this.large, SpyTopic.CHAT, this.largeParties));
+        Assertions.assertFalse(this.spyRegistry.isSubscribed(this.small, SpyTopic.CHAT, this.largeParties));
+    }
+
+    @Test
+    public void testUnsubscribe() {
+        SpyRegistry.Subscription subscription = this.spyRegistry.subscribe(this.everything);
+        this.spyRegistry.subscribe(this.chat, Set.of(SpyTopic.CHAT), party -> true);
+
+        Assertions.assertTrue(this.spyRegistry.unsubscribe(subscription));
+        Assertions.assertFalse(this.spyRegistry.unsubscribe(subscription));
+        Assertions.assertEquals(List.of(this.chat), subscribers(this.small, SpyTopic.CHAT));
+
+        Assertions.assertTrue(this.spyRegistry.unsubscribeAll(this.chat));
+        Assertions.assertFalse(this.spyRegistry.hasSubscriptions());
+    }
+
+    private List<Audience> subscribers(Party party, SpyTopic topic) {
+        List<Audience> subscribers = new ArrayList<>();
+        this.spyRegistry.forEachSubscriber(party, topic, subscribers::add);
+        return subscribers;
+    }
+
+}
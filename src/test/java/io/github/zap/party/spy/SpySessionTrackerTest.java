@@ -0,0 +1,102 @@
+package io.github.zap.party.spy;
+
+import io.github.zap.party.Party;
+import io.github.zap.party.PartyChange;
+import io.github.zap.party.audience.PlayerAudience;
+import io.github.zap.party.member.PartyMember;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public class SpySessionTrackerTest {
+
+    private final UUID spyUUID = UUID.fromString("31ee3877-dbd8-423a-95e4-9181b8acfe74");
+
+    private SpyRegistry spyRegistry;
+
+    private SpySessionTracker spySessionTracker;
+
+    private Player spy;
+
+    private Party first, second;
+
+    @BeforeEach
+    public void setup() {
+        this.spyRegistry = new SpyRegistry();
+        this.spySessionTracker = new SpySessionTracker(this.spyRegistry);
+
+        this.spy = Mockito.mock(Player.class);
+        Mockito.when(this.spy.getUniqueId()).thenReturn(this.spyUUID);
+
+        this.first = Mockito.mock(Party.class);
+        this.second = Mockito.mock(Party.class);
+    }
+
+    @Test
+    public void testQuitRemovesSpying() {
+        this.spySessionTracker.track(this.spy, this.first);
+        this.spySessionTracker.track(this.spy, this.second);
+        this.spyRegistry.subscribe(new PlayerAudience(this.spy), Set.of(SpyTopic.CHAT), party -> true);
+        Assertions.assertEquals(1, this.spySessionTracker.getSpyCount());
+
+        this.spySessionTracker.onPlayerQuit(new PlayerQuitEvent(this.spy, "SimpleCactus left the game"));
+
+        Mockito.verify(this.first).removeSpyAudience(new PlayerAudience(this.spy));
+        Mockito.verify(this.second).removeSpyAudience(new PlayerAudience(this.spy));
+        Assertions.assertFalse(this.spyRegistry.hasSubscriptions());
+        Assertions.assertEquals(0, this.spySessionTracker.getSpyCount());
+    }
+
+    @Test
+    public void testUntrackedPartiesAreKept() {
+        this.spySessionTracker.track(this.spy, this.first);
+        this.spySessionTracker.untrack(this.spy, this.first);
+        Assertions.assertEquals(0, this.spySessionTracker.getSpyCount());
+
+        this.spySessionTracker.onPlayerQuit(new PlayerQuitEvent(this.spy, "SimpleCactus left the game"));
+        Mockito.verify(this.first, Mockito.never()).removeSpyAudience(Mockito.any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDisbandedPartiesAreForgotten() {
+        ArgumentCaptor<Consumer<PartyChange>> changeHandler = ArgumentCaptor.forClass(Consumer.class);
+        this.spySessionTracker.track(this.spy, this.first);
+        this.spySessionTracker.track(this.spy, this.second);
+        Mockito.verify(this.first).registerChangeHandler(changeHandler.capture());
+
+        changeHandler.getValue().accept(new PartyChange(this.first, PartyChange.Type.DISBANDED, null));
+        this.spySessionTracker.onPlayerQuit(new PlayerQuitEvent(this.spy, "SimpleCactus left the game"));
+
+        Mockito.verify(this.first, Mockito.never()).removeSpyAudience(Mockito.any());
+        Mockito.verify(this.second).removeSpyAudience(new PlayerAudience(this.spy));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEmptyPartiesAreForgotten() {
+        ArgumentCaptor<Consumer<PartyChange>> changeHandler = ArgumentCaptor.forClass(Consumer.class);
+        this.spySessionTracker.track(this.spy, this.first);
+        this.spySessionTracker.track(this.spy, this.first);
+        Mockito.verify(this.first, Mockito.times(1)).registerChangeHandler(changeHandler.capture());
+
+        PartyMember member = Mockito.mock(PartyMember.class);
+        Mockito.when(this.first.getMembers()).thenReturn(List.of(member));
+        changeHandler.getValue().accept(new PartyChange(this.first, PartyChange.Type.MEMBER_REMOVED, member));
+        Assertions.assertEquals(1, this.spySessionTracker.getSpyCount());
+
+        Mockito.when(this.first.getMembers()).thenReturn(List.of());
+        changeHandler.getValue().accept(new PartyChange(this.first, PartyChange.Type.MEMBER_REMOVED, member));
+        Assertions.assertEquals(0, this.spySessionTracker.getSpyCount());
+    }
+
+}
@@ -0,0 +1,107 @@
+package io.github.zap.party.translation;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.renderer.TranslatableComponentRenderer;
+import net.kyori.adventure.translation.TranslationRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+public class CompiledTranslationRendererTest {
+
+    private final Locale locale = Locale.forLanguageTag("en-US");
+
+    private Properties translations;
+
+    private TranslatableComponentRenderer<Locale> expectedRenderer;
+
+    private CompiledTranslationRenderer compiledRenderer;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        this.translations = new Properties();
+        try (InputStream stream = this.getClass().getResourceAsStream("/translations/en-US.lang")) {
+            Assertions.assertNotNull(stream);
+            this.translations.load(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        }
+        this.translations.remove("io.github.zap.locale");
+
+        TranslationRegistry registry = TranslationRegistry.create(Key.key("zapparty", "test"));
+        registry.defaultLocale(this.locale);
+        CompiledTranslations compiledTranslations = new CompiledTranslations(this.locale);
+        for (String key : this.translations.stringPropertyNames()) {
+            String pattern = this.translations.getProperty(key);
+            registry.register(key, this.locale, new MessageFormat(pattern, this.locale));
+            Assertions.assertTrue(compiledTranslations.register(key, this.locale, pattern), key);
+        }
+
+        this.expectedRenderer = TranslatableComponentRenderer.usingTranslationSource(registry);
+        this.compiledRenderer = new CompiledTranslationRenderer(compiledTranslations, registry);
+    }
+
+    @Test
+    public void testRenderMatchesMessageFormat() {
+        for (String key : this.translations.stringPropertyNames()) {
+            for (int argumentCount = 0; argumentCount <= 4; argumentCount++) {
+                List<Component> arguments = new ArrayList<>();
+                for (int i = 0; i < argumentCount; i++) {
+                    arguments.add(Component.translatable("io.github.zap.party.invite.here", NamedTextColor.GREEN));
+                }
+
+                Component component = Component.translatable(key, NamedTextColor.RED, arguments)
+                        .hoverEvent(HoverEvent.showText(Component.translatable("io.github.zap.party.disbanded")))
+                        .append(Component.translatable("io.github.zap.party.muted"));
+
+                Assertions.assertEquals(this.expectedRenderer.render(component, this.locale),
+                        this.compiledRenderer.render(component, this.locale), key);
+            }
+        }
+    }
+
+    @Test
+    public void testQuotesMatchMessageFormat() {
+        for (String pattern : List.of("{0}''s party", "{0}'s party {1}", "'{0}' is {1}", "{1}{0}{1}")) {
+            CompiledTemplate template = CompiledTemplate.compile(pattern);
+            Assertions.assertNotNull(template, pattern);
+
+            Component formatted = template.format(List.of(Component.text("VeryAverage"),
+                    Component.text("BigDip123")));
+            String expected = new MessageFormat(pattern).format(new Object[] { "VeryAverage", "BigDip123" });
+            Assertions.assertEquals(expected, plain(formatted), pattern);
+        }
+    }
+
+    @Test
+    public void testUnsupportedPatternsAreNotCompiled() {
+        Assertions.assertNull(CompiledTemplate.compile("{0,number} players"));
+        Assertions.assertNull(CompiledTemplate.compile("{0"));
+        Assertions.assertNull(CompiledTemplate.compile("{}"));
+    }
+
+    private static String plain(Component component) {
+        StringBuilder builder = new StringBuilder();
+        if (component instanceof TextComponent text) {
+            builder.append(text.content());
+        }
+        for (Component child : component.children()) {
+            builder.append(plain(child));
+        }
+
+        return builder.toString();
+    }
+
+}
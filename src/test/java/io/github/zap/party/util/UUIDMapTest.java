@@ -0,0 +1,146 @@
+package io.github.zap.party.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class UUIDMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        UUIDMap<String> map = new UUIDMap<>();
+        UUID uuid = UUID.fromString("ade229bf-d062-46e8-99d8-97b667d5a127");
+
+        Assertions.assertNull(map.put(uuid, "VeryAverage"));
+        Assertions.assertEquals("VeryAverage", map.get(uuid));
+        Assertions.assertEquals("VeryAverage", map.put(uuid, "BigDip123"));
+        Assertions.assertEquals(1, map.size());
+        Assertions.assertEquals("BigDip123", map.remove(uuid));
+        Assertions.assertNull(map.get(uuid));
+        Assertions.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testRandomOperationsMatchHashMap() {
+        Random random = new Random(69);
+        UUIDMap<Integer> map = new UUIDMap<>();
+        Map<UUID, Integer> expected = new HashMap<>();
+        List<UUID> keys = new ArrayList<>();
+        for (int i = 0; i < 512; i++) {
+            keys.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+
+        for (int i = 0; i < 20000; i++) {
+            UUID key = keys.get(random.nextInt(keys.size()));
+            if (random.nextBoolean()) {
+                Assertions.assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            else {
+                Assertions.assertEquals(expected.remove(key), map.remove(key));
+            }
+
+            Assertions.assertEquals(expected.size(), map.size());
+        }
+
+        for (UUID key : keys) {
+            Assertions.assertEquals(expected.get(key), map.get(key));
+        }
+
+        Map<UUID, Integer> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        Assertions.assertEquals(expected, iterated);
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        UUIDMap<String> map = new UUIDMap<>();
+        UUID first = UUID.fromString("a7db1c97-6064-46a1-91c6-77a4c974b692");
+        UUID second = UUID.fromString("31ee3877-dbd8-423a-95e4-9181b8acfe74");
+        map.put(first, "BigDip123");
+
+        UUIDMap<String> copy = new UUIDMap<>(map);
+        copy.put(second, "SimpleCactus");
+        copy.remove(first);
+
+        Assertions.assertEquals("BigDip123", map.get(first));
+        Assertions.assertNull(map.get(second));
+        Assertions.assertNull(copy.get(first));
+        Assertions.assertEquals("SimpleCactus", copy.get(second));
+    }
+
+    @Test
+    public void testStripedConditionalRemove() {
+        StripedUUIDMap<String> map = new StripedUUIDMap<>();
+        UUID uuid = UUID.fromString("ade229bf-d062-46e8-99d8-97b667d5a127");
+        map.put(uuid, "VeryAverage");
+
+        Assertions.assertFalse(map.remove(uuid, "BigDip123"));
+        Assertions.assertEquals("VeryAverage", map.get(uuid));
+        Assertions.assertTrue(map.remove(uuid, "VeryAverage"));
+        Assertions.assertNull(map.get(uuid));
+        Assertions.assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testStripedReadsDuringWrites() throws InterruptedException {
+        StripedUUIDMap<Integer> map = new StripedUUIDMap<>(1);
+        Random random = new Random(420);
+        List<UUID> stable = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            UUID uuid = new UUID(random.nextLong(), random.nextLong());
+            stable.add(uuid);
+            map.put(uuid, i);
+        }
+
+        // churning other keys through the same stripes resizes and shifts them while they are read
+        AtomicBoolean done = new AtomicBoolean(false);
+        Thread writer = new Thread(() -> {
+            Random writerRandom = new Random(1337);
+            List<UUID> churn = new ArrayList<>();
+            for (int i = 0; i < 200000; i++) {
+                if (churn.size() < 2048 && writerRandom.nextBoolean()) {
+                    UUID uuid = new UUID(writerRandom.nextLong(), writerRandom.nextLong());
+                    churn.add(uuid);
+                    map.put(uuid, -1);
+                }
+                else if (!churn.isEmpty()) {
+                    map.remove(churn.remove(writerRandom.nextInt(churn.size())));
+                }
+            }
+            done.set(true);
+        });
+        writer.start();
+
+        int reads = 0;
+        while (!done.get() || reads == 0) {
+            for (int i = 0; i < stable.size(); i++) {
+                Assertions.assertEquals(Integer.valueOf(i), map.get(stable.get(i)));
+            }
+            reads++;
+        }
+        writer.join();
+    }
+
+    @Test
+    public void testStripedPutAll() {
+        StripedUUIDMap<Integer> map = new StripedUUIDMap<>();
+        Random random = new Random(69);
+        Map<UUID, Integer> entries = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            entries.put(new UUID(random.nextLong(), random.nextLong()), i);
+        }
+
+        map.putAll(entries);
+
+        Assertions.assertEquals(entries.size(), map.size());
+        entries.forEach((uuid, value) -> Assertions.assertEquals(value, map.get(uuid)));
+    }
+
+}